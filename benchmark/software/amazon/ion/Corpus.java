@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The data sets the JMH benchmarks run over.  Each corpus is materialized as a single
+ * {@link IonDatagram} from which the benchmarks derive their binary and text inputs.
+ * <p>
+ * JMH binds these by name, e.g. {@code -p corpus=SYNTHETIC}.
+ */
+public enum Corpus
+{
+    /**
+     * Generated, record-oriented data resembling service logs: structs of mixed scalars with
+     * nested containers and annotations.
+     */
+    SYNTHETIC
+    {
+        @Override
+        public IonDatagram load(final IonSystem system)
+        {
+            final Random random = new Random(SEED);
+            final IonDatagram datagram = system.newDatagram();
+            for (int i = 0; i < SYNTHETIC_RECORD_COUNT; i++)
+            {
+                final IonStruct record = system.newEmptyStruct();
+                record.setTypeAnnotations("record");
+                record.add("id").newInt(i);
+                record.add("name").newString("record-" + i);
+                record.add("active").newBool(random.nextBoolean());
+                record.add("score").newFloat(random.nextDouble());
+                record.add("price").newDecimal(BigDecimal.valueOf(random.nextInt(1000000), 2));
+                record.add("created").newTimestamp(Timestamp.forMillis(EPOCH_MILLIS + random.nextInt(), 0));
+                record.add("status").newSymbol(STATUSES[random.nextInt(STATUSES.length)]);
+
+                final IonList tags = record.add("tags").newEmptyList();
+                final int tagCount = random.nextInt(5);
+                for (int j = 0; j < tagCount; j++)
+                {
+                    tags.add().newSymbol("tag" + random.nextInt(50));
+                }
+
+                final IonStruct customer = record.add("customer").newEmptyStruct();
+                customer.add("id").newInt(random.nextLong());
+                customer.add("email").newString("customer" + random.nextInt(10000) + "@example.com");
+                customer.add("region").newSymbol(REGIONS[random.nextInt(REGIONS.length)]);
+
+                final IonList samples = record.add("samples").newEmptyList();
+                for (int j = 0; j < 8; j++)
+                {
+                    samples.add().newInt(random.nextInt());
+                }
+
+                final byte[] payload = new byte[32];
+                random.nextBytes(payload);
+                record.add("payload").newBlob(payload);
+
+                datagram.add(record);
+            }
+            return datagram;
+        }
+    },
+
+    /**
+     * Every file in the {@code ion-tests} submodule's {@code iontestdata/good} directory
+     * that can be loaded without a catalog, concatenated in a single stream.
+     */
+    ION_TESTS
+    {
+        @Override
+        public IonDatagram load(final IonSystem system)
+        {
+            final File good = new File(ION_TESTS_IONTESTDATA_PATH, "good");
+            if (!good.isDirectory())
+            {
+                throw new IllegalStateException(
+                    "Cannot locate " + good + "; initialize the ion-tests submodule");
+            }
+
+            final List<File> files = new ArrayList<File>();
+            collectFiles(good, files);
+
+            final IonLoader loader = system.getLoader();
+            final IonDatagram datagram = system.newDatagram();
+            for (final File file : files)
+            {
+                try
+                {
+                    final IonDatagram loaded = loader.load(file);
+                    // make sure the file round-trips through both encodings before we use it
+                    loader.load(loaded.getBytes());
+                    loader.load(loaded.toString());
+                    for (final IonValue value : loaded)
+                    {
+                        datagram.add(value.clone());
+                    }
+                }
+                catch (final Exception e)
+                {
+                    // skip inputs that need a catalog or are otherwise not representative
+                }
+            }
+            return datagram;
+        }
+    };
+
+    private static final long       SEED                        = 0x10AL;
+    private static final int        SYNTHETIC_RECORD_COUNT      = 2000;
+    private static final long       EPOCH_MILLIS                = 1500000000000L;
+    private static final String[]   STATUSES                    = {"PENDING", "SHIPPED", "DELIVERED", "CANCELLED"};
+    private static final String[]   REGIONS                     = {"us-east-1", "us-west-2", "eu-west-1", "ap-northeast-1"};
+
+    private static final File       ION_TESTS_IONTESTDATA_PATH  = new File("ion-tests", "iontestdata");
+
+    /** Materializes this corpus. */
+    public abstract IonDatagram load(IonSystem system);
+
+    /** Returns the binary encoding of this corpus. */
+    public byte[] binary(final IonSystem system)
+    {
+        return load(system).getBytes();
+    }
+
+    /** Returns the UTF-8 text encoding of this corpus. */
+    public byte[] text(final IonSystem system)
+    {
+        try
+        {
+            return load(system).toString().getBytes("UTF-8");
+        }
+        catch (final UnsupportedEncodingException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void collectFiles(final File dir, final List<File> files)
+    {
+        final File[] children = dir.listFiles();
+        if (children == null)
+        {
+            return;
+        }
+        Arrays.sort(children);
+        for (final File child : children)
+        {
+            if (child.isDirectory())
+            {
+                collectFiles(child, files);
+            }
+            else if (child.getName().endsWith(".ion") || child.getName().endsWith(".10n"))
+            {
+                files.add(child);
+            }
+        }
+    }
+}
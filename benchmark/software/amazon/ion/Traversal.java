@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reader traversal shared by the benchmarks.
+ */
+public final class Traversal
+{
+    private Traversal() {}
+
+    /**
+     * Walks every value remaining at the reader's current depth, descending into containers
+     * and materializing each scalar, so that no decoding work can be elided.
+     */
+    public static void deepRead(final IonReader reader, final Blackhole bh)
+    {
+        IonType type;
+        while ((type = reader.next()) != null)
+        {
+            bh.consume(reader.getFieldNameSymbol());
+            bh.consume(reader.getTypeAnnotationSymbols());
+            if (reader.isNullValue())
+            {
+                continue;
+            }
+            switch (type)
+            {
+                case BOOL:
+                    bh.consume(reader.booleanValue());
+                    break;
+                case INT:
+                    if (reader.getIntegerSize() == IntegerSize.BIG_INTEGER)
+                    {
+                        bh.consume(reader.bigIntegerValue());
+                    }
+                    else
+                    {
+                        bh.consume(reader.longValue());
+                    }
+                    break;
+                case FLOAT:
+                    bh.consume(reader.doubleValue());
+                    break;
+                case DECIMAL:
+                    bh.consume(reader.decimalValue());
+                    break;
+                case TIMESTAMP:
+                    bh.consume(reader.timestampValue());
+                    break;
+                case SYMBOL:
+                    bh.consume(reader.symbolValue());
+                    break;
+                case STRING:
+                    bh.consume(reader.stringValue());
+                    break;
+                case CLOB:
+                case BLOB:
+                    bh.consume(reader.newBytes());
+                    break;
+                case LIST:
+                case SEXP:
+                case STRUCT:
+                    reader.stepIn();
+                    deepRead(reader, bh);
+                    reader.stepOut();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
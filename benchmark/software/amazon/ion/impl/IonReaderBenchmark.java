@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.ion.Corpus;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.Traversal;
+import software.amazon.ion.system.IonReaderBuilder;
+import software.amazon.ion.system.IonSystemBuilder;
+
+/**
+ * Full traversal of a corpus through the streaming readers: {@link IonReaderBinaryUserX} and
+ * {@link IonReaderTextUserX} via {@link IonReaderBuilder}, and the raw/system layers
+ * ({@link IonReaderBinarySystemX}, {@link IonReaderTextSystemX}) directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class IonReaderBenchmark
+{
+    public enum Encoding { BINARY, TEXT }
+
+    @Param({"SYNTHETIC", "ION_TESTS"})
+    public Corpus corpus;
+
+    @Param({"BINARY", "TEXT"})
+    public Encoding encoding;
+
+    private IonReaderBuilder builder;
+    private byte[] data;
+
+    @Setup
+    public void setup()
+    {
+        final IonSystem system = IonSystemBuilder.standard().build();
+        builder = IonReaderBuilder.standard().immutable();
+        data = encoding == Encoding.BINARY ? corpus.binary(system) : corpus.text(system);
+    }
+
+    @Benchmark
+    public void userReaderFromBytes(final Blackhole bh) throws IOException
+    {
+        final IonReader reader = builder.build(data);
+        Traversal.deepRead(reader, bh);
+        reader.close();
+    }
+
+    @Benchmark
+    public void userReaderFromStream(final Blackhole bh) throws IOException
+    {
+        final IonReader reader = builder.build(new ByteArrayInputStream(data));
+        Traversal.deepRead(reader, bh);
+        reader.close();
+    }
+
+    @Benchmark
+    public void systemReaderFromBytes(final Blackhole bh) throws IOException
+    {
+        final IonReader reader = PrivateIonReaderFactory.makeSystemReader(data);
+        Traversal.deepRead(reader, bh);
+        reader.close();
+    }
+}
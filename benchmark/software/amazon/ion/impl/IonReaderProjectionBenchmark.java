@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.TypeAnnotationReader;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+import software.amazon.ion.system.IonReaderBuilder;
+
+/**
+ * Projection of two fields out of wide, optionally annotated, structs through
+ * {@link IonReaderBinaryUserX}: every other field is only stepped over by
+ * {@link IonReader#next()}, so this measures the per-value cost of the
+ * values that are never asked for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IonReaderProjectionBenchmark
+{
+    private static final int RECORD_COUNT = 500;
+
+    @Param({"20", "200"})
+    public int fieldCount;
+
+    @Param({"false", "true"})
+    public boolean annotated;
+
+    private IonReaderBuilder builder;
+    private byte[] data;
+    private String first;
+    private String last;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        for (int i = 0; i < RECORD_COUNT; i++)
+        {
+            writer.stepIn(IonType.STRUCT);
+            for (int f = 0; f < fieldCount; f++)
+            {
+                writer.setFieldName("field" + f);
+                if (annotated)
+                {
+                    writer.setTypeAnnotations("unit", "kind" + (f % 7));
+                }
+                if (f % 2 == 0)
+                {
+                    writer.writeInt((long) i * f);
+                }
+                else
+                {
+                    writer.writeString("value-" + i + "-" + f);
+                }
+            }
+            writer.stepOut();
+        }
+        writer.close();
+        data = out.toByteArray();
+        builder = IonReaderBuilder.standard().immutable();
+        first = "field2";
+        last = "field" + (fieldCount - 2);
+    }
+
+    private long project(final IonReader reader) throws IOException
+    {
+        long sum = 0;
+        while (reader.next() != null)
+        {
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+                final String name = reader.getFieldName();
+                if (name.equals(first) || name.equals(last))
+                {
+                    sum += reader.longValue();
+                }
+            }
+            reader.stepOut();
+        }
+        reader.close();
+        return sum;
+    }
+
+    @Benchmark
+    public long projectFromBytes() throws IOException
+    {
+        return project(builder.build(data));
+    }
+
+    @Benchmark
+    public long projectFromStream() throws IOException
+    {
+        return project(builder.build(new ByteArrayInputStream(data)));
+    }
+
+    /** Asks for the annotations of every field, which are decoded on demand. */
+    @Benchmark
+    public long annotationsFromBytes() throws IOException
+    {
+        final IonReader reader = builder.build(data);
+        long count = 0;
+        while (reader.next() != null)
+        {
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+                count += reader.getTypeAnnotations().length;
+            }
+            reader.stepOut();
+        }
+        reader.close();
+        return count;
+    }
+
+    /** Dispatches on the first annotation of every field through the {@link TypeAnnotationReader} facet. */
+    @Benchmark
+    public long annotationsFromFacet() throws IOException
+    {
+        final IonReader reader = builder.build(data);
+        final TypeAnnotationReader annotations = reader.asFacet(TypeAnnotationReader.class);
+        long count = 0;
+        while (reader.next() != null)
+        {
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+                if (annotations.getTypeAnnotationCount() > 0
+                    && annotations.getTypeAnnotationSymbol(0).getText().equals("unit"))
+                {
+                    count++;
+                }
+            }
+            reader.stepOut();
+        }
+        reader.close();
+        return count;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.ion.Corpus;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+import software.amazon.ion.system.IonSystemBuilder;
+import software.amazon.ion.system.IonTextWriterBuilder;
+import software.amazon.ion.util.NullOutputStream;
+
+/**
+ * Encodes a corpus (held as a DOM) through {@link IonManagedBinaryWriter}, in each of its
+ * length {@linkplain IonRawBinaryWriter.PreallocationMode preallocation modes} (and with off-heap
+ * blocks), with {@linkplain PrivateIonManagedBinaryWriterBuilder#withLengthPrecomputationEnabled() precomputed
+ * lengths}, and through the text writer ({@code IonWriterSystemText}).
+ * <p>
+ * The file benchmarks compare copying through an {@link OutputStream} with the gathering writes of
+ * {@link PrivateIonManagedBinaryWriterBuilder#newWriter(GatheringByteChannel)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class IonWriterBenchmark
+{
+    public enum WriterType
+    {
+        BINARY_PREALLOCATE_0,
+        BINARY_PREALLOCATE_1,
+        BINARY_PREALLOCATE_2,
+        BINARY_PREALLOCATE_2_DIRECT,
+        BINARY_PRESIZED,
+        TEXT
+    }
+
+    @Param({"SYNTHETIC", "ION_TESTS"})
+    public Corpus corpus;
+
+    @Param({"BINARY_PREALLOCATE_0", "BINARY_PREALLOCATE_1", "BINARY_PREALLOCATE_2", "BINARY_PREALLOCATE_2_DIRECT", "BINARY_PRESIZED",
+            "TEXT"})
+    public WriterType writerType;
+
+    private IonDatagram datagram;
+    private PrivateIonManagedBinaryWriterBuilder binaryBuilder;
+    private IonTextWriterBuilder textBuilder;
+    private OutputStream out;
+    private File file;
+    private RandomAccessFile fileHandle;
+    private GatheringByteChannel fileChannel;
+
+    /** Keeps the writers from closing the file between invocations. */
+    private static final class UnclosableChannel implements GatheringByteChannel
+    {
+        private final FileChannel delegate;
+
+        UnclosableChannel(final FileChannel delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        public long write(final ByteBuffer[] srcs, final int offset, final int length) throws IOException
+        {
+            return delegate.write(srcs, offset, length);
+        }
+
+        public long write(final ByteBuffer[] srcs) throws IOException
+        {
+            return delegate.write(srcs);
+        }
+
+        public int write(final ByteBuffer src) throws IOException
+        {
+            return delegate.write(src);
+        }
+
+        public boolean isOpen()
+        {
+            return delegate.isOpen();
+        }
+
+        public void close() {}
+    }
+
+    @Setup
+    public void setup() throws IOException
+    {
+        file = File.createTempFile("ion-writer-benchmark", ".10n");
+        fileHandle = new RandomAccessFile(file, "rw");
+        fileChannel = new UnclosableChannel(fileHandle.getChannel());
+        final IonSystem system = IonSystemBuilder.standard().build();
+        datagram = corpus.load(system);
+        out = new NullOutputStream();
+        textBuilder = IonTextWriterBuilder.standard().immutable();
+        binaryBuilder = PrivateIonManagedBinaryWriterBuilder.create(
+            writerType == WriterType.BINARY_PREALLOCATE_2_DIRECT ? AllocatorMode.POOLED_DIRECT : AllocatorMode.POOLED
+        );
+        switch (writerType)
+        {
+            case BINARY_PREALLOCATE_0:
+                binaryBuilder.withPaddedLengthPreallocation(0);
+                break;
+            case BINARY_PREALLOCATE_1:
+                binaryBuilder.withPaddedLengthPreallocation(1);
+                break;
+            case BINARY_PREALLOCATE_2:
+            case BINARY_PREALLOCATE_2_DIRECT:
+                binaryBuilder.withPaddedLengthPreallocation(2);
+                break;
+            case BINARY_PRESIZED:
+                binaryBuilder.withPaddedLengthPreallocation(0).withLengthPrecomputationEnabled();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private IonWriter newWriter() throws IOException
+    {
+        return writerType == WriterType.TEXT ? textBuilder.build(out) : binaryBuilder.newWriter(out);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        fileHandle.close();
+        file.delete();
+    }
+
+    private void writeCorpus(final IonWriter writer) throws IOException
+    {
+        for (final IonValue value : datagram)
+        {
+            value.writeTo(writer);
+        }
+        writer.close();
+    }
+
+    @Benchmark
+    public void writeCorpus() throws IOException
+    {
+        writeCorpus(newWriter());
+    }
+
+    @Benchmark
+    public void writeCorpusToFileStream() throws IOException
+    {
+        fileHandle.seek(0);
+        final OutputStream fileOut = Channels.newOutputStream(fileChannel);
+        writeCorpus(writerType == WriterType.TEXT ? textBuilder.build(fileOut) : binaryBuilder.newWriter(fileOut));
+    }
+
+    @Benchmark
+    public void writeCorpusToFileChannel() throws IOException
+    {
+        fileHandle.seek(0);
+        if (writerType == WriterType.TEXT)
+        {
+            // the text writer has no channel support
+            writeCorpus(textBuilder.build(Channels.newOutputStream(fileChannel)));
+            return;
+        }
+        writeCorpus(binaryBuilder.newWriter(fileChannel));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.ion.impl.bin.AbstractIonWriter.WriteValueOptimization;
+import software.amazon.ion.impl.bin.IonRawBinaryWriter.PreallocationMode;
+import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
+import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
+import software.amazon.ion.util.NullOutputStream;
+
+/**
+ * Encodes short and long, ASCII and CJK strings with {@link WriteBuffer#writeUTF8(CharSequence)} and
+ * {@link IonRawBinaryWriter#writeString(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Utf8EncodingBenchmark
+{
+    public enum Text
+    {
+        SHORT_ASCII("hello", 1),
+        LONG_ASCII("The quick brown fox jumps over the lazy dog. ", 100),
+        SHORT_CJK("東京都", 1),
+        LONG_CJK("吾輩は猫である。名前はまだ無い。", 250);
+
+        public final String value;
+
+        private Text(final String unit, final int count)
+        {
+            final StringBuilder buf = new StringBuilder();
+            for (int i = 0; i < count; i++)
+            {
+                buf.append(unit);
+            }
+            this.value = buf.toString();
+        }
+    }
+
+    /** The number of strings encoded per invocation, to amortize the flushing of the buffer. */
+    private static final int STRINGS_PER_INVOCATION = 100;
+
+    @Param({"SHORT_ASCII", "LONG_ASCII", "SHORT_CJK", "LONG_CJK"})
+    public Text text;
+
+    /** The length preallocation of the writer, see {@link PreallocationMode#withPadSize(int)}. */
+    @Param({"0", "2"})
+    public int pad;
+
+    private String value;
+    private WriteBuffer buffer;
+    private IonRawBinaryWriter writer;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        value = text.value;
+        final BlockAllocatorProvider provider = new PooledBlockAllocatorProvider();
+        buffer = new WriteBuffer(provider.vendAllocator(32 * 1024));
+        writer = new IonRawBinaryWriter(
+            provider,
+            32 * 1024,
+            new NullOutputStream(),
+            WriteValueOptimization.NONE,
+            StreamCloseMode.NO_CLOSE,
+            StreamFlushMode.NO_FLUSH,
+            PreallocationMode.withPadSize(pad),
+            false
+        );
+    }
+
+    @Benchmark
+    public int writeUTF8()
+    {
+        int octets = 0;
+        for (int i = 0; i < STRINGS_PER_INVOCATION; i++)
+        {
+            octets += buffer.writeUTF8(value);
+        }
+        buffer.reset();
+        return octets;
+    }
+
+    @Benchmark
+    public void writeString() throws IOException
+    {
+        for (int i = 0; i < STRINGS_PER_INVOCATION; i++)
+        {
+            writer.writeString(value);
+        }
+        writer.finish();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.lite;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.ion.Corpus;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+import software.amazon.ion.system.IonSystemBuilder;
+
+/**
+ * Lite DOM benchmarks: materializing values with {@link IonSystemLite#newValue(IonReader)} and
+ * the loader, and serializing a datagram with {@link ReverseBinaryEncoder} and with the managed binary
+ * writer, both patching lengths and precomputing them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IonLiteBenchmark
+{
+    @Param({"SYNTHETIC", "ION_TESTS"})
+    public Corpus corpus;
+
+    private IonSystemLite system;
+    private byte[] binary;
+    private byte[] text;
+    private IonDatagram datagram;
+    private PrivateIonManagedBinaryWriterBuilder patchingBuilder;
+    private PrivateIonManagedBinaryWriterBuilder presizedBuilder;
+
+    @Setup
+    public void setup()
+    {
+        system = (IonSystemLite) IonSystemBuilder.standard().build();
+        datagram = corpus.load(system);
+        binary = datagram.getBytes();
+        text = corpus.text(system);
+        patchingBuilder = PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED)
+            .withPaddedLengthPreallocation(0);
+        presizedBuilder = PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED)
+            .withPaddedLengthPreallocation(0)
+            .withLengthPrecomputationEnabled();
+    }
+
+    private byte[] managedBinaryEncode(final PrivateIonManagedBinaryWriterBuilder builder) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        final IonWriter writer = builder.newWriter(out);
+        for (final IonValue value : datagram)
+        {
+            value.writeTo(writer);
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public void newValueFromBinary(final Blackhole bh) throws IOException
+    {
+        final IonReader reader = system.newReader(binary);
+        while (reader.next() != null)
+        {
+            bh.consume(system.newValue(reader));
+        }
+        reader.close();
+    }
+
+    @Benchmark
+    public void newValueFromText(final Blackhole bh) throws IOException
+    {
+        final IonReader reader = system.newReader(text);
+        while (reader.next() != null)
+        {
+            bh.consume(system.newValue(reader));
+        }
+        reader.close();
+    }
+
+    @Benchmark
+    public IonDatagram loadBinary()
+    {
+        return system.getLoader().load(binary);
+    }
+
+    @Benchmark
+    public byte[] reverseBinaryEncode()
+    {
+        final ReverseBinaryEncoder encoder = new ReverseBinaryEncoder(32 * 1024);
+        encoder.serialize(datagram);
+        return encoder.toNewByteArray();
+    }
+
+    @Benchmark
+    public byte[] patchingBinaryEncode() throws IOException
+    {
+        return managedBinaryEncode(patchingBuilder);
+    }
+
+    @Benchmark
+    public byte[] presizedBinaryEncode() throws IOException
+    {
+        return managedBinaryEncode(presizedBuilder);
+    }
+}
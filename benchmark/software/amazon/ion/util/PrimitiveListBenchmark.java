@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+import software.amazon.ion.system.IonReaderBuilder;
+
+/**
+ * Binary lists of ints and floats, written and read through the bulk
+ * {@link IonStreamUtils} list methods and, for comparison, one value at a
+ * time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrimitiveListBenchmark
+{
+    @Param({"100", "100000"})
+    public int length;
+
+    private IonBinaryWriterBuilder writerBuilder;
+    private IonReaderBuilder readerBuilder;
+    private long[] longs;
+    private double[] doubles;
+    private byte[] longData;
+    private byte[] doubleData;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        writerBuilder = IonBinaryWriterBuilder.standard().immutable();
+        readerBuilder = IonReaderBuilder.standard().immutable();
+        longs = new long[length];
+        doubles = new double[length];
+        for (int i = 0; i < length; i++)
+        {
+            longs[i] = (long) i * i * (i % 2 == 0 ? 1 : -1);
+            doubles[i] = i / 7.0;
+        }
+        longData = writeLongs();
+        doubleData = writeDoubles();
+    }
+
+    @Benchmark
+    public byte[] writeLongs() throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = writerBuilder.build(out);
+        IonStreamUtils.writeIntList(writer, longs);
+        writer.close();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeLongsOneByOne() throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = writerBuilder.build(out);
+        writer.stepIn(IonType.LIST);
+        for (final long value : longs)
+        {
+            writer.writeInt(value);
+        }
+        writer.stepOut();
+        writer.close();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeDoubles() throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = writerBuilder.build(out);
+        IonStreamUtils.writeFloatList(writer, doubles);
+        writer.close();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public long[] readLongs() throws IOException
+    {
+        final IonReader reader = readerBuilder.build(longData);
+        reader.next();
+        final long[] values = IonStreamUtils.readIntList(reader);
+        reader.close();
+        return values;
+    }
+
+    @Benchmark
+    public long[] readLongsOneByOne() throws IOException
+    {
+        final IonReader reader = readerBuilder.build(longData);
+        reader.next();
+        reader.stepIn();
+        final long[] values = new long[length];
+        for (int i = 0; reader.next() != null; i++)
+        {
+            values[i] = reader.longValue();
+        }
+        reader.close();
+        return values;
+    }
+
+    @Benchmark
+    public double[] readDoubles() throws IOException
+    {
+        final IonReader reader = readerBuilder.build(doubleData);
+        reader.next();
+        final double[] values = IonStreamUtils.readFloatList(reader);
+        reader.close();
+        return values;
+    }
+
+    @Benchmark
+    public double[] readDoublesOneByOne() throws IOException
+    {
+        final IonReader reader = readerBuilder.build(doubleData);
+        reader.next();
+        reader.stepIn();
+        final double[] values = new double[length];
+        for (int i = 0; reader.next() != null; i++)
+        {
+            values[i] = reader.doubleValue();
+        }
+        reader.close();
+        return values;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import software.amazon.ion.system.IonReaderBuilder;
+
+/**
+ * An {@link IonReader} facet reporting how the reader has buffered the
+ * {@link java.io.InputStream} it reads from, such as the average number of
+ * bytes each call to the stream returned.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of readers built over an
+ * {@link java.io.InputStream}.  Such readers start out with pages of
+ * {@link IonReaderBuilder#getInputBufferSize()} bytes, and each time the
+ * stream fills a page they double the size of the next, up to
+ * {@link IonReaderBuilder#getMaximumInputBufferSize()}.  The counts include
+ * the reader's look at the start of the stream to tell text from binary,
+ * and are those of the decompressed stream when the data is GZIPped.
+ */
+public interface InputStreamStatistics
+{
+    /**
+     * Returns the number of bytes read from the stream so far.
+     */
+    public long getBytesRead();
+
+
+    /**
+     * Returns the number of calls made to read from the stream so far.
+     */
+    public long getReadCount();
+
+
+    /**
+     * Returns the size of the pages that the stream is currently read into.
+     */
+    public int getPageSize();
+}
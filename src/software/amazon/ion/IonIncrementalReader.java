@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link IonReader} over binary Ion data that is pushed to it as it
+ * becomes available, rather than pulled from a blocking source.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * The reader only ever exposes complete top-level values: when the data fed
+ * so far ends partway through a top-level value, {@link #next()} at
+ * top-level returns null and {@link #needsData()} returns true. The caller
+ * should then {@link #feed(ByteBuffer) feed} more data as it arrives, and
+ * call {@link #next()} again. Once a top-level value is available it can be
+ * read, stepped into and skipped exactly as with any other reader, without
+ * ever blocking.
+ * <p>
+ * For example, an event loop might drive a reader like this:
+ * <pre>
+ *     reader.feed(chunk);
+ *     IonType type;
+ *     while ((type = reader.next()) != null)
+ *     {
+ *         handle(reader);
+ *     }
+ *     if (! reader.needsData())
+ *     {
+ *         // end of input
+ *     }
+ * </pre>
+ * Symbol tables carry over from one fed chunk to the next, so the data may
+ * be split anywhere.
+ * <p>
+ * Instances are <b>not</b> thread-safe.
+ */
+public interface IonIncrementalReader
+    extends IonReader
+{
+    /**
+     * Appends the remaining bytes of the given buffer to the data to be
+     * read. The bytes are copied, so the buffer may be reused as soon as
+     * this method returns; its position is advanced to its limit.
+     *
+     * @throws IllegalStateException if {@link #endOfInput()} has been called.
+     */
+    public void feed(ByteBuffer ionData);
+
+
+    /**
+     * Appends a range of the given array to the data to be read. The bytes
+     * are copied, so the array may be reused as soon as this method returns.
+     *
+     * @throws IllegalStateException if {@link #endOfInput()} has been called.
+     */
+    public void feed(byte[] ionData, int offset, int length);
+
+
+    /**
+     * Notes that no more data will be fed to this reader, so that
+     * {@link #next()} at top-level returns null at the end of the last
+     * value rather than waiting for more data.
+     */
+    public void endOfInput();
+
+
+    /**
+     * Determines whether the last call to {@link #next()} returned null
+     * because the data fed so far doesn't yet hold the next top-level value,
+     * rather than because the end of the input (or of the current container)
+     * was reached.
+     */
+    public boolean needsData();
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link IonReader} facet providing the ability to read new data with an
+ * existing reader, reusing the buffers it has allocated rather than building
+ * a new reader for every message.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of the text and binary
+ * {@link IonReader}s built over byte arrays. A reader can only be reset to
+ * data of the same kind, binary or text, as that it was built over, and
+ * the data must not be GZIPped.
+ * <p>
+ * After a reset the reader behaves exactly as if it had just been built
+ * over the new data: it's positioned before the first value at top-level,
+ * with the system symbol table current.
+ */
+public interface ResettableReader
+{
+    /**
+     * Resets the reader to read a range of the given array.
+     * The reader retains a reference to the array, so its data must not be
+     * modified while the reader is active.
+     *
+     * @throws IllegalArgumentException if the data is binary and the reader
+     * reads text, or vice versa.
+     */
+    public void reset(byte[] ionData, int offset, int length);
+
+
+    /**
+     * Resets the reader to read the given buffer, from its position to its
+     * limit. The buffer's position and limit are not modified.
+     * <p>
+     * The contents of buffers with an accessible array are read in place, so
+     * must not be modified while the reader is active. Other buffers are
+     * copied into an array owned by the reader, which is reused by
+     * subsequent resets.
+     *
+     * @throws IllegalArgumentException if the data is binary and the reader
+     * reads text, or vice versa.
+     */
+    public void reset(ByteBuffer ionData);
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link IonReader} facet providing views of the text of the current
+ * string or symbol value, so that it can be compared or hashed without
+ * creating a {@link String}.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of binary {@link IonReader}s.
+ * The views returned are owned by the reader and are reused: they are only
+ * valid until the reader is moved, or another value is read from it.
+ * Callers that need to keep the text must copy it, for example via
+ * {@link CharSequence#toString()}.
+ * <p>
+ * When the current value is a string that hasn't yet been read, and that is
+ * contiguous in the reader's input buffer, neither method allocates.  Symbol
+ * text comes from the symbol table and is returned as-is.
+ */
+public interface TextValueReader
+{
+    /**
+     * Returns the UTF-8 encoding of the text of the current value.
+     * The buffer is read-only, and its remaining bytes are those of the text.
+     *
+     * @return null if the current value is {@code null.string} or
+     * {@code null.symbol}.
+     *
+     * @throws IllegalStateException if the current value isn't a string or
+     * symbol.
+     * @throws UnknownSymbolException if the current value is a symbol with
+     * unknown text.
+     */
+    public ByteBuffer utf8TextValue();
+
+
+    /**
+     * Returns the text of the current value.
+     * The result is read-only, and its {@link Object#toString() toString()}
+     * is equal to {@link IonReader#stringValue()}.
+     *
+     * @return null if the current value is {@code null.string} or
+     * {@code null.symbol}.
+     *
+     * @throws IllegalStateException if the current value isn't a string or
+     * symbol.
+     * @throws UnknownSymbolException if the current value is a symbol with
+     * unknown text.
+     */
+    public CharSequence charSequenceValue();
+}
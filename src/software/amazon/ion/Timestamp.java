@@ -906,7 +906,7 @@ public final class Timestamp
                 throw fail(in,
                            "must have at least one digit after decimal point");
             }
-            fraction = new BigDecimal(in.subSequence(19, pos).toString());
+            fraction = read_fraction(in, END_OF_SECONDS + 1, pos);
         } while (false);
 
         Integer offset;
@@ -1012,6 +1012,24 @@ public final class Timestamp
         return value;
     }
 
+    /**
+     * Reads the fractional seconds from the digits between {@code start}
+     * and {@code end}, straight from the sequence when they fit in a long.
+     */
+    private static BigDecimal read_fraction(CharSequence in, int start, int end)
+    {
+        int scale = end - start;
+        if (scale > 18) {
+            // include the decimal point
+            return new BigDecimal(in.subSequence(start - 1, end).toString());
+        }
+        long unscaled = 0;
+        for (int ii = start; ii < end; ii++) {
+            unscaled = unscaled * 10 + Character.digit(in.charAt(ii), 10);
+        }
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
     private static boolean isValidFollowChar(char c) {
         switch (c) {
         default:
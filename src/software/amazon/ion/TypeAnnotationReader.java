@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+/**
+ * An {@link IonReader} facet providing the type annotations of the current
+ * value one at a time, so that values can be dispatched on their
+ * annotations without allocating arrays or tokens for each of them.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of binary {@link IonReader}s.
+ * The tokens returned are created once per symbol and symbol table, and
+ * shared by every value annotated with that symbol until the reader moves
+ * on to another symbol table.  Symbol IDs are only meaningful in the context
+ * of the reader's current {@link IonReader#getSymbolTable() symbol table}.
+ */
+public interface TypeAnnotationReader
+{
+    /**
+     * Returns the number of type annotations of the current value.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a value.
+     */
+    public int getTypeAnnotationCount();
+
+
+    /**
+     * Returns the symbol ID of a type annotation of the current value.
+     *
+     * @param index the index of the annotation, less than
+     * {@link #getTypeAnnotationCount()}.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a value.
+     * @throws IndexOutOfBoundsException if there is no such annotation.
+     */
+    public int getTypeAnnotationSid(int index);
+
+
+    /**
+     * Returns a type annotation of the current value.  The result is equal
+     * to the corresponding element of
+     * {@link IonReader#getTypeAnnotationSymbols()}.
+     *
+     * @param index the index of the annotation, less than
+     * {@link #getTypeAnnotationCount()}.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a value.
+     * @throws IndexOutOfBoundsException if there is no such annotation.
+     * @throws UnknownSymbolException if the symbol ID is beyond the max ID of
+     * the symbol table.
+     */
+    public SymbolToken getTypeAnnotationSymbol(int index);
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InputStream} over the remaining bytes of a sequence of {@link ByteBuffer}s, such as the mappings of
+ * a file too large for a single {@link java.nio.MappedByteBuffer}.
+ * <p>
+ * Bulk reads are copied straight out of the buffers, so a {@link UnifiedInputStreamX} fills each of its pages with
+ * a single copy and no system call.  The buffers are duplicated, leaving the callers' positions untouched, and each
+ * is released as soon as it has been consumed.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+/*package*/ final class ByteBufferInputStream
+    extends InputStream
+{
+    private final ByteBuffer[] _buffers;
+    private int                _index;
+
+    ByteBufferInputStream(ByteBuffer[] buffers)
+    {
+        _buffers = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            _buffers[i] = buffers[i].duplicate();
+        }
+        _index = 0;
+    }
+
+    /** Returns the first buffer with bytes remaining, or null at the end of the sequence. */
+    private ByteBuffer current()
+    {
+        while (_index < _buffers.length) {
+            ByteBuffer buffer = _buffers[_index];
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            // let go of it, so that a consumed mapping can be unmapped
+            _buffers[_index] = null;
+            _index++;
+        }
+        return null;
+    }
+
+    @Override
+    public int read()
+    {
+        ByteBuffer buffer = current();
+        if (buffer == null) {
+            return -1;
+        }
+        return buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length)
+    {
+        if (length == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = current();
+        if (buffer == null) {
+            return -1;
+        }
+        int read = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n)
+    {
+        long skipped = 0;
+        ByteBuffer buffer;
+        while (skipped < n && (buffer = current()) != null) {
+            int amount = (int) Math.min(n - skipped, buffer.remaining());
+            // the cast keeps us binary compatible with the Java 8 signature of this method
+            ((Buffer) buffer).position(buffer.position() + amount);
+            skipped += amount;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available()
+    {
+        ByteBuffer buffer = current();
+        return buffer == null ? 0 : buffer.remaining();
+    }
+
+    @Override
+    public void close()
+    {
+        while (_index < _buffers.length) {
+            _buffers[_index++] = null;
+        }
+    }
+}
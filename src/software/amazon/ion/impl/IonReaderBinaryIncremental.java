@@ -0,0 +1,417 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_1_0;
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_SIZE;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsNull;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsOrderedStruct;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsVarLen;
+import static software.amazon.ion.impl.PrivateIonConstants.tidBoolean;
+import static software.amazon.ion.impl.PrivateIonConstants.tidStruct;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.Iterator;
+import software.amazon.ion.Decimal;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonIncrementalReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.SymbolToken;
+import software.amazon.ion.Timestamp;
+
+/**
+ * An {@link IonIncrementalReader} that buffers the data fed to it, and reads
+ * the complete top-level values in that buffer with an ordinary binary
+ * reader.
+ * <p>
+ * Each time data is fed, the headers of the new top-level values are scanned
+ * to find where the last complete one ends; nothing else is decoded.  When
+ * the binary reader runs out of complete values it is
+ * {@link IonReaderBinaryUserX#reposition repositioned} over the next batch,
+ * carrying its symbol table over.  Consumed bytes are discarded, and the
+ * partial value moved to the front of the buffer, only while the binary
+ * reader is between batches, so the buffer only grows to hold the largest
+ * top-level value (plus whatever arrives while the caller is reading).
+ */
+final class IonReaderBinaryIncremental
+    implements IonIncrementalReader
+{
+    private static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
+
+    private final IonCatalog                     _catalog;
+    private final PrivateLocalSymbolTableFactory _lstFactory;
+
+    private IonReaderBinaryUserX _reader;
+    /** The array that {@link #_reader} was built over, which may since have been replaced. */
+    private byte[]               _reader_bytes;
+
+    private byte[]               _buffer;
+    /** The end of the batch of values given to {@link #_reader}. */
+    private int                  _batch_end;
+    /** The end of the last complete top-level value in the buffer. */
+    private int                  _complete_end;
+    /** The end of the data in the buffer. */
+    private int                  _end;
+
+    private boolean              _version_marker_checked;
+    private boolean              _end_of_input;
+    private boolean              _needs_data;
+
+    IonReaderBinaryIncremental(IonCatalog catalog,
+                               PrivateLocalSymbolTableFactory lstFactory)
+    {
+        _catalog = catalog;
+        _lstFactory = lstFactory;
+        _buffer = new byte[DEFAULT_BUFFER_SIZE];
+        _reader = newReader(SharedSymbolTable.getSystemSymbolTable(1));
+        // nothing has been fed, so there's nothing to discard
+        _needs_data = true;
+    }
+
+    private IonReaderBinaryUserX newReader(SymbolTable symbols)
+    {
+        UnifiedInputStreamX uis = UnifiedInputStreamX.makeStream(_buffer);
+        IonReaderBinaryUserX reader =
+            new IonReaderBinaryUserX(_catalog, _lstFactory, uis, 0);
+        reader.reposition(_batch_end, _batch_end, symbols);
+        _reader_bytes = _buffer;
+        return reader;
+    }
+
+
+    //========================================================================
+    // Feeding
+
+    public void feed(ByteBuffer ionData)
+    {
+        int length = ionData.remaining();
+        ensureCapacity(length);
+        ionData.get(_buffer, _end, length);
+        appended(length);
+    }
+
+    public void feed(byte[] ionData, int offset, int length)
+    {
+        ensureCapacity(length);
+        System.arraycopy(ionData, offset, _buffer, _end, length);
+        appended(length);
+    }
+
+    public void endOfInput()
+    {
+        _end_of_input = true;
+    }
+
+    public boolean needsData()
+    {
+        return _needs_data;
+    }
+
+    private void ensureCapacity(int length)
+    {
+        if (_end_of_input) {
+            throw new IllegalStateException("Data fed after the end of input");
+        }
+        if (_needs_data && _batch_end > 0) {
+            // the reader is done with everything before the batch end
+            int partial = _end - _batch_end;
+            System.arraycopy(_buffer, _batch_end, _buffer, 0, partial);
+            _complete_end -= _batch_end;
+            _batch_end = 0;
+            _end = partial;
+        }
+        int required = _end + length;
+        if (required < 0) {
+            throw new IonException("Top-level value too large to buffer");
+        }
+        if (required > _buffer.length) {
+            // the reader may still be using the old array, so this can't
+            // be done in place; it moves over at the next batch
+            int capacity = Math.max(required, _buffer.length * 2);
+            if (capacity < 0) {
+                capacity = Integer.MAX_VALUE;
+            }
+            byte[] buffer = new byte[capacity];
+            System.arraycopy(_buffer, 0, buffer, 0, _end);
+            _buffer = buffer;
+        }
+    }
+
+    private void appended(int length)
+    {
+        _end += length;
+        if (!_version_marker_checked) {
+            if (_end < BINARY_VERSION_MARKER_SIZE) return;
+            for (int i = 0; i < BINARY_VERSION_MARKER_SIZE; i++) {
+                if (_buffer[i] != BINARY_VERSION_MARKER_1_0[i]) {
+                    throw new IonException("Incremental reading requires binary Ion data");
+                }
+            }
+            _version_marker_checked = true;
+        }
+        while (scanValue()) {
+            // keep going
+        }
+    }
+
+    /**
+     * Advances {@link #_complete_end} over the next top-level value, if all
+     * of it is in the buffer.
+     *
+     * @return false if the value is incomplete.
+     */
+    private boolean scanValue()
+    {
+        int pos = _complete_end;
+        if (pos >= _end) return false;
+
+        int td = _buffer[pos++] & 0xff;
+        if (td == (BINARY_VERSION_MARKER_1_0[0] & 0xff)) {
+            if (_end - _complete_end < BINARY_VERSION_MARKER_SIZE) return false;
+            if (_buffer[pos] == BINARY_VERSION_MARKER_1_0[1]) {
+                // version markers are the only typedecl without a length
+                _complete_end += BINARY_VERSION_MARKER_SIZE;
+                return true;
+            }
+        }
+
+        int tid = td >> 4;
+        int ln  = td & 0xf;
+        long len;
+        if (tid == tidBoolean || ln == lnIsNull) {
+            len = 0;
+        }
+        else if (ln == lnIsVarLen || (tid == tidStruct && ln == lnIsOrderedStruct)) {
+            len = 0;
+            int b;
+            do {
+                if (pos >= _end) return false;
+                b = _buffer[pos++] & 0xff;
+                len = (len << 7) | (b & 0x7f);
+                if (len > Integer.MAX_VALUE) {
+                    throw new IonException("Top-level value too large to buffer");
+                }
+            } while ((b & 0x80) == 0);
+        }
+        else {
+            len = ln;
+        }
+
+        if (len > _end - pos) return false;
+        _complete_end = pos + (int) len;
+        return true;
+    }
+
+
+    //========================================================================
+    // Reading
+
+    /**
+     * Hands the complete values that the reader hasn't seen to it.
+     *
+     * @return false if there are none.
+     */
+    private boolean nextBatch()
+    {
+        if (_complete_end == _batch_end) return false;
+
+        SymbolTable symbols = _reader.getSymbolTable();
+        if (_reader_bytes != _buffer) {
+            _reader = newReader(symbols);
+        }
+        _reader.reposition(_batch_end, _complete_end, symbols);
+        _batch_end = _complete_end;
+        return true;
+    }
+
+    public IonType next()
+    {
+        IonType t = _reader.next();
+        if (t == null && _reader.getDepth() == 0) {
+            // the batch may hold nothing but system values
+            while (t == null && nextBatch()) {
+                t = _reader.next();
+            }
+            if (t == null) {
+                _needs_data = !_end_of_input;
+                if (_end_of_input && _end > _complete_end) {
+                    throw new IonException("Unexpected EOF in incomplete top-level value");
+                }
+                return null;
+            }
+        }
+        _needs_data = false;
+        return t;
+    }
+
+    public void stepIn()
+    {
+        _reader.stepIn();
+    }
+
+    public void stepOut()
+    {
+        _reader.stepOut();
+    }
+
+    public int getDepth()
+    {
+        return _reader.getDepth();
+    }
+
+    public SymbolTable getSymbolTable()
+    {
+        return _reader.getSymbolTable();
+    }
+
+    public IonType getType()
+    {
+        return _reader.getType();
+    }
+
+    public IntegerSize getIntegerSize()
+    {
+        return _reader.getIntegerSize();
+    }
+
+    public String[] getTypeAnnotations()
+    {
+        return _reader.getTypeAnnotations();
+    }
+
+    public SymbolToken[] getTypeAnnotationSymbols()
+    {
+        return _reader.getTypeAnnotationSymbols();
+    }
+
+    public Iterator<String> iterateTypeAnnotations()
+    {
+        return _reader.iterateTypeAnnotations();
+    }
+
+    public String getFieldName()
+    {
+        return _reader.getFieldName();
+    }
+
+    public SymbolToken getFieldNameSymbol()
+    {
+        return _reader.getFieldNameSymbol();
+    }
+
+    public boolean isNullValue()
+    {
+        return _reader.isNullValue();
+    }
+
+    public boolean isInStruct()
+    {
+        return _reader.isInStruct();
+    }
+
+    public boolean booleanValue()
+    {
+        return _reader.booleanValue();
+    }
+
+    public int intValue()
+    {
+        return _reader.intValue();
+    }
+
+    public long longValue()
+    {
+        return _reader.longValue();
+    }
+
+    public BigInteger bigIntegerValue()
+    {
+        return _reader.bigIntegerValue();
+    }
+
+    public double doubleValue()
+    {
+        return _reader.doubleValue();
+    }
+
+    public BigDecimal bigDecimalValue()
+    {
+        return _reader.bigDecimalValue();
+    }
+
+    public Decimal decimalValue()
+    {
+        return _reader.decimalValue();
+    }
+
+    public Date dateValue()
+    {
+        return _reader.dateValue();
+    }
+
+    public Timestamp timestampValue()
+    {
+        return _reader.timestampValue();
+    }
+
+    public String stringValue()
+    {
+        return _reader.stringValue();
+    }
+
+    public SymbolToken symbolValue()
+    {
+        return _reader.symbolValue();
+    }
+
+    public int byteSize()
+    {
+        return _reader.byteSize();
+    }
+
+    public byte[] newBytes()
+    {
+        return _reader.newBytes();
+    }
+
+    public int getBytes(byte[] buffer, int offset, int len)
+    {
+        return _reader.getBytes(buffer, offset, len);
+    }
+
+    /**
+     * @return This implementation always returns null, since spans and the
+     * like would refer to a buffer that is overwritten as data is fed.
+     */
+    public <T> T asFacet(Class<T> facetType)
+    {
+        return null;
+    }
+
+    public void close() throws IOException
+    {
+        _reader.close();
+        _buffer = PrivateUtils.EMPTY_BYTE_ARRAY;
+        _reader_bytes = null;
+        _batch_end = _complete_end = _end = 0;
+    }
+}
@@ -51,6 +51,7 @@ abstract class IonReaderBinaryRawX
     static final int DEFAULT_CONTAINER_STACK_SIZE = 12; // a multiple of 3
     static final int DEFAULT_ANNOTATION_SIZE = 10;
     static final int NO_LIMIT = Integer.MIN_VALUE;
+    static final int DEFAULT_STRING_BUFFER_SIZE = 64;
 
     protected enum State {
         S_INVALID,
@@ -85,6 +86,10 @@ abstract class IonReaderBinaryRawX
 
 
     SavePoint           _annotations;
+    // over a byte array the annotations are only located, as offsets into
+    // it, rather than pinned with the save point above; -1 when undefined
+    int                 _annotation_start;
+    int                 _annotation_end;
     int[]               _annotation_ids;
     int                 _annotation_count;
 
@@ -95,6 +100,8 @@ abstract class IonReaderBinaryRawX
     int                 _container_top;
     long[]              _container_stack; // triples of: position, type, local_end
 
+    char[]              _string_buffer;   // reused by readString(), see stringBuffer()
+
     protected IonReaderBinaryRawX() {
     }
 
@@ -135,6 +142,7 @@ abstract class IonReaderBinaryRawX
         _value_lob_is_ready = false;
 
         _annotation_count = 0;
+        _annotation_start = -1;
 
         _is_in_struct = false;
         _struct_is_ordered = false;
@@ -336,6 +344,7 @@ abstract class IonReaderBinaryRawX
         _value_is_null = false;
         _value_lob_is_ready = false;
         _annotations.clear();
+        _annotation_start = -1;
         _value_field_id = SymbolTable.UNKNOWN_SYMBOL_ID;
         _state = State.S_AFTER_VALUE;
     }
@@ -347,12 +356,22 @@ abstract class IonReaderBinaryRawX
         // the actual type id byte for the value.  We'll
         // save the annotations using a save point, which
         // will pin the input buffers until we free this,
-        // not later than the next call to hasNext().
+        // not later than the next call to hasNext().  When
+        // the input is a byte array that won't be refilled
+        // it's enough to remember where they are.
 
         int alen = readVarUInt();
-        _annotations.start(getPosition(), 0);
-        skip(alen);
-        _annotations.markEnd();
+        if (_input._is_stream) {
+            _annotations.start(getPosition(), 0);
+            skip(alen);
+            _annotations.markEnd();
+        }
+        else {
+            int start = _input._pos;
+            skip(alen);
+            _annotation_start = start;
+            _annotation_end = start + alen;
+        }
 
         // this will both get the type id and it will reset the
         // length as well (over-writing the len + annotations value
@@ -378,7 +397,10 @@ abstract class IonReaderBinaryRawX
         switch (_state) {
         case S_BEFORE_VALUE:
         case S_AFTER_VALUE:
-            if (_annotations.isDefined()) {
+            if (_annotation_start >= 0) {
+                load_annotations_from_bytes();
+            }
+            else if (_annotations.isDefined()) {
                 int local_remaining_save = _local_remaining;
                 _input._save_points.savePointPushActive(_annotations, getPosition(), 0);
                 _local_remaining =  NO_LIMIT; // limit will be handled by the save point
@@ -409,6 +431,40 @@ abstract class IonReaderBinaryRawX
         return _annotation_count;
     }
 
+    /**
+     * Decodes the annotations located by
+     * {@link #load_annotation_start_with_value_type()} straight out of the
+     * input's byte array, without moving the input.
+     */
+    private final void load_annotations_from_bytes()
+    {
+        byte[] bytes = _input._bytes;
+        int pos = _annotation_start;
+        int end = _annotation_end;
+        _annotation_count = 0;
+        while (pos < end) {
+            // the same limits as readVarUIntOrEOF()
+            long a = 0;
+            int  b;
+            int  n = 0;
+            do {
+                if (pos >= end) {
+                    throwErrorAt("unexpected EOF in value");
+                }
+                if (++n > 5) {
+                    throwErrorAt("int in stream is too long for a Java int 32");
+                }
+                b = bytes[pos++] & 0xff;
+                a = (a << 7) | (b & 0x7F);
+            } while ((b & 0x80) == 0);
+            if (a != (int) a) {
+                throwErrorAt("int in stream is too long for a Java int 32");
+            }
+            load_annotation_append((int) a);
+        }
+        _annotation_start = -1;
+    }
+
     private final void load_annotation_append(int a)
     {
         int oldlen = _annotation_ids.length;
@@ -427,6 +483,7 @@ abstract class IonReaderBinaryRawX
         _value_is_null = false;
         _value_lob_is_ready = false;
         _annotations.clear();
+        _annotation_start = -1;
         _v.clear();
         _annotation_count = 0;
         _value_field_id = SymbolTable.UNKNOWN_SYMBOL_ID;
@@ -652,6 +709,157 @@ abstract class IonReaderBinaryRawX
         assert(next_position == getPosition());
         _local_remaining = local_remaining;
     }
+
+    //
+    //  bulk reads of the scalars of a list or sexp, see PrivateListReader
+    //
+
+    /**
+     * Returns the position in the current page of the value that next()
+     * would move to, skipping whatever is left of the current value, or -1
+     * if the following values of the sequence can't be read in place.
+     */
+    private final int bulk_start()
+    {
+        if (_eof || !_has_next_needed || _is_in_struct || getDepth() == 0
+            || !_input._is_byte_data) {
+            return -1;
+        }
+        int pos = _input._pos;
+        switch (_state) {
+        case S_BEFORE_VALUE:
+            pos += _value_len;
+            break;
+        case S_BEFORE_TID:
+        case S_AFTER_VALUE:
+            break;
+        default:
+            return -1;
+        }
+        return (pos <= bulk_end()) ? pos : -1;
+    }
+
+    /** Returns the end of the current sequence, or of the current page if that's first. */
+    private final int bulk_end()
+    {
+        assert _local_remaining != NO_LIMIT;
+        return (int) Math.min(_input._limit, (long) _input._pos + _local_remaining);
+    }
+
+    /**
+     * Moves past the values read in bulk, leaving the reader before the
+     * value that follows them with no current value.
+     */
+    private final void bulk_finish(int pos)
+    {
+        _local_remaining -= pos - _input._pos;
+        _input._pos = pos;
+        _state = State.S_BEFORE_TID;
+        clear_value();
+    }
+
+    /**
+     * Decodes the non-null ints that follow in the current list or sexp, up
+     * to length of them, into either longs or ints, for as long as they're
+     * in the current page.  This stops at the first value that isn't such
+     * an int (or that doesn't fit in an int), or is annotated, so that
+     * next() sees it.  NOP padding is skipped.
+     *
+     * @return the number of ints decoded, which may be zero.
+     */
+    final int readIntsInPage(long[] longs, int[] ints, int offset, int length)
+    {
+        int pos = bulk_start();
+        if (pos < 0) return 0;
+        byte[] bytes = _input._bytes;
+        int end = bulk_end();
+        int count = 0;
+        while (count < length && pos < end) {
+            int td  = bytes[pos] & 0xff;
+            int tid = PrivateIonConstants.getTypeCode(td);
+            int len = PrivateIonConstants.getLowNibble(td);
+            if (len > end - pos - 1) break;
+            if (tid == PrivateIonConstants.tidNull && len != PrivateIonConstants.lnIsNull) {
+                if (len == PrivateIonConstants.lnIsVarLen) break;
+                pos += 1 + len;
+                continue;
+            }
+            if ((tid != PrivateIonConstants.tidPosInt && tid != PrivateIonConstants.tidNegInt)
+                || len > Long.BYTES) {
+                break;
+            }
+            long magnitude = 0;
+            for (int ii = 1; ii <= len; ii++) {
+                magnitude = (magnitude << 8) | (bytes[pos + ii] & 0xff);
+            }
+            long value;
+            if (tid == PrivateIonConstants.tidPosInt) {
+                if (magnitude < 0) break;
+                value = magnitude;
+            }
+            else {
+                // Long.MIN_VALUE is the only magnitude past Long.MAX_VALUE that fits
+                if (magnitude < 0 && magnitude != Long.MIN_VALUE) break;
+                value = -magnitude;
+            }
+            if (longs != null) {
+                longs[offset + count] = value;
+            }
+            else {
+                if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) break;
+                ints[offset + count] = (int) value;
+            }
+            count++;
+            pos += 1 + len;
+        }
+        bulk_finish(pos);
+        return count;
+    }
+
+    /**
+     * Decodes the non-null floats that follow in the current list or sexp,
+     * up to length of them, as {@link #readIntsInPage} does ints.
+     *
+     * @return the number of floats decoded, which may be zero.
+     */
+    final int readFloatsInPage(double[] doubles, int offset, int length)
+    {
+        int pos = bulk_start();
+        if (pos < 0) return 0;
+        byte[] bytes = _input._bytes;
+        int end = bulk_end();
+        int count = 0;
+        while (count < length && pos < end) {
+            int td  = bytes[pos] & 0xff;
+            int tid = PrivateIonConstants.getTypeCode(td);
+            int len = PrivateIonConstants.getLowNibble(td);
+            if (len > end - pos - 1) break;
+            if (tid == PrivateIonConstants.tidNull && len != PrivateIonConstants.lnIsNull) {
+                if (len == PrivateIonConstants.lnIsVarLen) break;
+                pos += 1 + len;
+                continue;
+            }
+            if (tid != PrivateIonConstants.tidFloat || (len != 0 && len != 4 && len != 8)) {
+                break;
+            }
+            long bits = 0;
+            for (int ii = 1; ii <= len; ii++) {
+                bits = (bits << 8) | (bytes[pos + ii] & 0xff);
+            }
+            if (len == 8) {
+                doubles[offset + count] = Double.longBitsToDouble(bits);
+            }
+            else {
+                // a zero length float is 0e0
+                doubles[offset + count] = Float.intBitsToFloat((int) bits);
+            }
+            count++;
+            pos += 1 + len;
+        }
+        bulk_finish(pos);
+        return count;
+    }
+
     public int byteSize()
     {
         int len;
@@ -740,6 +948,14 @@ abstract class IonReaderBinaryRawX
     {
         return _is_in_struct;
     }
+    /**
+     * @return the symbol id of the current field name, without looking up
+     * its text, or {@link SymbolTable#UNKNOWN_SYMBOL_ID} outside a struct.
+     */
+    final int getFieldId()
+    {
+        return _value_field_id;
+    }
     public boolean isNullValue()
     {
         return _value_is_null;
@@ -836,8 +1052,47 @@ abstract class IonReaderBinaryRawX
         }
         return;
     }
+    /** The most bytes a VarInt or VarUInt that fits in a Java int can take. */
+    private static final int MAX_VAR_INT_LENGTH = 5;
+
+    /**
+     * Returns the number of bytes that can be decoded straight out of the
+     * current page with local indices, without going through read() for
+     * each of them or past the end of the current container.
+     */
+    private final int bytesInPage()
+    {
+        if (!_input._is_byte_data) return 0;
+        int available = _input._limit - _input._pos;
+        if (_local_remaining != NO_LIMIT && _local_remaining < available) {
+            available = _local_remaining;
+        }
+        return available;
+    }
+
+    /** Moves the input to pos after decoding the bytes before it in place. */
+    private final void consumeInPage(int pos)
+    {
+        if (_local_remaining != NO_LIMIT) {
+            _local_remaining -= pos - _input._pos;
+        }
+        _input._pos = pos;
+    }
+
     protected final long readULong(int len) throws IOException
     {
+        if (len <= Long.BYTES && bytesInPage() >= len) {
+            byte[] bytes = _input._bytes;
+            int    pos   = _input._pos;
+            int    end   = pos + len;
+            long   value = 0;
+            while (pos < end) {
+                value = (value << 8) | (bytes[pos++] & 0xff);
+            }
+            consumeInPage(pos);
+            return value;
+        }
+
         long    retvalue = 0;
         int b;
         switch (len) {
@@ -889,9 +1144,43 @@ abstract class IonReaderBinaryRawX
 
     protected final int readVarInt() throws IOException
     {
+        if (bytesInPage() >= MAX_VAR_INT_LENGTH) {
+            return readVarIntInPage();
+        }
         return readVarInt(read());
     }
 
+    /**
+     * Decodes a VarInt straight out of the current page, which must hold
+     * at least {@link #MAX_VAR_INT_LENGTH} bytes.
+     */
+    private final int readVarIntInPage() throws IOException
+    {
+        byte[] bytes = _input._bytes;
+        int    pos   = _input._pos;
+        int    end   = pos + MAX_VAR_INT_LENGTH;
+        int    b     = bytes[pos++];
+        boolean isNegative = (b & 0x40) != 0;
+        long   value = b & 0x3F;
+        // the end flag is the sign bit of the byte
+        while (b >= 0) {
+            if (pos == end) {
+                consumeInPage(pos);
+                throwVarIntOverflowException();
+            }
+            b = bytes[pos++];
+            value = (value << 7) | (b & 0x7F);
+        }
+        consumeInPage(pos);
+        if (isNegative) {
+            value = -value;
+        }
+        if (value != (int) value) {
+            throwVarIntOverflowException();
+        }
+        return (int) value;
+    }
+
     /**
      * Reads an integer value, returning null to mean -0.
      * @throws IOException
@@ -977,6 +1266,10 @@ abstract class IonReaderBinaryRawX
         //
         // see http://amzn.github.io/ion-docs/docs/binary.html#varuint-and-varint-fields
 
+        if (bytesInPage() >= MAX_VAR_INT_LENGTH) {
+            return readVarUIntInPage();
+        }
+
         long retvalue = 0;
         int  b;
         for (;;) { // fake loop to create a "goto done"
@@ -1014,6 +1307,33 @@ abstract class IonReaderBinaryRawX
         return retValueAsInt;
     }
 
+    /**
+     * Decodes a VarUInt straight out of the current page, which must hold
+     * at least {@link #MAX_VAR_INT_LENGTH} bytes.
+     */
+    private final int readVarUIntInPage() throws IOException
+    {
+        byte[] bytes = _input._bytes;
+        int    pos   = _input._pos;
+        int    end   = pos + MAX_VAR_INT_LENGTH;
+        long   value = 0;
+        int    b;
+        // the end flag is the sign bit of the byte
+        do {
+            if (pos == end) {
+                consumeInPage(pos);
+                throwVarIntOverflowException();
+            }
+            b = bytes[pos++];
+            value = (value << 7) | (b & 0x7F);
+        } while (b >= 0);
+        consumeInPage(pos);
+        if (value != (int) value) {
+            throwVarIntOverflowException();
+        }
+        return (int) value;
+    }
+
     protected final int readVarUInt() throws IOException
     {
         int varUInt = readVarUIntOrEOF();
@@ -1156,13 +1476,136 @@ abstract class IonReaderBinaryRawX
     }
 
     protected final String readString(int len) throws IOException
+    {
+        int save_limit = _local_remaining - len;
+        String s;
+        if (isInCurrentPage(len)) {
+            // the whole value is in the current page, so we can decode
+            // it in place without going through read() for every byte
+            s = readStringFromPage(len);
+        }
+        else {
+            s = readStringAcrossPages(len);
+        }
+        _local_remaining = save_limit;
+        return s;
+    }
+
+    /**
+     * Returns true if the next len bytes of the input are all in the
+     * current page, and so can be read in place from _input._bytes.
+     */
+    final boolean isInCurrentPage(int len)
+    {
+        return _input._is_byte_data && _input._limit - _input._pos >= len;
+    }
+
+    /**
+     * Returns the char buffer used to decode strings, large enough to hold
+     * len chars.  It's kept by the reader so that each string only costs
+     * the allocation of the String itself.
+     */
+    final char[] stringBuffer(int len)
+    {
+        if (_string_buffer == null || _string_buffer.length < len) {
+            _string_buffer = new char[Math.max(len, DEFAULT_STRING_BUFFER_SIZE)];
+        }
+        return _string_buffer;
+    }
+
+    @SuppressWarnings("deprecation")
+    private final String readStringFromPage(int len) throws IOException
+    {
+        byte[] bytes = _input._bytes;
+        int    pos   = _input._pos;
+        String s;
+
+        // ascii is by far the most common case, and can be copied
+        // straight out of the page
+        if (isASCII(bytes, pos, len)) {
+            s = new String(bytes, 0, pos, len);
+        }
+        else {
+            // decode first, as it may replace the string buffer
+            int chars = decodeUTF8(bytes, pos, len);
+            s = new String(_string_buffer, 0, chars);
+        }
+        _input._pos = pos + len;
+        return s;
+    }
+
+    private static boolean isASCII(byte[] bytes, int pos, int len)
+    {
+        int end = pos + len;
+        while (pos < end) {
+            if (bytes[pos++] < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decodes len bytes of UTF-8 starting at pos into the
+     * {@link #stringBuffer(int) string buffer}, without moving the input.
+     *
+     * @return the number of chars decoded.
+     */
+    final int decodeUTF8(byte[] bytes, int pos, int len) throws IOException
     {
         // len is bytes, which is greater than or equal to java
         // chars even after utf8 to utf16 decoding nonsense
-        // the char array is way faster than using string buffer
-        char[] chars = new char[len];
+        char[] chars = stringBuffer(len);
+        int    ii = 0;
+        int    end = pos + len;
+        while (pos < end) {
+            int b = bytes[pos] & 0xff;
+            if (IonUTF8.isOneByteUTF8(b)) {
+                chars[ii++] = (char)b;
+                pos++;
+                continue;
+            }
+            int c;
+            int utf8_len = IonUTF8.getUTF8LengthFromFirstByte(b);
+            if (utf8_len < 0 || pos + utf8_len > end) {
+                _input._pos = pos;
+                throwUTF8Exception();
+            }
+            for (int jj = 1; jj < utf8_len; jj++) {
+                if (!IonUTF8.isContinueByteUTF8(bytes[pos + jj] & 0xff)) {
+                    _input._pos = pos;
+                    throwUTF8Exception();
+                }
+            }
+            switch (utf8_len) {
+            case 2:
+                c = IonUTF8.twoByteScalar(b, bytes[pos + 1]);
+                break;
+            case 3:
+                c = IonUTF8.threeByteScalar(b, bytes[pos + 1], bytes[pos + 2]);
+                break;
+            default:
+                c = IonUTF8.fourByteScalar(b, bytes[pos + 1], bytes[pos + 2], bytes[pos + 3]);
+                if (c > 0x10FFFF) {
+                    _input._pos = pos;
+                    throw new IonException("illegal utf value encountered in input utf-8 stream");
+                }
+                break;
+            }
+            pos += utf8_len;
+            if (c < 0x10000) {
+                chars[ii++] = (char)c;
+            }
+            else { // when c is >= 0x10000 we need surrogate encoding
+                chars[ii++] = (char)PrivateIonConstants.makeHighSurrogate(c);
+                chars[ii++] = (char)PrivateIonConstants.makeLowSurrogate(c);
+            }
+        }
+        return ii;
+    }
+
+    private final String readStringAcrossPages(int len) throws IOException
+    {
+        char[] chars = stringBuffer(len);
         int    c, ii = 0;
-        int    save_limit = _local_remaining - len;
         _local_remaining = len;
         while (!isEOF()) {
             c = readUnicodeScalar();
@@ -1175,7 +1618,6 @@ abstract class IonReaderBinaryRawX
                 chars[ii++] = (char)PrivateIonConstants.makeLowSurrogate(c);
             }
         }
-        _local_remaining = save_limit;
         return new String(chars, 0, ii);
     }
     private final int readUnicodeScalar() throws IOException
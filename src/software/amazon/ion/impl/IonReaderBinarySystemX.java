@@ -20,6 +20,7 @@ import static software.amazon.ion.SymbolTable.UNKNOWN_SYMBOL_ID;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import software.amazon.ion.Decimal;
@@ -39,6 +40,16 @@ class IonReaderBinarySystemX
 {
     SymbolTable _symbols;
 
+    /** Tokens beyond this symbol ID aren't cached, to bound the cache. */
+    private static final int MAX_CACHED_TOKEN_SID = 0xFFFF;
+
+    /**
+     * The tokens of the symbols of {@link #_tokens_symtab}, by symbol ID,
+     * created as they're first asked for.
+     */
+    private SymbolToken[] _tokens;
+    private SymbolTable   _tokens_symtab;
+
     IonReaderBinarySystemX(UnifiedInputStreamX in)
     {
         super();
@@ -61,19 +72,47 @@ class IonReaderBinarySystemX
         int count = _annotation_count;
         if (count == 0) return SymbolToken.EMPTY_ARRAY;
 
-        SymbolTable symtab = getSymbolTable();
-
         SymbolToken[] result = new SymbolToken[count];
         for (int i = 0; i < count; i++)
         {
-            int sid = _annotation_ids[i];
-            String text = symtab.findKnownSymbol(sid);
-            result[i] = new SymbolTokenImpl(text, sid);
+            result[i] = symbolToken(_annotation_ids[i]);
         }
 
         return result;
     }
 
+    /**
+     * Returns the token of a symbol of the current symbol table.  The tokens
+     * of known symbols are cached until the symbol table changes, since
+     * symbols are only ever added to the end of a table.
+     */
+    final SymbolToken symbolToken(int sid)
+    {
+        SymbolTable symtab = _symbols;
+        if (symtab != _tokens_symtab) {
+            _tokens_symtab = symtab;
+            if (_tokens != null) {
+                Arrays.fill(_tokens, null);
+            }
+        }
+        if (sid < 0 || sid > MAX_CACHED_TOKEN_SID || sid > symtab.getMaxId()) {
+            return new SymbolTokenImpl(symtab.findKnownSymbol(sid), sid);
+        }
+        if (_tokens == null || sid >= _tokens.length) {
+            int len = (_tokens == null) ? 32 : _tokens.length * 2;
+            while (len <= sid) len *= 2;
+            _tokens = (_tokens == null)
+                ? new SymbolToken[len]
+                : Arrays.copyOf(_tokens, len);
+        }
+        SymbolToken token = _tokens[sid];
+        if (token == null) {
+            token = new SymbolTokenImpl(symtab.findKnownSymbol(sid), sid);
+            _tokens[sid] = token;
+        }
+        return token;
+    }
+
     private void load_once()
     {
         if (_v.isEmpty()) {
@@ -390,7 +429,7 @@ class IonReaderBinarySystemX
         if (_value_type == SYMBOL) {
             if (!_v.hasValueOfType(AS_TYPE.string_value)) {
                 int sid = getSymbolId();
-                String name = _symbols.findKnownSymbol(sid);
+                String name = symbolToken(sid).getText();
                 if (name == null) {
                     throw new UnknownSymbolException(sid);
                 }
@@ -410,9 +449,7 @@ class IonReaderBinarySystemX
 
         int sid = getSymbolId();
         assert sid != UNKNOWN_SYMBOL_ID;
-        String text = _symbols.findKnownSymbol(sid);
-
-        return new SymbolTokenImpl(text, sid);
+        return symbolToken(sid);
     }
 
     int getSymbolId()
@@ -431,7 +468,7 @@ class IonReaderBinarySystemX
             name = null;
         }
         else {
-            name = _symbols.findKnownSymbol(_value_field_id);
+            name = symbolToken(_value_field_id).getText();
             if (name == null) {
                 throw new UnknownSymbolException(_value_field_id);
             }
@@ -442,9 +479,7 @@ class IonReaderBinarySystemX
     public SymbolToken getFieldNameSymbol()
     {
         if (_value_field_id == SymbolTable.UNKNOWN_SYMBOL_ID) return null;
-        int sid = _value_field_id;
-        String text = _symbols.findKnownSymbol(sid);
-        return new SymbolTokenImpl(text, sid);
+        return symbolToken(_value_field_id);
     }
 
     public final Iterator<String> iterateTypeAnnotations()
@@ -463,7 +498,7 @@ class IonReaderBinarySystemX
         else {
             anns = new String[_annotation_count];
             for (int ii=0; ii<_annotation_count; ii++) {
-                anns[ii] = _symbols.findKnownSymbol(_annotation_ids[ii]);
+                anns[ii] = symbolToken(_annotation_ids[ii]).getText();
                 if (anns[ii] == null) {
                     throw new UnknownSymbolException(_annotation_ids[ii]);
                 }
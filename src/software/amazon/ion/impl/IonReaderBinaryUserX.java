@@ -18,18 +18,26 @@ import static software.amazon.ion.SystemSymbols.ION_1_0_SID;
 import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
 
 import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import software.amazon.ion.InputStreamStatistics;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonType;
 import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.ResettableReader;
 import software.amazon.ion.SeekableReader;
 import software.amazon.ion.Span;
 import software.amazon.ion.SpanProvider;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
+import software.amazon.ion.TextValueReader;
+import software.amazon.ion.TypeAnnotationReader;
 import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.impl.PrivateScalarConversions.AS_TYPE;
 import software.amazon.ion.impl.UnifiedInputStreamX.FromByteArray;
 import software.amazon.ion.impl.UnifiedSavePointManagerX.SavePoint;
+import software.amazon.ion.util.IonStreamUtils;
 
 final class IonReaderBinaryUserX
     extends IonReaderBinarySystemX
@@ -40,11 +48,28 @@ final class IonReaderBinaryUserX
      * It must be subtracted from the logical offsets exposed by
      * {@link OffsetSpan}s.
      */
-    private final int _physical_start_offset;
+    private int _physical_start_offset;
     private final PrivateLocalSymbolTableFactory _lstFactory;
 
     IonCatalog  _catalog;
 
+    /** The pool this reader returns to when closed, if it was acquired from one. */
+    IonReaderPool _pool;
+    private ResettableReaderFacet     _resettable;
+    private ListReaderFacet           _list_reader;
+    private TypeAnnotationReaderFacet _annotation_reader;
+
+    /**
+     * The bytes of the last local symbol table read from a byte array,
+     * which is reused when the same table (with the same imports) follows
+     * the same symbol table, as it does in a stream of similar messages.
+     */
+    private byte[]      _cached_symtab_bytes;
+    private int         _cached_symtab_len;
+    private SymbolTable _cached_symtab;
+    private int         _cached_symtab_max_id;
+    private SymbolTable _cached_symtab_previous;
+
     private static final class IonReaderBinarySpan
         extends DowncastingFaceted
         implements Span, OffsetSpan
@@ -75,6 +100,20 @@ final class IonReaderBinaryUserX
         _lstFactory = lstFactory;
     }
 
+    /**
+     * Makes a reader over data that is read with the given symbol table
+     * current, such as values following a local symbol table.
+     */
+    IonReaderBinaryUserX(IonCatalog catalog,
+                         PrivateLocalSymbolTableFactory lstFactory,
+                         UnifiedInputStreamX userBytes,
+                         int physicalStartOffset,
+                         SymbolTable symbols)
+    {
+        this(catalog, lstFactory, userBytes, physicalStartOffset);
+        _symbols = symbols;
+    }
+
     //FIXME: PERF_TEST was :private
     final void init_user(IonCatalog catalog)
     {
@@ -140,10 +179,23 @@ final class IonReaderBinaryUserX
 
         // TODO test that span is within the bounds of the input byte[]
 
+        reposition((int) (pos._offset + _physical_start_offset),
+                   (int) (pos._limit  + _physical_start_offset),
+                   pos._symbol_table);
+    }
+
+
+    /**
+     * Resets this reader to produce the values between the given physical
+     * offsets of its byte array input, at top-level, with the given symbol
+     * table current.
+     */
+    final void reposition(int offset, int limit, SymbolTable symbols)
+    {
         // manually reset the input specific type of input stream
         FromByteArray input = (FromByteArray)_input;
-        input._pos   = (int) (pos._offset + _physical_start_offset);
-        input._limit = (int) (pos._limit  + _physical_start_offset);
+        input._pos   = offset;
+        input._limit = limit;
 
         // TODO: these (eof and save points) should be put into
         //       a re-init method on the input stream
@@ -165,7 +217,20 @@ final class IonReaderBinaryUserX
         init_user(this._catalog);
 
         // now we need to set our symbol table
-        _symbols = pos._symbol_table;
+        _symbols = symbols;
+    }
+
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        super.close();
+        if (_pool != null) {
+            IonReaderPool pool = _pool;
+            _pool = null;
+            pool.release(this);
+        }
     }
 
 
@@ -217,7 +282,7 @@ final class IonReaderBinaryUserX
             else if (_value_tid == PrivateIonConstants.tidStruct) {
                 int count = load_annotations();
                 if (count > 0 && _annotation_ids[0] == ION_SYMBOL_TABLE_SID) {
-                    _symbols = _lstFactory.newLocalSymtab(_catalog, this, false);
+                    _symbols = load_local_symtab();
                     push_symbol_table(_symbols);
                     _has_next_needed = true;
                 }
@@ -228,6 +293,60 @@ final class IonReaderBinaryUserX
         }
     }
 
+    /**
+     * Reads the local symbol table the reader is positioned on, or reuses
+     * the one read last when its encoding, and the symbol table it was read
+     * after, are the same.  Its imports are only resolved again when the
+     * table is read again, and it's not reused if symbols have since been
+     * added to it.
+     * <p>
+     * Only readers that are {@link ResettableReader reset} to new data, as
+     * pooled readers are, are likely to see the same table again, so the
+     * others don't pay for keeping a copy of it to compare against.
+     */
+    private SymbolTable load_local_symtab() throws IOException
+    {
+        // only byte array readers are resettable
+        if (_resettable == null) {
+            return _lstFactory.newLocalSymtab(_catalog, this, false);
+        }
+
+        // the span of the value includes its annotation wrapper
+        byte[] bytes = _input._bytes;
+        int start = (int) _position_start;
+        int len = (int) _position_len;
+        if (_cached_symtab != null
+            && _cached_symtab_previous == _symbols
+            && _cached_symtab_max_id == _cached_symtab.getMaxId()
+            && _cached_symtab_len == len
+            && equal_bytes(_cached_symtab_bytes, bytes, start, len))
+        {
+            // skip over the struct, as reading it would have
+            _has_next_needed = true;
+            return _cached_symtab;
+        }
+
+        SymbolTable previous = _symbols;
+        SymbolTable symbols = _lstFactory.newLocalSymtab(_catalog, this, false);
+        if (_cached_symtab_bytes == null || _cached_symtab_bytes.length < len) {
+            _cached_symtab_bytes = new byte[len];
+        }
+        System.arraycopy(bytes, start, _cached_symtab_bytes, 0, len);
+        _cached_symtab_len = len;
+        _cached_symtab = symbols;
+        _cached_symtab_max_id = symbols.getMaxId();
+        _cached_symtab_previous = previous;
+        return symbols;
+    }
+
+    private static boolean equal_bytes(byte[] cached, byte[] bytes, int start, int len)
+    {
+        for (int i = 0; i < len; i++) {
+            if (cached[i] != bytes[start + i]) return false;
+        }
+        return true;
+    }
+
     private void validateSymbolToken(SymbolToken symbol) {
         if (symbol != null) {
             if (symbol.getText() == null && symbol.getSid() > getSymbolTable().getMaxId()) {
@@ -321,6 +440,45 @@ final class IonReaderBinaryUserX
             }
         }
 
+        if (facetType == TextValueReader.class)
+        {
+            return facetType.cast(new TextValueReaderFacet());
+        }
+
+        if (facetType == ResettableReader.class
+            && _input instanceof FromByteArray)
+        {
+            if (_resettable == null)
+            {
+                _resettable = new ResettableReaderFacetImpl();
+            }
+            return facetType.cast(_resettable);
+        }
+
+        if (facetType == TypeAnnotationReader.class)
+        {
+            if (_annotation_reader == null)
+            {
+                _annotation_reader = new TypeAnnotationReaderFacet();
+            }
+            return facetType.cast(_annotation_reader);
+        }
+
+        if (facetType == InputStreamStatistics.class
+            && _input instanceof InputStreamStatistics)
+        {
+            return facetType.cast(_input);
+        }
+
+        if (facetType == PrivateListReader.class)
+        {
+            if (_list_reader == null)
+            {
+                _list_reader = new ListReaderFacet();
+            }
+            return facetType.cast(_list_reader);
+        }
+
         if (facetType == PrivateByteTransferReader.class)
         {
             // This is a rather sketchy use of Facets, since the availability
@@ -368,6 +526,139 @@ final class IonReaderBinaryUserX
     }
 
 
+    private class ResettableReaderFacetImpl extends ResettableReaderFacet
+    {
+        public void reset(byte[] ionData, int offset, int length)
+        {
+            if (length != 0 && !IonStreamUtils.isIonBinary(ionData, offset, length))
+            {
+                throw new IllegalArgumentException("This reader can only be reset to binary Ion data");
+            }
+            ((FromByteArray) _input).reset(ionData, offset, length);
+            _physical_start_offset = offset;
+            _position_start = -1;
+            clear_system_value_stack();
+            reposition(offset, offset + length, SharedSymbolTable.getSystemSymbolTable(1));
+        }
+    }
+
+
+    private class TextValueReaderFacet implements TextValueReader
+    {
+        private byte[]     _viewed_bytes;
+        private ByteBuffer _byte_view;
+        private char[]     _viewed_chars;
+        private CharBuffer _char_view;
+
+        /**
+         * Returns true if the current value is a string whose bytes are
+         * still in the current page, so we can look at them in place.
+         */
+        private boolean isUnreadInPage()
+        {
+            if (! IonType.isText(_value_type)) throw new IllegalStateException();
+            return _value_type == IonType.STRING
+                && _state == State.S_BEFORE_VALUE
+                && isInCurrentPage(_value_len);
+        }
+
+        public ByteBuffer utf8TextValue()
+        {
+            if (isUnreadInPage()) {
+                if (_value_is_null) return null;
+                return byteView(_input._bytes, _input._pos, _value_len);
+            }
+
+            // the text has already been read, or lives in the symbol table
+            String text = stringValue();
+            if (text == null) return null;
+            byte[] utf8 = PrivateUtils.utf8(text);
+            return byteView(utf8, 0, utf8.length);
+        }
+
+        public CharSequence charSequenceValue()
+        {
+            if (isUnreadInPage()) {
+                if (_value_is_null) return null;
+                try {
+                    int len = decodeUTF8(_input._bytes, _input._pos, _value_len);
+                    return charView(_string_buffer, len);
+                }
+                catch (IOException e) {
+                    error(e);
+                }
+            }
+            return stringValue();
+        }
+
+        private ByteBuffer byteView(byte[] bytes, int offset, int len)
+        {
+            if (_viewed_bytes != bytes) {
+                _viewed_bytes = bytes;
+                _byte_view = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+            }
+            // the casts keep us binary compatible with the Java 8 signatures of these methods
+            ((Buffer) _byte_view).limit(offset + len);
+            ((Buffer) _byte_view).position(offset);
+            return _byte_view;
+        }
+
+        private CharBuffer charView(char[] chars, int len)
+        {
+            if (_viewed_chars != chars) {
+                _viewed_chars = chars;
+                _char_view = CharBuffer.wrap(chars).asReadOnlyBuffer();
+            }
+            ((Buffer) _char_view).clear();
+            ((Buffer) _char_view).limit(len);
+            return _char_view;
+        }
+    }
+
+
+    private class TypeAnnotationReaderFacet implements TypeAnnotationReader
+    {
+        public int getTypeAnnotationCount()
+        {
+            return load_annotations();
+        }
+
+        public int getTypeAnnotationSid(int index)
+        {
+            if (index < 0 || index >= load_annotations()) {
+                throw new IndexOutOfBoundsException();
+            }
+            return _annotation_ids[index];
+        }
+
+        public SymbolToken getTypeAnnotationSymbol(int index)
+        {
+            SymbolToken annotation = symbolToken(getTypeAnnotationSid(index));
+            validateSymbolToken(annotation);
+            return annotation;
+        }
+    }
+
+
+    private class ListReaderFacet implements PrivateListReader
+    {
+        public int readIntList(long[] values, int offset, int length)
+        {
+            return readIntsInPage(values, null, offset, length);
+        }
+
+        public int readIntList(int[] values, int offset, int length)
+        {
+            return readIntsInPage(null, values, offset, length);
+        }
+
+        public int readFloatList(double[] values, int offset, int length)
+        {
+            return readFloatsInPage(values, offset, length);
+        }
+    }
+
+
     private class ByteTransferReaderFacet implements PrivateByteTransferReader
     {
         public void transferCurrentValue(PrivateByteTransferSink sink)
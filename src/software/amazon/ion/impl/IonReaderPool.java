@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import static software.amazon.ion.util.IonStreamUtils.isIonBinary;
+
+import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.ResettableReader;
+import software.amazon.ion.system.SimpleCatalog;
+
+/**
+ * A pool of the readers of one thread, which are {@link ResettableReader#reset reset} to new data when acquired
+ * rather than built anew.
+ * <p>
+ * A pooled reader returns itself to its pool when closed.  The pool only keeps a few readers, for each catalog and
+ * kind of data, and when all of the suitable ones are in use a new reader is built, which is kept only if there's
+ * room for it.  Idle readers are reset to empty data, so that they don't hold on to their last message.
+ * <p>
+ * Instances are <b>not</b> thread-safe, which is why there's one per thread.
+ */
+/*package*/ final class IonReaderPool
+{
+    private static final int MAX_READERS = 8;
+
+    private static final ThreadLocal<IonReaderPool> POOLS = new ThreadLocal<IonReaderPool>()
+    {
+        @Override
+        protected IonReaderPool initialValue()
+        {
+            return new IonReaderPool();
+        }
+    };
+
+    /** Returns the pool of the calling thread. */
+    static IonReaderPool forCurrentThread()
+    {
+        return POOLS.get();
+    }
+
+    private final IonReader[]        _readers     = new IonReader[MAX_READERS];
+    private final ResettableReader[] _resettables = new ResettableReader[MAX_READERS];
+    private final IonCatalog[]       _catalogs    = new IonCatalog[MAX_READERS];
+    private final boolean[]          _binary      = new boolean[MAX_READERS];
+    private final boolean[]          _in_use      = new boolean[MAX_READERS];
+    private int                      _count;
+
+    private IonReaderPool()
+    {
+    }
+
+    /**
+     * Returns a reader over the given data, which must not be GZIPped.
+     *
+     * @param catalog may be null, in which case each new reader gets an
+     * empty catalog of its own.
+     */
+    IonReader acquire(IonCatalog catalog, byte[] bytes, int offset, int length)
+    {
+        boolean binary = isIonBinary(bytes, offset, length);
+        for (int i = 0; i < _count; i++)
+        {
+            if (!_in_use[i] && _binary[i] == binary && _catalogs[i] == catalog)
+            {
+                _resettables[i].reset(bytes, offset, length);
+                checkOut(i);
+                return _readers[i];
+            }
+        }
+
+        IonCatalog readerCatalog = catalog != null ? catalog : new SimpleCatalog();
+        IonReader reader = PrivateIonReaderFactory.makeReader(readerCatalog, bytes, offset, length);
+        if (_count < MAX_READERS)
+        {
+            int i = _count++;
+            _readers[i] = reader;
+            _resettables[i] = reader.asFacet(ResettableReader.class);
+            _catalogs[i] = catalog;
+            _binary[i] = binary;
+            checkOut(i);
+        }
+        return reader;
+    }
+
+    private void checkOut(int i)
+    {
+        _in_use[i] = true;
+        IonReader reader = _readers[i];
+        if (reader instanceof IonReaderBinaryUserX)
+        {
+            ((IonReaderBinaryUserX) reader)._pool = this;
+        }
+        else
+        {
+            ((IonReaderTextUserX) reader)._pool = this;
+        }
+    }
+
+    /** Called by a pooled reader when it's closed. */
+    void release(IonReader reader)
+    {
+        for (int i = 0; i < _count; i++)
+        {
+            if (_readers[i] == reader)
+            {
+                _resettables[i].reset(PrivateUtils.EMPTY_BYTE_ARRAY, 0, 0);
+                _in_use[i] = false;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import software.amazon.ion.Decimal;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.SymbolToken;
+import software.amazon.ion.Timestamp;
+
+/**
+ * An {@link IonReader} over another that passes over the fields of structs
+ * that are on none of a set of field paths, such as {@code order.total}.
+ * <p>
+ * The paths start at the fields of top-level structs.  The value at the end
+ * of a path is read in full, while the structs along it only show the fields
+ * that lead on to the end of some path.  Lists and sexps along a path are
+ * transparent: their elements are projected as the list or sexp itself is,
+ * and so are top-level values that aren't structs.
+ * <p>
+ * Over binary data the fields are matched on their symbol ids, which are
+ * resolved against each symbol table the first time they're seen, so the
+ * text of the fields that are passed over is never looked up.  The reader
+ * that's wrapped passes over their values by their length; a text reader
+ * passes over them as quickly as it can without them being materialized.
+ */
+final class IonReaderProjecting
+    implements IonReader
+{
+    /** The paths that share a prefix, in a tree of field names. */
+    private static final class Node
+    {
+        /** Null where a path ends, as the whole value is read. */
+        private Map<String, Node> _children = new HashMap<String, Node>();
+
+        /** The children by field symbol id, for {@link #_symbols}. */
+        private Node[]            _by_sid = new Node[0];
+        private SymbolTable       _symbols;
+
+        /**
+         * @return the child for the field, or {@link #NO_MATCH} if it isn't
+         * on any path.
+         */
+        Node child(String fieldName)
+        {
+            Node child = _children.get(fieldName);
+            return child == null ? NO_MATCH : child;
+        }
+
+        Node child(int sid, SymbolTable symbols)
+        {
+            if (symbols != _symbols) {
+                // symbol ids are only added to a table, so the children
+                // found in it stay valid until the table is replaced
+                _symbols = symbols;
+                Arrays.fill(_by_sid, UNRESOLVED);
+            }
+            if (sid < 0) {
+                return NO_MATCH;
+            }
+            if (sid >= _by_sid.length) {
+                int length = Math.max(sid + 1, _by_sid.length * 2);
+                int old = _by_sid.length;
+                _by_sid = Arrays.copyOf(_by_sid, length);
+                Arrays.fill(_by_sid, old, length, UNRESOLVED);
+            }
+            Node child = _by_sid[sid];
+            if (child == UNRESOLVED) {
+                child = child(symbols.findKnownSymbol(sid));
+                _by_sid[sid] = child;
+            }
+            return child;
+        }
+    }
+
+    private static final Node NO_MATCH   = new Node();
+    private static final Node UNRESOLVED = new Node();
+
+    private final IonReader            _reader;
+    /** The binary reader under {@link #_reader}, or null if it's not binary. */
+    private final IonReaderBinaryRawX  _binary;
+
+    /**
+     * The node projecting the fields of the containers that have been stepped
+     * into, with {@code _container_nodes[0]} projecting top-level structs.
+     */
+    private Node[]                     _container_nodes = new Node[8];
+    /** The node of the current value. */
+    private Node                       _value_node;
+
+    /**
+     * @param fieldPaths field names separated by {@code .}; a path ending
+     * where another continues reads that value in full.
+     *
+     * @throws IllegalArgumentException if a path has an empty field name.
+     */
+    IonReaderProjecting(IonReader reader, String[] fieldPaths)
+    {
+        _reader = reader;
+        _binary = reader instanceof IonReaderBinaryRawX
+            ? (IonReaderBinaryRawX) reader
+            : null;
+
+        Node root = new Node();
+        for (String path : fieldPaths) {
+            Node node = root;
+            for (String name : path.split("\\.", -1)) {
+                if (name.length() == 0) {
+                    throw new IllegalArgumentException("Invalid field path: " + path);
+                }
+                if (node._children == null) break; // a shorter path reads it all
+                Node child = node._children.get(name);
+                if (child == null) {
+                    child = new Node();
+                    node._children.put(name, child);
+                }
+                node = child;
+            }
+            node._children = null;
+        }
+        _container_nodes[0] = root;
+    }
+
+    public IonType next()
+    {
+        Node node = _container_nodes[_reader.getDepth()];
+        IonType t = _reader.next();
+        if (node._children == null || !_reader.isInStruct()) {
+            // sequences and top-level values are projected as a whole
+            _value_node = node;
+            return t;
+        }
+        while (t != null) {
+            Node child = (_binary != null)
+                ? node.child(_binary.getFieldId(), _reader.getSymbolTable())
+                : node.child(_reader.getFieldNameSymbol().getText());
+            if (child != NO_MATCH) {
+                _value_node = child;
+                return t;
+            }
+            t = _reader.next();
+        }
+        return null;
+    }
+
+    public void stepIn()
+    {
+        _reader.stepIn();
+        int depth = _reader.getDepth();
+        if (depth >= _container_nodes.length) {
+            _container_nodes = Arrays.copyOf(_container_nodes, depth * 2);
+        }
+        _container_nodes[depth] = _value_node;
+    }
+
+    public void stepOut()
+    {
+        _reader.stepOut();
+        _value_node = null;
+    }
+
+    public int getDepth()
+    {
+        return _reader.getDepth();
+    }
+
+    public SymbolTable getSymbolTable()
+    {
+        return _reader.getSymbolTable();
+    }
+
+    public IonType getType()
+    {
+        return _reader.getType();
+    }
+
+    public IntegerSize getIntegerSize()
+    {
+        return _reader.getIntegerSize();
+    }
+
+    public String[] getTypeAnnotations()
+    {
+        return _reader.getTypeAnnotations();
+    }
+
+    public SymbolToken[] getTypeAnnotationSymbols()
+    {
+        return _reader.getTypeAnnotationSymbols();
+    }
+
+    public Iterator<String> iterateTypeAnnotations()
+    {
+        return _reader.iterateTypeAnnotations();
+    }
+
+    public String getFieldName()
+    {
+        return _reader.getFieldName();
+    }
+
+    public SymbolToken getFieldNameSymbol()
+    {
+        return _reader.getFieldNameSymbol();
+    }
+
+    public boolean isNullValue()
+    {
+        return _reader.isNullValue();
+    }
+
+    public boolean isInStruct()
+    {
+        return _reader.isInStruct();
+    }
+
+    public boolean booleanValue()
+    {
+        return _reader.booleanValue();
+    }
+
+    public int intValue()
+    {
+        return _reader.intValue();
+    }
+
+    public long longValue()
+    {
+        return _reader.longValue();
+    }
+
+    public BigInteger bigIntegerValue()
+    {
+        return _reader.bigIntegerValue();
+    }
+
+    public double doubleValue()
+    {
+        return _reader.doubleValue();
+    }
+
+    public BigDecimal bigDecimalValue()
+    {
+        return _reader.bigDecimalValue();
+    }
+
+    public Decimal decimalValue()
+    {
+        return _reader.decimalValue();
+    }
+
+    public Date dateValue()
+    {
+        return _reader.dateValue();
+    }
+
+    public Timestamp timestampValue()
+    {
+        return _reader.timestampValue();
+    }
+
+    public String stringValue()
+    {
+        return _reader.stringValue();
+    }
+
+    public SymbolToken symbolValue()
+    {
+        return _reader.symbolValue();
+    }
+
+    public int byteSize()
+    {
+        return _reader.byteSize();
+    }
+
+    public byte[] newBytes()
+    {
+        return _reader.newBytes();
+    }
+
+    public int getBytes(byte[] buffer, int offset, int len)
+    {
+        return _reader.getBytes(buffer, offset, len);
+    }
+
+    /**
+     * @return This implementation always returns null, since the facets of
+     * the wrapped reader, such as seeking, don't know about the projection.
+     */
+    public <T> T asFacet(Class<T> facetType)
+    {
+        return null;
+    }
+
+    public void close() throws IOException
+    {
+        _reader.close();
+    }
+}
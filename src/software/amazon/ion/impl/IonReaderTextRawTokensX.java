@@ -106,6 +106,9 @@ final class IonReaderTextRawTokensX
      */
     private int                 _base64_prefetch_stack;
 
+    /** The characters decoded by load_quoted_chars_in_page, before they're appended. */
+    private final char[]        _chars = new char[256];
+
 
     /**
      * IonTokenReader constructor requires a UnifiedInputStream
@@ -235,6 +238,159 @@ final class IonReaderTextRawTokensX
         }
     }
 
+    //
+    //  byte routines that scan the current page of UTF-8 input in
+    //  place.  Everything the tokenizer looks for is ASCII, so runs
+    //  of ordinary bytes can be passed over (or, for values that are
+    //  being loaded, decoded) without going through read_char() one
+    //  character at a time.  Each stops at the end of the page (or
+    //  of the active save point) and at any byte that needs the
+    //  character routines above, such as line ends and escapes, and
+    //  leaves those to them.
+    //
+
+    /**
+     * Skips the bytes in the current page of a container being skipped
+     * that can't start or end anything nested in it, counting the line
+     * feeds as {@link #line_count(int)} would.  Container contents aren't
+     * validated when they're skipped, so only the nesting, the strings
+     * and the comments need the character routines.
+     */
+    private final void skip_container_bytes_in_page()
+    {
+        UnifiedInputStreamX stream = _stream;
+        if (!stream._is_byte_data) return;
+        byte[] bytes = stream._bytes;
+        int pos = stream._pos;
+        int limit = stream._limit;
+        while (pos < limit) {
+            int b = bytes[pos];
+            if (IonTokenConstsX.isContainerSkipStopByte(b)) {
+                if (b != '\n') break;
+                stream._pos = pos + 1;
+                _line_count_cached = _line_count;
+                _line_offset_cached = _line_starting_position;
+                _line_count_has_cached = true;
+                _line_count++;
+                _line_starting_position = stream.getPosition() - 1;
+            }
+            pos++;
+        }
+        stream._pos = pos;
+    }
+
+    /**
+     * Skips the bytes in the current page of a quoted string or symbol
+     * that can't end it, escape anything or end a line.
+     */
+    private final void skip_quoted_bytes_in_page(int quote)
+    {
+        UnifiedInputStreamX stream = _stream;
+        if (!stream._is_byte_data) return;
+        byte[] bytes = stream._bytes;
+        int pos = stream._pos;
+        int limit = stream._limit;
+        while (pos < limit) {
+            int b = bytes[pos];
+            if (b == quote || b == '\\' || b == '\n' || b == '\r') break;
+            pos++;
+        }
+        stream._pos = pos;
+    }
+
+    /**
+     * Appends the characters of a symbol identifier in the current page,
+     * which are all ASCII.
+     */
+    private final void load_symbol_identifier_in_page(StringBuilder sb)
+    {
+        UnifiedInputStreamX stream = _stream;
+        if (!stream._is_byte_data) return;
+        byte[] bytes = stream._bytes;
+        int pos = stream._pos;
+        int limit = stream._limit;
+        while (pos < limit) {
+            int b = bytes[pos];
+            if (b < 0 || !IonTokenConstsX.isValidSymbolCharacter(b)) break;
+            sb.append((char)b);
+            pos++;
+        }
+        stream._pos = pos;
+    }
+
+    /**
+     * Skips the characters of a symbol identifier in the current page.
+     */
+    private final void skip_symbol_identifier_in_page()
+    {
+        UnifiedInputStreamX stream = _stream;
+        if (!stream._is_byte_data) return;
+        byte[] bytes = stream._bytes;
+        int pos = stream._pos;
+        int limit = stream._limit;
+        while (pos < limit) {
+            int b = bytes[pos];
+            if (b < 0 || !IonTokenConstsX.isValidSymbolCharacter(b)) break;
+            pos++;
+        }
+        stream._pos = pos;
+    }
+
+    /**
+     * Decodes the characters of a quoted string or symbol in the current
+     * page, up to its closing quote, an escape, a control character or a
+     * UTF-8 sequence that's malformed or runs off the end of the page.
+     */
+    private final void load_quoted_chars_in_page(StringBuilder sb, int quote)
+    {
+        UnifiedInputStreamX stream = _stream;
+        if (!stream._is_byte_data) return;
+        byte[] bytes = stream._bytes;
+        int pos = stream._pos;
+        int limit = stream._limit;
+        char[] chars = _chars;
+        int count = 0;
+        while (pos < limit) {
+            if (count > chars.length - 2) {
+                // room for a surrogate pair
+                sb.append(chars, 0, count);
+                count = 0;
+            }
+            int b = bytes[pos];
+            if (b >= 0) {
+                if (b < 0x20 || b == quote || b == '\\') break;
+                chars[count++] = (char)b;
+                pos++;
+                continue;
+            }
+            int len = IonUTF8.getUTF8LengthFromFirstByte(b);
+            if (len < 2 || pos + len > limit) break;
+            int b2 = bytes[pos + 1];
+            if ((b2 & 0xc0) != 0x80) break;
+            if (len == 2) {
+                chars[count++] = IonUTF8.twoByteScalar(b, b2);
+            }
+            else {
+                int b3 = bytes[pos + 2];
+                if ((b3 & 0xc0) != 0x80) break;
+                if (len == 3) {
+                    chars[count++] = (char)IonUTF8.threeByteScalar(b, b2, b3);
+                }
+                else {
+                    int b4 = bytes[pos + 3];
+                    if ((b4 & 0xc0) != 0x80) break;
+                    int c = IonUTF8.fourByteScalar(b, b2, b3, b4);
+                    if (c > Character.MAX_CODE_POINT) break;
+                    chars[count++] = IonUTF8.highSurrogate(c);
+                    chars[count++] = IonUTF8.lowSurrogate(c);
+                }
+            }
+            pos += len;
+        }
+        sb.append(chars, 0, count);
+        stream._pos = pos;
+    }
+
     private final int line_count_unread(int c) {
         assert( c == CharacterSequence.CHAR_SEQ_NEWLINE_SEQUENCE_1
              || c == CharacterSequence.CHAR_SEQ_NEWLINE_SEQUENCE_2
@@ -877,6 +1033,23 @@ final class IonReaderTextRawTokensX
         boolean any_whitespace = false;
         int c;
 
+        // the structural characters, and the first character of every
+        // other token, are above the space; peeking at the next one in
+        // the page saves reading and unreading it when there's nothing
+        // to skip, which is most of the time in compact text.  This is
+        // only an early out: a loop over blanks in the page, or a word
+        // at a time index of the page's structural characters, costs
+        // more than it saves on the short runs of indentation in real
+        // text.  Anything else, including a page end, takes the loop.
+        UnifiedInputStreamX stream = _stream;
+        int pos = stream._pos;
+        if (pos < stream._limit) {
+            c = stream._is_byte_data ? stream._bytes[pos] : stream._chars[pos];
+            if (c > ' ' && c != '/') {
+                return false;
+            }
+        }
+
         loop: for (;;) {
             c = read_char();
             switch (c) {
@@ -1211,6 +1384,7 @@ final class IonReaderTextRawTokensX
         int c;
 
         for (;;) {
+            skip_container_bytes_in_page();
             c = skip_over_whitespace();
             switch (c) {
             case -1:
@@ -1838,6 +2012,7 @@ final class IonReaderTextRawTokensX
 
     private final int skip_over_symbol_identifier(SavePoint sp) throws IOException
     {
+        skip_symbol_identifier_in_page();
         int c = read_char();
 
         while(IonTokenConstsX.isValidSymbolCharacter(c)) {
@@ -1852,6 +2027,7 @@ final class IonReaderTextRawTokensX
 
     protected void load_symbol_identifier(StringBuilder sb) throws IOException
     {
+        load_symbol_identifier_in_page(sb);
         int c = read_char();
         while(IonTokenConstsX.isValidSymbolCharacter(c)) {
             sb.append((char)c);
@@ -1916,6 +2092,7 @@ final class IonReaderTextRawTokensX
         // quoted symbol
 
         for (;;) {
+            skip_quoted_bytes_in_page('\'');
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case -1: unexpected_eof();
@@ -1937,6 +2114,9 @@ final class IonReaderTextRawTokensX
         int c;
 
         for (;;) {
+            if (!is_clob) {
+                load_quoted_chars_in_page(sb, '\'');
+            }
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_1:
@@ -1988,6 +2168,7 @@ final class IonReaderTextRawTokensX
     {
         int c;
         for (;;) {
+            skip_quoted_bytes_in_page('"');
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case -1:
@@ -2012,6 +2193,9 @@ final class IonReaderTextRawTokensX
         int c;
 
         for (;;) {
+            if (!is_clob) {
+                load_quoted_chars_in_page(sb, '"');
+            }
             c = read_string_char(ProhibitedCharacters.SHORT_CHAR);
             switch (c) {
             case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_1:
@@ -2098,6 +2282,7 @@ final class IonReaderTextRawTokensX
         // starts AFTER the 3 quotes have been consumed
         int c;
         for (;;) {
+            skip_quoted_bytes_in_page('\'');
             c = read_char();
             switch (c) {
             case -1:
@@ -2134,6 +2319,9 @@ final class IonReaderTextRawTokensX
         int c;
 
         for (;;) {
+            if (!is_clob) {
+                load_quoted_chars_in_page(sb, '\'');
+            }
             c = read_triple_quoted_char(is_clob);
             switch(c) {
             case CharacterSequence.CHAR_SEQ_STRING_TERMINATOR:
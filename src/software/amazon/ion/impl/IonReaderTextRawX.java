@@ -328,10 +328,16 @@ abstract class IonReaderTextRawX
     ) {
 
         assert(parent != null);
+        if (_scanner != null && _scanner.getSourceStream() == iis) {
+            // the stream has been reset, so keep using its save point
+            _current_value_save_point.clear();
+        }
+        else {
+            _current_value_save_point = iis.savePointAllocate();
+        }
         _scanner = new IonReaderTextRawTokensX(iis, start_line, start_column);
         _value_start_line = start_line;
         _value_start_column = start_column;
-        _current_value_save_point = iis.savePointAllocate();
         _lob_loaded = LOB_STATE.EMPTY;
         int starting_state = get_state_at_container_start(parent);
         set_state(starting_state);
@@ -372,6 +378,18 @@ abstract class IonReaderTextRawX
         }
     }
 
+    /**
+     * Resets this reader to the start of its input, once that has been
+     * reset to new data, keeping the buffers it has allocated.
+     */
+    protected final void re_init_input(UnifiedInputStreamX iis)
+    {
+        // the contents of a value that wasn't loaded may still be buffered
+        _current_value_buffer.setLength(0);
+        re_init(iis, IonType.DATAGRAM, 1, 1);
+        _nesting_parent = null;
+    }
+
     public void close()
         throws IOException
     {
@@ -202,6 +202,178 @@ class IonReaderTextSystemX
         }
     }
 
+    /** Exact powers of ten, up to the largest a double holds exactly. */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,
+        1e8,  1e9,  1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+        1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /** The largest mantissa a double holds exactly. */
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+    /** Any 18 decimal digits fit in a long. */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    // the pieces of the number scanned by scan_decimal_number()
+    private boolean _number_negative;
+    private long    _number_mantissa;
+    private int     _number_exponent;
+
+    /**
+     * Scans a decimal int, decimal or float image in the value buffer,
+     * splitting it into {@link #_number_mantissa} (the magnitude of its
+     * digits) and {@link #_number_exponent} (the power of ten they're
+     * scaled by).
+     *
+     * @return false if the mantissa has more significant digits than a long
+     * is sure to hold, or the image isn't in the form the scanner loads, in
+     * which case the caller falls back to parsing the image as a String.
+     */
+    private final boolean scan_decimal_number(StringBuilder cs)
+    {
+        int len = cs.length();
+        int ii = 0;
+        boolean negative = false;
+        if (len > 0 && (cs.charAt(0) == '-' || cs.charAt(0) == '+')) {
+            negative = (cs.charAt(0) == '-');
+            ii++;
+        }
+
+        long mantissa = 0;
+        int  digits = 0;      // significant digits, after any leading zeros
+        int  fraction = -1;   // digits after the decimal point, if any
+        int  start = ii;
+        int  c = 0;
+        for (; ii < len; ii++) {
+            c = cs.charAt(ii);
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    if (++digits > MAX_LONG_DIGITS) return false;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (fraction >= 0) fraction++;
+            }
+            else if (c == '.' && fraction < 0) {
+                fraction = 0;
+            }
+            else {
+                break;
+            }
+        }
+        if (ii == start || (ii == start + 1 && fraction == 0)) {
+            // no digits
+            return false;
+        }
+
+        int exponent = 0;
+        if (ii < len) {
+            if (c != 'e' && c != 'E') return false;
+            ii++;
+            boolean negative_exponent = false;
+            if (ii < len && (cs.charAt(ii) == '-' || cs.charAt(ii) == '+')) {
+                negative_exponent = (cs.charAt(ii) == '-');
+                ii++;
+            }
+            // nine digits can't overflow an int, even less the fraction
+            int exponent_end = ii + 9;
+            if (ii == len || len > exponent_end) return false;
+            for (; ii < len; ii++) {
+                c = cs.charAt(ii);
+                if (c < '0' || c > '9') return false;
+                exponent = exponent * 10 + (c - '0');
+            }
+            if (negative_exponent) exponent = -exponent;
+        }
+
+        _number_negative = negative;
+        _number_mantissa = mantissa;
+        _number_exponent = (fraction > 0) ? exponent - fraction : exponent;
+        return true;
+    }
+
+    /**
+     * Sets the value of a decimal int, decimal or float straight from the
+     * value buffer when it's small enough to be computed exactly, saving
+     * the String image and its second parse.
+     *
+     * @return false if the value has to take the general path.
+     */
+    private final boolean load_number_in_place(StringBuilder cs, int token_type)
+    {
+        IonType type;
+        switch (token_type) {
+        case IonTokenConstsX.TOKEN_UNKNOWN_NUMERIC:
+            type = _value_type;
+            break;
+        case IonTokenConstsX.TOKEN_INT:
+            type = IonType.INT;
+            break;
+        case IonTokenConstsX.TOKEN_DECIMAL:
+            type = IonType.DECIMAL;
+            break;
+        case IonTokenConstsX.TOKEN_FLOAT:
+            type = IonType.FLOAT;
+            break;
+        default:
+            return false;
+        }
+
+        switch (type) {
+        case INT:
+        {
+            if (!scan_decimal_number(cs) || _number_exponent != 0) return false;
+            long value = _number_negative ? -_number_mantissa : _number_mantissa;
+            clear_current_value_buffer();
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                _v.setValue((int) value);
+            }
+            else {
+                _v.setValue(value);
+            }
+            return true;
+        }
+        case DECIMAL:
+        {
+            // the exponent marker was changed from d to e above
+            if (!scan_decimal_number(cs)) return false;
+            int scale = -_number_exponent;
+            Decimal value;
+            if (_number_mantissa == 0 && _number_negative) {
+                value = Decimal.negativeZero(scale);
+            }
+            else {
+                long unscaled = _number_negative ? -_number_mantissa : _number_mantissa;
+                value = Decimal.valueOf(BigInteger.valueOf(unscaled), scale);
+            }
+            clear_current_value_buffer();
+            _v.setValue(value);
+            return true;
+        }
+        case FLOAT:
+        {
+            // a mantissa and power of ten that are both exact as doubles
+            // give a correctly rounded result with one multiply or divide
+            if (!scan_decimal_number(cs)
+                || _number_mantissa > MAX_EXACT_DOUBLE_MANTISSA
+                || _number_exponent < -(DOUBLE_POWERS_OF_TEN.length - 1)
+                || _number_exponent > DOUBLE_POWERS_OF_TEN.length - 1) {
+                return false;
+            }
+            double value = _number_mantissa;
+            if (_number_exponent < 0) {
+                value /= DOUBLE_POWERS_OF_TEN[-_number_exponent];
+            }
+            else {
+                value *= DOUBLE_POWERS_OF_TEN[_number_exponent];
+            }
+            clear_current_value_buffer();
+            _v.setValue(_number_negative ? -value : value);
+            return true;
+        }
+        default:
+            return false;
+        }
+    }
+
     private final void load_scalar_value() throws IOException {
         // make sure we're trying to load a scalar value here
         switch(_value_type) {
@@ -248,6 +420,22 @@ class IonReaderTextSystemX
             cs.deleteCharAt(pos);
         }
 
+        if (load_number_in_place(cs, token_type)) {
+            return;
+        }
+        if (token_type == IonTokenConstsX.TOKEN_TIMESTAMP) {
+            // the value buffer is parsed as it is, without a String image
+            Timestamp t = null;
+            try {
+                t = Timestamp.valueOf(cs);
+            }
+            catch (IllegalArgumentException e) {
+                parse_error(e);
+            }
+            clear_current_value_buffer();
+            _v.setValue(t);
+            return;
+        }
 
         int          len = cs.length();
         String       s  = cs.toString();
@@ -347,16 +535,6 @@ class IonReaderTextSystemX
                 parse_error(e);
             }
 
-            break;
-        case IonTokenConstsX.TOKEN_TIMESTAMP:
-            Timestamp t = null;
-            try {
-                t = Timestamp.valueOf(s);
-            }
-            catch (IllegalArgumentException e) {
-                parse_error(e);
-            }
-            _v.setValue(t);
             break;
         case IonTokenConstsX.TOKEN_SYMBOL_IDENTIFIER:
             // this includes the various value keywords like true
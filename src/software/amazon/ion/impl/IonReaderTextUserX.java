@@ -17,10 +17,13 @@ package software.amazon.ion.impl;
 import static software.amazon.ion.SystemSymbols.ION_1_0;
 import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
 
+import java.io.IOException;
 import java.util.regex.Pattern;
+import software.amazon.ion.InputStreamStatistics;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonType;
 import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.ResettableReader;
 import software.amazon.ion.SeekableReader;
 import software.amazon.ion.Span;
 import software.amazon.ion.SpanProvider;
@@ -29,6 +32,8 @@ import software.amazon.ion.SymbolToken;
 import software.amazon.ion.TextSpan;
 import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.UnsupportedIonVersionException;
+import software.amazon.ion.impl.UnifiedInputStreamX.FromByteArray;
+import software.amazon.ion.util.IonStreamUtils;
 
 /**
  *    The text user reader add support for symbols and recognizes,
@@ -61,13 +66,17 @@ class IonReaderTextUserX
      * It must be subtracted from the logical offsets exposed by
      * {@link OffsetSpan}s.
      */
-    private final int _physical_start_offset;
+    private int _physical_start_offset;
     private final PrivateLocalSymbolTableFactory _lstFactory;
 
     // IonSystem   _system; now in IonReaderTextSystemX where it could be null
     IonCatalog  _catalog;
     SymbolTable _symbols;
 
+    /** The pool this reader returns to when closed, if it was acquired from one. */
+    IonReaderPool _pool;
+    private ResettableReaderFacet _resettable;
+
 
     protected IonReaderTextUserX(IonCatalog catalog,
                                  PrivateLocalSymbolTableFactory lstFactory,
@@ -215,6 +224,18 @@ class IonReaderTextUserX
         return _symbols;
     }
 
+    @Override
+    public void close()
+        throws IOException
+    {
+        super.close();
+        if (_pool != null) {
+            IonReaderPool pool = _pool;
+            _pool = null;
+            pool.release(this);
+        }
+    }
+
 
     //
     //  This code handles the skipped symbol table
@@ -405,10 +426,44 @@ class IonReaderTextUserX
             return facetType.cast(new SeekableReaderFacet());
         }
 
+        if (facetType == ResettableReader.class
+            && _scanner.getSourceStream() instanceof FromByteArray)
+        {
+            if (_resettable == null)
+            {
+                _resettable = new ResettableReaderFacetImpl();
+            }
+            return facetType.cast(_resettable);
+        }
+
+        if (facetType == InputStreamStatistics.class
+            && _scanner.getSourceStream() instanceof InputStreamStatistics)
+        {
+            return facetType.cast(_scanner.getSourceStream());
+        }
+
         return super.asFacet(facetType);
     }
 
 
+    private class ResettableReaderFacetImpl extends ResettableReaderFacet
+    {
+        public void reset(byte[] ionData, int offset, int length)
+        {
+            if (IonStreamUtils.isIonBinary(ionData, offset, length))
+            {
+                throw new IllegalArgumentException("This reader can only be reset to Ion text data");
+            }
+            FromByteArray iis = (FromByteArray) _scanner.getSourceStream();
+            iis.reset(ionData, offset, length);
+            _physical_start_offset = offset;
+            re_init_input(iis);
+            clear_system_value_stack();
+            _symbols = _system_symtab;
+        }
+    }
+
+
     private class SpanProviderFacet
         implements SpanProvider
     {
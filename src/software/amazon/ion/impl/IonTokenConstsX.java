@@ -504,6 +504,35 @@ final class IonTokenConstsX
         return (isValidStartSymbolCharacter[c & 0xff] && is8bitValue(c));
     }
 
+    private static final boolean isContainerSkipStopByte[] = makeIsContainerSkipStopByteArray();
+    private static final boolean [] makeIsContainerSkipStopByteArray() {
+        boolean [] values = new boolean [256];
+
+        values['{'] = true;
+        values['}'] = true;
+        values['['] = true;
+        values[']'] = true;
+        values['('] = true;
+        values[')'] = true;
+        values['"'] = true;
+        values['\''] = true;
+        values['/'] = true;
+        values['\n'] = true;
+        values['\r'] = true;
+
+        return values;
+    }
+    /**
+     * Whether skipping over the UTF-8 bytes of a container has to look at
+     * {@code b}: it may open or close a nested container, a string, a
+     * quoted symbol or a comment, or it ends a line.  Nothing else needs
+     * more than passing over.
+     */
+    public final static boolean isContainerSkipStopByte(int b)
+    {
+        return isContainerSkipStopByte[b & 0xff];
+    }
+
     public static int decodeSid(CharSequence sidToken)
     {
         assert sidToken.charAt(0) == '$';
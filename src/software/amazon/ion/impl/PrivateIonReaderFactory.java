@@ -22,12 +22,20 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.zip.GZIPInputStream;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonException;
+import software.amazon.ion.IonIncrementalReader;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonSystem;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.system.SimpleCatalog;
 import software.amazon.ion.util.IonStreamUtils;
 
 /**
@@ -36,6 +44,18 @@ import software.amazon.ion.util.IonStreamUtils;
 @Deprecated
 public final class PrivateIonReaderFactory
 {
+    /**
+     * The size of the regions of a file mapped by {@link #makeReader(IonCatalog, Path)}, as a single
+     * mapping cannot exceed {@link Integer#MAX_VALUE} bytes.
+     */
+    private static final long MAX_MAPPING_SIZE = 1L << 30;
+
+    /** The size of the first page that an {@link InputStream} is read into. */
+    public static final int DEFAULT_PAGE_SIZE = UnifiedInputStreamX.DEFAULT_PAGE_SIZE;
+
+    /** The size that the pages an {@link InputStream} is read into can grow to. */
+    public static final int DEFAULT_MAX_PAGE_SIZE = UnifiedInputStreamX.DEFAULT_MAX_PAGE_SIZE;
+
     public static final IonReader makeReader(IonCatalog catalog,
                                              byte[] bytes)
     {
@@ -192,6 +212,25 @@ public final class PrivateIonReaderFactory
         }
     }
 
+    /**
+     * Makes a reader over the given stream that reads it into pages of
+     * {@code pageSize} bytes at first, doubling their size each time the
+     * stream fills one, up to {@code maxPageSize} bytes.
+     */
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             InputStream is,
+                                             int pageSize,
+                                             int maxPageSize)
+    {
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(is, pageSize, maxPageSize);
+            return makeReader(catalog, uis, 0, LocalSymbolTable.DEFAULT_LST_FACTORY);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
     public static IonReader makeSystemReader(InputStream is)
     {
         try {
@@ -234,12 +273,86 @@ public final class PrivateIonReaderFactory
     }
 
 
+    /**
+     * Makes a reader over the remaining bytes of the given buffers, in order.
+     * A single buffer backed by an accessible array is read in place, like a
+     * byte array; others are copied a page at a time.
+     */
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             ByteBuffer... buffers)
+    {
+        try {
+            if (buffers.length == 1 && buffers[0].hasArray()) {
+                ByteBuffer buffer = buffers[0];
+                int offset = buffer.arrayOffset() + buffer.position();
+                UnifiedInputStreamX uis =
+                    makeUnifiedStream(buffer.array(), offset, buffer.remaining());
+                return makeReader(catalog, uis, offset, LocalSymbolTable.DEFAULT_LST_FACTORY);
+            }
+            UnifiedInputStreamX uis = makeUnifiedStream(buffers);
+            return makeReader(catalog, uis, 0, LocalSymbolTable.DEFAULT_LST_FACTORY);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    /**
+     * Makes a reader over the given file, which is memory-mapped rather than
+     * read through a stream.
+     */
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             Path path)
+    {
+        try {
+            return makeReader(catalog, mapFile(path));
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
     public static final IonReader makeReader(IonCatalog catalog,
                                              IonValue value)
     {
         return new IonReaderTreeUserX(value, catalog, LocalSymbolTable.DEFAULT_LST_FACTORY);
     }
 
+    public static final IonIncrementalReader makeIncrementalReader(IonCatalog catalog)
+    {
+        return new IonReaderBinaryIncremental(catalog, LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    /**
+     * @param catalog may be null, in which case each new reader gets an
+     * empty catalog of its own.
+     */
+    public static final IonReader makePooledReader(IonCatalog catalog,
+                                                   byte[] bytes,
+                                                   int offset,
+                                                   int length)
+    {
+        if (IonStreamUtils.isGzip(bytes, offset, length))
+        {
+            IonCatalog readerCatalog = catalog != null ? catalog : new SimpleCatalog();
+            return makeReader(readerCatalog, bytes, offset, length);
+        }
+        return IonReaderPool.forCurrentThread().acquire(catalog, bytes, offset, length);
+    }
+
+    /**
+     * Wraps a reader so that it only shows the fields of structs along the
+     * given paths, see {@link IonReaderProjecting}.
+     *
+     * @param fieldPaths field names separated by {@code .}, starting at the
+     * fields of top-level structs.
+     */
+    public static final IonReader makeProjectingReader(IonReader reader,
+                                                       String... fieldPaths)
+    {
+        return new IonReaderProjecting(reader, fieldPaths);
+    }
+
     public static final IonReader makeSystemReader(IonSystem system,
                                                    IonValue value)
     {
@@ -310,14 +423,100 @@ public final class PrivateIonReaderFactory
         return uis;
     }
 
+    private static UnifiedInputStreamX makeUnifiedStream(ByteBuffer[] buffers)
+        throws IOException
+    {
+        // peek at the header without disturbing the buffers
+        byte[] header = new byte[BINARY_VERSION_MARKER_SIZE];
+        int len = 0;
+        for (ByteBuffer buffer : buffers) {
+            for (int i = buffer.position(); i < buffer.limit() && len < header.length; i++) {
+                header[len++] = buffer.get(i);
+            }
+        }
+
+        InputStream in = new ByteBufferInputStream(buffers);
+        if (IonStreamUtils.isGzip(header, 0, len))
+        {
+            in = new GZIPInputStream(in);
+        }
+        return UnifiedInputStreamX.makeStream(in);
+    }
+
+    /**
+     * Makes a binary reader over the remaining bytes of the given buffers,
+     * which hold top-level values (and system values) but not necessarily an
+     * Ion version marker, starting with the given symbol table current.
+     * A single buffer backed by an accessible array is read in place.
+     */
+    public static final IonReader makeBinaryReader(IonCatalog catalog,
+                                                   SymbolTable symbols,
+                                                   ByteBuffer... buffers)
+    {
+        UnifiedInputStreamX uis;
+        int offset = 0;
+        if (buffers.length == 1 && buffers[0].hasArray()) {
+            ByteBuffer buffer = buffers[0];
+            offset = buffer.arrayOffset() + buffer.position();
+            uis = makeStream(buffer.array(), offset, buffer.remaining());
+        }
+        else {
+            try {
+                uis = makeStream(new ByteBufferInputStream(buffers));
+            }
+            catch (IOException e) {
+                throw new IonException(e);
+            }
+        }
+        return new IonReaderBinaryUserX(catalog,
+                                        LocalSymbolTable.DEFAULT_LST_FACTORY,
+                                        uis,
+                                        offset,
+                                        symbols);
+    }
+
+    /**
+     * Maps the given file in as many regions as its size requires. All of the
+     * regions but the last are the same size.
+     */
+    public static ByteBuffer[] mapFile(Path path)
+        throws IOException
+    {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            int count = (int) ((size + MAX_MAPPING_SIZE - 1) / MAX_MAPPING_SIZE);
+            ByteBuffer[] mappings = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long position = i * MAX_MAPPING_SIZE;
+                mappings[i] = channel.map(MapMode.READ_ONLY,
+                                          position,
+                                          Math.min(MAX_MAPPING_SIZE, size - position));
+            }
+            return mappings;
+        }
+        finally {
+            // the mappings remain valid once the channel is closed
+            channel.close();
+        }
+    }
+
     private static UnifiedInputStreamX makeUnifiedStream(InputStream in)
         throws IOException
+    {
+        return makeUnifiedStream(in, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGE_SIZE);
+    }
+
+    private static UnifiedInputStreamX makeUnifiedStream(InputStream in,
+                                                         int pageSize,
+                                                         int maxPageSize)
+        throws IOException
     {
         in.getClass(); // Force NPE
 
         // TODO avoid multiple wrapping streams, use the UIS for the pushback
         in = IonStreamUtils.unGzip(in);
-        UnifiedInputStreamX uis = UnifiedInputStreamX.makeStream(in);
+        UnifiedInputStreamX uis = UnifiedInputStreamX.makeStream(in, pageSize, maxPageSize);
         return uis;
     }
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.IOException;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+
+/**
+ * An {@link IonWriter} that can encode a whole {@link IonValue} tree itself, rather than being driven value by value
+ * through {@link IonValue#writeTo(IonWriter)}.  The typical usage is a binary writer that measures the tree before
+ * writing it.
+ *
+ * @deprecated This is an internal API that is subject to change without notice.
+ */
+@Deprecated
+public interface PrivateIonValueSink
+{
+    /**
+     * Writes the given value, including its field name and annotations, if the sink supports it.
+     *
+     * @param value     The value to write.
+     *
+     * @return true if the value was written, false if the caller needs to write it through the {@link IonWriter} API.
+     */
+    public boolean writeValueTree(IonValue value) throws IOException;
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import software.amazon.ion.IonReader;
+
+/**
+ * An {@link IonReader} {@linkplain software.amazon.ion.facet facet} that can
+ * decode runs of ints or floats in a list or sexp without going through
+ * {@link IonReader#next()} for each of them.
+ * <p>
+ * Each method decodes the values that {@code next()} would move to, starting
+ * after the current value, for as long as they are non-null, unannotated and
+ * of the requested type, and can be read in place.  It stops before anything
+ * else, which is left for {@code next()}, so it may decode fewer values than
+ * requested, or none, before the end of the sequence.  Afterwards there is
+ * no current value.
+ *
+ * @deprecated This is an internal API that is subject to change without notice.
+ * @see software.amazon.ion.util.IonStreamUtils#readIntList(IonReader, long[], int, int)
+ */
+@Deprecated
+public interface PrivateListReader
+{
+    /**
+     * @return the number of ints decoded into {@code values}, starting at
+     * {@code offset}.
+     */
+    public int readIntList(long[] values, int offset, int length);
+
+    /**
+     * Decodes ints that fit in a Java int.
+     *
+     * @return the number of ints decoded into {@code values}, starting at
+     * {@code offset}.
+     */
+    public int readIntList(int[] values, int offset, int length);
+
+    /**
+     * @return the number of floats decoded into {@code values}, starting at
+     * {@code offset}.
+     */
+    public int readFloatList(double[] values, int offset, int length);
+}
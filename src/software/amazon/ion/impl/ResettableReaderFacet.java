@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import software.amazon.ion.ResettableReader;
+
+/**
+ * Implements {@link #reset(ByteBuffer)} in terms of {@link #reset(byte[], int, int)}, copying buffers without an
+ * accessible array into one that is kept for the next reset.
+ */
+/*package*/ abstract class ResettableReaderFacet
+    implements ResettableReader
+{
+    private byte[] _copy;
+
+    public final void reset(ByteBuffer ionData)
+    {
+        if (ionData.hasArray())
+        {
+            reset(ionData.array(), ionData.arrayOffset() + ionData.position(), ionData.remaining());
+            return;
+        }
+
+        int length = ionData.remaining();
+        if (_copy == null || _copy.length < length)
+        {
+            _copy = new byte[length];
+        }
+        int position = ionData.position();
+        ionData.get(_copy, 0, length);
+        // the cast keeps us binary compatible with the Java 8 signature of this method
+        ((Buffer) ionData).position(position);
+        reset(_copy, 0, length);
+    }
+}
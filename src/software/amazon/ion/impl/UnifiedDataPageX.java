@@ -96,7 +96,24 @@ abstract class UnifiedDataPageX
         return read;
     }
 
+    /**
+     * Reads more of the stream into the rest of this page, after the data
+     * already {@link #load(InputStream, int, long) loaded} into it.
+     */
+    int append(InputStream stream) throws IOException
+    {
+        if (!isBytes()) {
+            throw new UnsupportedOperationException("character pages can't load bytes");
+        }
+        int read = stream.read(_bytes, _page_limit, _bytes.length - _page_limit);
+        if (read > 0) {
+            _page_limit += read;
+        }
+        return read;
+    }
+
     public int getBufferLimit()    { return _page_limit; }
+    public final int getCapacity() { return isBytes() ? _bytes.length : _characters.length; }
     public int getOriginalStartingOffset() { return _base_offset; }
 
     // FIXME document lower-bound of the result.  Can it be negative?
@@ -176,6 +193,15 @@ abstract class UnifiedDataPageX
             _page_limit  = offset + len;
         }
 
+        /** Points this page at a new range of user supplied bytes. */
+        final void reset(byte[] bytes, int offset, int len) {
+            _bytes        = bytes;
+            _base_offset  = offset;
+            _page_limit   = offset + len;
+            _unread_count = 0;
+            _file_offset  = 0;
+        }
+
         @Override
         public int getValue(int offset) {
             return (_bytes[offset] & 0xff);
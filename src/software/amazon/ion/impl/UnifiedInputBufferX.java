@@ -20,6 +20,7 @@ abstract class UnifiedInputBufferX
     public enum BufferType { BYTES, CHARS }
 
     protected int               _page_size;
+    protected int               _max_page_size;
     protected UnifiedDataPageX[] _buffers;
     protected int               _buffer_current;
     protected int               _buffer_count;
@@ -68,6 +69,7 @@ abstract class UnifiedInputBufferX
             throw new IllegalArgumentException("page size must be > 0");
         }
         _page_size = initialPageSize;
+        _max_page_size = initialPageSize;
         _buffers = new UnifiedDataPageX[10];
     }
 
@@ -98,6 +100,26 @@ abstract class UnifiedInputBufferX
         return _buffer_current;
     }
 
+    public final int getPageSize() {
+        return _page_size;
+    }
+
+    /**
+     * Lets {@link #growPageSize()} enlarge the pages made from now on, up to
+     * the given size.
+     */
+    public final void setMaxPageSize(int maxPageSize) {
+        _max_page_size = Math.max(maxPageSize, _page_size);
+    }
+
+    /**
+     * Doubles the size of the pages made from now on, up to the maximum.
+     * The pages already made are dropped as they're recycled.
+     */
+    public final void growPageSize() {
+        _page_size = (int) Math.min(2L * _page_size, _max_page_size);
+    }
+
     public final int getPageCount() {
         return _buffer_count;
     }
@@ -136,7 +158,7 @@ abstract class UnifiedInputBufferX
         if (_buffer_count < _buffers.length) {
             next = _buffers[_buffer_count];
         }
-        if (next == null) {
+        if (next == null || next.getCapacity() < _page_size) {
             next = make_page(_page_size);
         }
         else {
@@ -267,6 +289,15 @@ abstract class UnifiedInputBufferX
             _buffer_current = 0;
             _buffer_count = 1;
         }
+        /**
+         * Points the single page of a buffer over user supplied bytes
+         * at a new range of bytes.
+         */
+        final void reset(byte[] bytes, int offset, int length) {
+            ((UnifiedDataPageX.Bytes)_buffers[0]).reset(bytes, offset, length);
+            _buffer_current = 0;
+            _buffer_count = 1;
+        }
         @Override
         public final BufferType getType() { return BufferType.BYTES; }
 
@@ -18,6 +18,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import software.amazon.ion.InputStreamStatistics;
 import software.amazon.ion.impl.IonReaderTextRawTokensX.IonReaderTextTokenException;
 import software.amazon.ion.impl.UnifiedSavePointManagerX.SavePoint;
 
@@ -67,6 +68,12 @@ abstract class UnifiedInputStreamX
         }
     }
 
+    /**
+     * The size that the pages of a stream over an {@link InputStream} grow
+     * to by default, while the stream fills every page it's asked to.
+     */
+    static final int DEFAULT_MAX_PAGE_SIZE = 256*1024;
+
     //
     // member variables
     //
@@ -89,6 +96,10 @@ abstract class UnifiedInputStreamX
 
     UnifiedSavePointManagerX _save_points;
 
+    // the bytes read from an InputStream, and the calls it took
+    long                    _bytes_read;
+    long                    _read_count;
+
 
     // factories to construct an appropriate input stream
     // based on the input source
@@ -114,7 +125,10 @@ abstract class UnifiedInputStreamX
         return new FromByteArray(buffer, offset, length);
     }
     public static UnifiedInputStreamX makeStream(InputStream stream) throws IOException {
-        return new FromByteStream(stream);
+        return new FromByteStream(stream, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGE_SIZE);
+    }
+    public static UnifiedInputStreamX makeStream(InputStream stream, int pageSize, int maxPageSize) throws IOException {
+        return new FromByteStream(stream, pageSize, maxPageSize);
     }
     public final InputStream getInputStream() { return _stream; }
     public final Reader      getReader()      { return _reader; }
@@ -451,7 +465,7 @@ abstract class UnifiedInputStreamX
                 new_idx++;
                 needs_new_page = true;
             }
-            if (needs_new_page) {
+            if (needs_new_page || curr.getCapacity() < _buffer.getPageSize()) {
                 curr = _buffer.getEmptyPageIdx();
             }
             //
@@ -461,6 +475,10 @@ abstract class UnifiedInputStreamX
             if (read < 1) {
                 return refill_is_eof();
             }
+            if (curr.getBufferLimit() == curr.getCapacity()) {
+                // the source is keeping up, so ask it for more at a time
+                _buffer.growPageSize();
+            }
 
             assert(curr != null && curr.getOffsetOfFilePosition(file_position) == start_pos);
             set_current_page(new_idx, curr, start_pos);
@@ -522,6 +540,21 @@ abstract class UnifiedInputStreamX
         if (can_fill_new_page()) {
             if (is_byte_data()) {
                 read = curr.load(_stream, start_pos, file_position);
+                _read_count++;
+                // top the page up with whatever the stream can supply
+                // without blocking, rather than coming back for each
+                // short read
+                while (read > 0
+                       && curr.getBufferLimit() < curr.getCapacity()
+                       && _stream.available() > 0) {
+                    int more = curr.append(_stream);
+                    _read_count++;
+                    if (more < 1) break;
+                    read += more;
+                }
+                if (read > 0) {
+                    _bytes_read += read;
+                }
             }
             else {
                 read = curr.load(_reader, start_pos, file_position);
@@ -591,20 +624,52 @@ static class FromByteArray extends UnifiedInputStreamX
             make_page_current(curr, 0, offset, offset+length);
             super.init();
         }
+
+        /**
+         * Resets this stream to the start of a new range of user supplied
+         * bytes, keeping its buffer and save points for reuse.
+         */
+        final void reset(byte[] bytes, int offset, int length)
+        {
+            for (;;) {
+                SavePoint sp = _save_points.savePointActiveTop();
+                if (sp == null) break;
+                _save_points.savePointPopActive(sp);
+            }
+            ((UnifiedInputBufferX.Bytes)_buffer).reset(bytes, offset, length);
+            make_page_current(_buffer.getCurrentPage(), 0, offset, offset+length);
+        }
     }
 
     private static class FromByteStream extends UnifiedInputStreamX
+        implements InputStreamStatistics
     {
-        FromByteStream(InputStream stream) throws IOException
+        FromByteStream(InputStream stream, int pageSize, int maxPageSize) throws IOException
         {
             _is_byte_data = true;
             _is_stream = true;
             _stream = stream;
-            _buffer = UnifiedInputBufferX.makePageBuffer(UnifiedInputBufferX.BufferType.BYTES, DEFAULT_PAGE_SIZE);
+            _buffer = UnifiedInputBufferX.makePageBuffer(UnifiedInputBufferX.BufferType.BYTES, pageSize);
+            _buffer.setMaxPageSize(maxPageSize);
             super.init();
             _limit = refill();
         }
 
+        public long getBytesRead()
+        {
+            return _bytes_read;
+        }
+
+        public long getReadCount()
+        {
+            return _read_count;
+        }
+
+        public int getPageSize()
+        {
+            return _buffer.getPageSize();
+        }
+
         @Override
         public void close()
             throws IOException
@@ -15,24 +15,51 @@
 package software.amazon.ion.impl.bin;
 
 import java.io.Closeable;
-
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 
 /**
  * An abstraction for a block of managed memory.  A {@link Block} is acquired by a caller via
  * {@link BlockAllocator#allocateBlock()} and released by {@link #close()}.
  * <p>
+ * A block is either backed by a heap array, in which case {@link #data} is that array, or by a direct
+ * {@link ByteBuffer} living outside of the Java heap, in which case {@link #data} is {@code null}.
+ * Either way, {@link #buffer} is the canonical view of the storage and is only ever accessed with absolute
+ * indices--its position and limit are not meaningful.
+ * <p>
  * This class and its implementations are <b>not</b> thread-safe.
  */
 /*package*/ abstract class Block implements Closeable
 {
-    /** The data backing this block. */
+    /** The heap array backing this block, or {@code null} if this block is off-heap. */
     public final byte[] data;
+    /** The storage backing this block. */
+    public final ByteBuffer buffer;
     /** The first index for which data has not been written to or read from. */
     public int limit;
 
     /*package*/ Block(final byte[] data)
     {
         this.data = data;
+        this.buffer = ByteBuffer.wrap(data);
+        this.limit = 0;
+    }
+
+    /*package*/ Block(final ByteBuffer buffer)
+    {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0)
+        {
+            this.data = buffer.array();
+        }
+        else if (buffer.isDirect())
+        {
+            this.data = null;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Heap buffers must not be offset into their backing array");
+        }
+        this.buffer = buffer;
         this.limit = 0;
     }
 
@@ -42,16 +69,35 @@ import java.io.Closeable;
         limit = 0;
     }
 
-    /** Returns the unused amount of bytes from the limit to the capacity of the data array. */
+    /** Returns the unused amount of bytes from the limit to the capacity of the block. */
     public final int remaining()
     {
-        return data.length - limit;
+        return buffer.capacity() - limit;
     }
 
-    /** Returns the underlying data array's capacity. */
+    /** Returns the underlying storage's capacity. */
     public final int capacity()
     {
-        return data.length;
+        return buffer.capacity();
+    }
+
+    /** Returns whether this block's storage lives outside of the Java heap. */
+    public final boolean isDirect()
+    {
+        return data == null;
+    }
+
+    /**
+     * Returns a new {@link ByteBuffer} sharing this block's storage whose position and limit delimit
+     * the given range.  The view is only valid until the block is closed.
+     */
+    public final ByteBuffer view(final int offset, final int length)
+    {
+        final ByteBuffer view = buffer.duplicate();
+        // the cast keeps us binary compatible with the Java 8 signatures of these methods
+        ((Buffer) view).limit(offset + length);
+        ((Buffer) view).position(offset);
+        return view;
     }
 
     /**
@@ -57,4 +57,21 @@ package software.amazon.ion.impl.bin;
     public static BlockAllocatorProvider basicProvider() {
         return BASIC_PROVIDER;
     }
+
+    private static final PooledBlockAllocatorProvider POOLED_PROVIDER = new PooledBlockAllocatorProvider();
+    private static final PooledBlockAllocatorProvider POOLED_DIRECT_PROVIDER = new PooledBlockAllocatorProvider(true);
+
+    /**
+     * The {@link PooledBlockAllocatorProvider} of heap blocks shared by all pooling writers whose builders were not
+     * given limits of their own.  Pools hold on to memory, so one that is created per writer only ever grows the
+     * process' footprint.
+     */
+    public static PooledBlockAllocatorProvider pooledProvider() {
+        return POOLED_PROVIDER;
+    }
+
+    /** The {@link PooledBlockAllocatorProvider} of direct blocks, shared like {@link #pooledProvider()}. */
+    public static PooledBlockAllocatorProvider pooledDirectProvider() {
+        return POOLED_DIRECT_PROVIDER;
+    }
 }
@@ -17,9 +17,11 @@ package software.amazon.ion.impl.bin;
 import static java.util.Collections.unmodifiableList;
 import static software.amazon.ion.IonType.LIST;
 import static software.amazon.ion.IonType.STRUCT;
+import static software.amazon.ion.IonType.isContainer;
 import static software.amazon.ion.SystemSymbols.IMPORTS_SID;
 import static software.amazon.ion.SystemSymbols.ION_1_0_MAX_ID;
 import static software.amazon.ion.SystemSymbols.ION_1_0_SID;
+import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
 import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
 import static software.amazon.ion.SystemSymbols.MAX_ID_SID;
 import static software.amazon.ion.SystemSymbols.NAME_SID;
@@ -32,6 +34,8 @@ import static software.amazon.ion.impl.bin.Symbols.systemSymbols;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -45,16 +49,20 @@ import java.util.Map;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonType;
+import software.amazon.ion.IonValue;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
 import software.amazon.ion.UnknownSymbolException;
+import software.amazon.ion.impl.PrivateIonValueSink;
+import software.amazon.ion.impl.PrivateListWriter;
 import software.amazon.ion.impl.PrivateUtils;
 import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
 import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
 
 /** Wraps {@link IonRawBinaryWriter} with symbol table management. */
 /*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter
+    implements PrivateIonValueSink, PrivateListWriter
 {
     private interface SymbolResolver
     {
@@ -644,31 +652,86 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
     private boolean                             forceSystemOutput;
     private boolean                             closed;
 
+    /** Writes DOM values with precomputed lengths, or {@code null} if disabled. */
+    private final PresizedValueWriter           presizedWriter;
+
+    /** The channel both raw writers write to, or {@code null} if they write to a stream. */
+    private final GatheringByteChannel          channel;
+    private final List<ByteBuffer>              views;
+
     /*package*/ IonManagedBinaryWriter(final PrivateIonManagedBinaryWriterBuilder builder,
                                        final OutputStream out)
                                        throws IOException
     {
-        super(builder.optimization);
-        this.symbols = new IonRawBinaryWriter(
-            builder.provider,
-            builder.symbolsBlockSize,
-            out,
-            WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
-            StreamCloseMode.NO_CLOSE,
-            StreamFlushMode.NO_FLUSH,
-            builder.preallocationMode,
-            builder.isFloatBinary32Enabled
+        this(
+            builder,
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.symbolsBlockSize,
+                out,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.NO_CLOSE,
+                StreamFlushMode.NO_FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled
+            ),
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.userBlockSize,
+                out,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.CLOSE,
+                StreamFlushMode.FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled
+            ),
+            null
         );
-        this.user = new IonRawBinaryWriter(
-            builder.provider,
-            builder.userBlockSize,
-            out,
-            WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
-            StreamCloseMode.CLOSE,
-            StreamFlushMode.FLUSH,
-            builder.preallocationMode,
-            builder.isFloatBinary32Enabled
+    }
+
+    /**
+     * Constructs a writer that emits the symbol table and user data of each flush with a single gathering write
+     * to the given channel.
+     */
+    /*package*/ IonManagedBinaryWriter(final PrivateIonManagedBinaryWriterBuilder builder,
+                                       final GatheringByteChannel channel)
+                                       throws IOException
+    {
+        this(
+            builder,
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.symbolsBlockSize,
+                channel,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.NO_CLOSE,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled
+            ),
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.userBlockSize,
+                channel,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.CLOSE,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled
+            ),
+            channel
         );
+    }
+
+    private IonManagedBinaryWriter(final PrivateIonManagedBinaryWriterBuilder builder,
+                                   final IonRawBinaryWriter symbols,
+                                   final IonRawBinaryWriter user,
+                                   final GatheringByteChannel channel)
+                                   throws IOException
+    {
+        super(builder.optimization);
+        this.symbols = symbols;
+        this.user = user;
+        this.channel = channel;
+        this.views = channel == null ? null : new ArrayList<ByteBuffer>();
 
         this.catalog = builder.catalog;
         this.bootstrapImports = builder.imports;
@@ -688,6 +751,22 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         this.userSymbols = new ArrayList<String>();
         this.userCurrentImport = new ImportDescriptor();
 
+        if (builder.isLengthPrecomputationEnabled)
+        {
+            final PresizedValueWriter.SymbolInterner interner = new PresizedValueWriter.SymbolInterner()
+            {
+                public SymbolToken intern(final SymbolToken token)
+                {
+                    return IonManagedBinaryWriter.this.intern(token);
+                }
+            };
+            this.presizedWriter = new PresizedValueWriter(user, interner, builder.isFloatBinary32Enabled);
+        }
+        else
+        {
+            this.presizedWriter = null;
+        }
+
         // TODO decide if initial LST should survive finish() and seed the next LST
         final SymbolTable lst = builder.initialSymbolTable;
         if (lst != null)
@@ -1044,6 +1123,134 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         user.writeBlob(data, offset, length);
     }
 
+    public boolean writeValueTree(final IonValue value) throws IOException
+    {
+        if (presizedWriter == null
+            || userState != UserState.NORMAL
+            || !isContainer(value.getType())
+            || value.isNullValue()
+            || (getDepth() == 0 && value.hasTypeAnnotation(ION_SYMBOL_TABLE)))
+        {
+            // nothing to patch, or a local symbol table we need to intercept
+            return false;
+        }
+        presizedWriter.write(value);
+        return true;
+    }
+
+    // Packed Lists
+
+    /** Whether a list can be written by the raw writer, without the user state intercepting it. */
+    private boolean isPackedListAllowed()
+    {
+        return userState == UserState.NORMAL;
+    }
+
+    public void writeBoolList(final boolean[] values) throws IOException
+    {
+        if (isPackedListAllowed())
+        {
+            user.writeBoolList(values);
+            return;
+        }
+        stepIn(LIST);
+        for (final boolean value : values)
+        {
+            writeBool(value);
+        }
+        stepOut();
+    }
+
+    public void writeFloatList(final float[] values) throws IOException
+    {
+        if (isPackedListAllowed())
+        {
+            user.writeFloatList(values);
+            return;
+        }
+        stepIn(LIST);
+        for (final float value : values)
+        {
+            writeFloat(value);
+        }
+        stepOut();
+    }
+
+    public void writeFloatList(final double[] values) throws IOException
+    {
+        if (isPackedListAllowed())
+        {
+            user.writeFloatList(values);
+            return;
+        }
+        stepIn(LIST);
+        for (final double value : values)
+        {
+            writeFloat(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final byte[] values) throws IOException
+    {
+        final int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            ints[i] = values[i];
+        }
+        writeIntList(ints);
+    }
+
+    public void writeIntList(final short[] values) throws IOException
+    {
+        final int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            ints[i] = values[i];
+        }
+        writeIntList(ints);
+    }
+
+    public void writeIntList(final int[] values) throws IOException
+    {
+        if (isPackedListAllowed())
+        {
+            user.writeIntList(values);
+            return;
+        }
+        stepIn(LIST);
+        for (final int value : values)
+        {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final long[] values) throws IOException
+    {
+        if (isPackedListAllowed())
+        {
+            user.writeIntList(values);
+            return;
+        }
+        stepIn(LIST);
+        for (final long value : values)
+        {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeStringList(final String[] values) throws IOException
+    {
+        stepIn(LIST);
+        for (final String value : values)
+        {
+            writeString(value);
+        }
+        stepOut();
+    }
+
     public void writeBytes(byte[] data, int off, int len) throws IOException
     {
         // this is a raw transfer--we basically have to dump the symbol table since we don't have much context
@@ -1073,6 +1280,18 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         symbolState = SymbolState.LOCAL_SYMBOLS_FLUSHED;
         forceSystemOutput = false;
         // push the data out
+        if (channel != null)
+        {
+            // one gathering write for both the symbol table and the data that depends on it
+            views.clear();
+            symbols.gatherFinished(views);
+            user.gatherFinished(views);
+            WriteBuffer.writeFully(channel, views.toArray(new ByteBuffer[views.size()]));
+            views.clear();
+            symbols.discardFinished();
+            user.discardFinished();
+            return;
+        }
         symbols.finish();
         user.finish();
     }
@@ -41,11 +41,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.NoSuchElementException;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonType;
@@ -110,6 +110,15 @@ import software.amazon.ion.Timestamp;
     private static final byte CLOB_TYPE         = (byte) 0x90;
     private static final byte BLOB_TYPE         = (byte) 0xA0;
 
+    private static final byte[] CONTAINER_TYPES;
+    static {
+        CONTAINER_TYPES = new byte[IonType.values().length];
+        CONTAINER_TYPES[LIST.ordinal()]   = (byte) 0xB0;
+        CONTAINER_TYPES[SEXP.ordinal()]   = (byte) 0xC0;
+        CONTAINER_TYPES[STRUCT.ordinal()] = (byte) 0xD0;
+    }
+    private static final byte ANNOTATION_TYPE   = (byte) 0xE0;
+
     private static final byte DECIMAL_POS_ZERO               = (byte) 0x50;
     private static final byte DECIMAL_NEGATIVE_ZERO_MANTISSA = (byte) 0x80;
 
@@ -214,6 +223,9 @@ import software.amazon.ion.Timestamp;
     /** Max supported annotation length specifier size supported. */
     private static final int MAX_ANNOTATION_LENGTH = 0x7F;
 
+    /** Marks a value or container whose content length was not declared up front. */
+    private static final long UNKNOWN_LENGTH = -1;
+
     private enum ContainerType
     {
         SEQUENCE(true),
@@ -232,199 +244,253 @@ import software.amazon.ion.Timestamp;
     private static class ContainerInfo
     {
         /** Whether or not the container is a struct */
-        public final ContainerType type;
+        public ContainerType type;
         /** The location of the pre-allocated size descriptor in the buffer. */
-        public final long position;
+        public long position;
         /** The size of the current value. */
         public long length;
-        /** The patchlist for this container. */
-        public PatchList patches;
+        /** The declared size of the current value, which is never patched, or {@link #UNKNOWN_LENGTH}. */
+        public long declaredLength;
+        /** The index of the patch table slot reserved for this container's length, or <code>-1</code>. */
+        public int patchIndex;
 
-        public ContainerInfo(final ContainerType type, final long offset)
+        public void initialize(final ContainerType type, final long offset, final long declaredLength, final int patchIndex)
         {
             this.type = type;
             this.position = offset;
-            this.patches = null;
+            this.length = 0;
+            this.declaredLength = declaredLength;
+            this.patchIndex = patchIndex;
         }
 
-        public void appendPatch(final PatchPoint patch)
+        @Override
+        public String toString()
         {
-            if (patches == null)
-            {
-                patches = new PatchList();
-            }
-            patches.append(patch);
+            return "(CI " + type + " pos:" + position + " len:" + length + " declared:" + declaredLength + ")";
+        }
+    }
+
+    /**
+     * Stack of container state whose entries are recycled, so that stepping in and out of containers does not
+     * allocate once the stack has grown to the maximum depth of the data.
+     */
+    private static class ContainerStack
+    {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private ContainerInfo[] entries;
+        private int size;
+
+        public ContainerStack()
+        {
+            entries = new ContainerInfo[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        public boolean isEmpty()
+        {
+            return size == 0;
         }
 
-        public void extendPatches(final PatchList newPatches)
+        /** Returns the top of the stack, which must not be empty. */
+        public ContainerInfo peek()
         {
-            if (patches == null)
+            return entries[size - 1];
+        }
+
+        /** Returns a recycled entry pushed on top of the stack, to be initialized by the caller. */
+        public ContainerInfo push()
+        {
+            if (size == entries.length)
             {
-                patches = newPatches;
+                final ContainerInfo[] newEntries = new ContainerInfo[entries.length << 1];
+                System.arraycopy(entries, 0, newEntries, 0, size);
+                entries = newEntries;
             }
-            else
+            ContainerInfo entry = entries[size];
+            if (entry == null)
             {
-                patches.extend(newPatches);
+                entry = new ContainerInfo();
+                entries[size] = entry;
             }
+            size++;
+            return entry;
+        }
+
+        /** Removes the top of the stack, which stays valid until the next {@link #push()}. */
+        public ContainerInfo pop()
+        {
+            return entries[--size];
         }
 
         @Override
         public String toString()
         {
-            return "(CI " + type + " pos:" + position + " len:" + length + ")";
+            final StringBuilder buf = new StringBuilder();
+            buf.append("[");
+            for (int i = 0; i < size; i++)
+            {
+                if (i > 0)
+                {
+                    buf.append(", ");
+                }
+                buf.append(entries[i]);
+            }
+            buf.append("]");
+            return buf.toString();
         }
     }
 
-    private static class PatchPoint
+    /**
+     * Table of patch points, in the order of their position in the buffer, stored as parallel primitive arrays
+     * that are reused across {@linkplain #clear() clears}.
+     * <p>
+     * A container's length is only known, and so patched, after its children's, but its patch precedes theirs in
+     * the stream.  A container therefore {@linkplain #reserve(long, long) reserves} a slot when it is pushed, ahead
+     * of the patches of its children, which is {@linkplain #fill(int, int, long, int) filled} when it is popped.
+     * A slot that turns out not to be needed is {@linkplain #release(int) released}, and if children's patches
+     * follow it, left as an empty patch that writes nothing and skips nothing.
+     */
+    private static class PatchTable
     {
+        private static final int INITIAL_CAPACITY = 16;
+
         /** position of the data being patched out. */
-        public final long oldPosition;
+        private long[] oldPositions;
         /** length of the data being patched out.*/
-        public final int oldLength;
+        private int[] oldLengths;
         /** position of the patch buffer where the length data is stored. */
-        public final long patchPosition;
+        private long[] patchPositions;
         /** length of the data to be patched in.*/
-        public final int patchLength;
+        private int[] patchLengths;
+        private int size;
 
-        public PatchPoint(final long oldPosition, final int oldLength, final long patchPosition, final int patchLength)
+        public PatchTable()
         {
-            this.oldPosition = oldPosition;
-            this.oldLength = oldLength;
-            this.patchPosition = patchPosition;
-            this.patchLength = patchLength;
+            oldPositions = new long[INITIAL_CAPACITY];
+            oldLengths = new int[INITIAL_CAPACITY];
+            patchPositions = new long[INITIAL_CAPACITY];
+            patchLengths = new int[INITIAL_CAPACITY];
+            size = 0;
         }
 
-        @Override
-        public String toString()
+        public int size()
         {
-            return "(PP old::(" + oldPosition + " " + oldLength + ") patch::(" + patchPosition + " " + patchLength + ")";
+            return size;
         }
-    }
 
-    /**
-     * Simple singly linked list node that we can use to construct the patch list in the
-     * right order incrementally in recursive segments.
-     */
-    private static class PatchList implements Iterable<PatchPoint>
-    {
-        private static class Node {
-            public final PatchPoint value;
-            public Node next;
+        public boolean isEmpty()
+        {
+            return size == 0;
+        }
 
-            public Node(final PatchPoint value)
-            {
-                this.value = value;
-            }
+        public void clear()
+        {
+            size = 0;
         }
-        private Node head;
-        private Node tail;
 
-        public PatchList()
+        public long oldPosition(final int index)
         {
-            head = null;
-            tail = null;
+            return oldPositions[index];
         }
 
-        public boolean isEmpty()
+        public int oldLength(final int index)
         {
-            return head == null && tail == null;
+            return oldLengths[index];
         }
 
-        public void clear()
+        public long patchPosition(final int index)
         {
-            head = null;
-            tail = null;
+            return patchPositions[index];
         }
 
-        public void append(final PatchPoint patch)
+        public int patchLength(final int index)
         {
-            final Node node = new Node(patch);
-            if (head == null)
-            {
-                head = node;
-                tail = node;
-            }
-            else
-            {
-                tail.next = node;
-                tail = node;
-            }
+            return patchLengths[index];
         }
 
-        public void extend(final PatchList end)
+        private void ensureCapacity()
         {
-            if (end != null)
+            if (size == oldPositions.length)
             {
-                if (head == null)
-                {
-                    if (end.head != null)
-                    {
-                        head = end.head;
-                        tail = end.tail;
-                    }
-                }
-                else
-                {
-                    tail.next = end.head;
-                    tail = end.tail;
-                }
+                final int capacity = size << 1;
+                oldPositions = Arrays.copyOf(oldPositions, capacity);
+                oldLengths = Arrays.copyOf(oldLengths, capacity);
+                patchPositions = Arrays.copyOf(patchPositions, capacity);
+                patchLengths = Arrays.copyOf(patchLengths, capacity);
             }
         }
 
-        public PatchPoint truncate(final long oldPosition)
+        public void append(final long oldPosition, final int oldLength, final long patchPosition, final int patchLength)
         {
-            Node prev = null;
-            Node curr = head;
-            while (curr != null)
-            {
-                final PatchPoint patch = curr.value;
-                if (patch.oldPosition >= oldPosition)
-                {
-                    tail = prev;
-                    if (tail == null)
-                    {
-                        head = null;
-                    }
-                    else
-                    {
-                        tail.next = null;
-                    }
-                    return patch;
-                }
+            ensureCapacity();
+            oldPositions[size] = oldPosition;
+            oldLengths[size] = oldLength;
+            patchPositions[size] = patchPosition;
+            patchLengths[size] = patchLength;
+            size++;
+        }
 
-                prev = curr;
-                curr = curr.next;
-            }
-            return null;
+        /**
+         * Appends an empty patch at the given buffer position, to be filled in later, and returns its index.
+         * The patch buffer position is where the patch will be written, so that truncation stays correct.
+         */
+        public int reserve(final long oldPosition, final long patchPosition)
+        {
+            append(oldPosition, 0, patchPosition, 0);
+            return size - 1;
+        }
+
+        /** Fills in a {@linkplain #reserve(long, long) reserved} patch. */
+        public void fill(final int index, final int oldLength, final long patchPosition, final int patchLength)
+        {
+            oldLengths[index] = oldLength;
+            patchPositions[index] = patchPosition;
+            patchLengths[index] = patchLength;
         }
 
-        public Iterator<PatchPoint> iterator()
+        /** Drops a {@linkplain #reserve(long, long) reserved} patch if it is the last one, otherwise leaves it empty. */
+        public void release(final int index)
         {
-            return new Iterator<PatchPoint>()
+            if (index == size - 1)
             {
-                Node curr = head;
+                size--;
+            }
+        }
 
-                public boolean hasNext()
+        /**
+         * Removes the patches at or after the given buffer position and returns the lowest position of their
+         * lengths in the patch buffer, or <code>-1</code> if there were none.
+         */
+        public long truncate(final long oldPosition)
+        {
+            // patches are sorted by position, so the first one to remove can be searched for
+            int low = 0;
+            int high = size;
+            while (low < high)
+            {
+                final int mid = (low + high) >>> 1;
+                if (oldPositions[mid] < oldPosition)
                 {
-                    return curr != null;
+                    low = mid + 1;
                 }
-
-                public PatchPoint next()
+                else
                 {
-                    if (!hasNext())
-                    {
-                        throw new NoSuchElementException();
-                    }
-                    final PatchPoint value = curr.value;
-                    curr = curr.next;
-                    return value;
+                    high = mid;
                 }
+            }
+            if (low == size)
+            {
+                return -1;
+            }
 
-                public void remove()
-                {
-                    throw new UnsupportedOperationException();
-                }
-            };
+            long patchPosition = patchPositions[low];
+            for (int i = low + 1; i < size; i++)
+            {
+                patchPosition = Math.min(patchPosition, patchPositions[i]);
+            }
+            size = low;
+            return patchPosition;
         }
 
         @Override
@@ -432,10 +498,10 @@ import software.amazon.ion.Timestamp;
         {
             final StringBuilder buf = new StringBuilder();
             buf.append("(PATCHES");
-            for (final PatchPoint patch : this)
+            for (int i = 0; i < size; i++)
             {
-                buf.append(" ");
-                buf.append(patch);
+                buf.append(" (PP old::(").append(oldPositions[i]).append(" ").append(oldLengths[i]);
+                buf.append(") patch::(").append(patchPositions[i]).append(" ").append(patchLengths[i]).append(")");
             }
             buf.append(")");
             return buf.toString();
@@ -455,16 +521,23 @@ import software.amazon.ion.Timestamp;
     }
 
     private final BlockAllocator                allocator;
+    /** The stream we write to, or {@code null} if we are writing to {@link #channel}. */
     private final OutputStream                  out;
+    /** The channel we write to, or {@code null} if we are writing to {@link #out}. */
+    private final GatheringByteChannel          channel;
+    /** Scratch list of buffer views for gathering writes to {@link #channel}. */
+    private final List<ByteBuffer>              views;
     private final StreamCloseMode               streamCloseMode;
     private final StreamFlushMode               streamFlushMode;
     private final PreallocationMode             preallocationMode;
     private final boolean                       isFloatBinary32Enabled;
     private final WriteBuffer                   buffer;
     private final WriteBuffer                   patchBuffer;
-    private final PatchList                     patchPoints;
-    private final LinkedList<ContainerInfo>     containers;
+    private final PatchTable                    patchPoints;
+    private final ContainerStack                containers;
     private int                                 depth;
+    /** The content length declared for the next value, or {@link #UNKNOWN_LENGTH}. */
+    private long                                nextContentLength;
     private boolean                             hasWrittenValuesSinceFinished;
     private boolean                             hasWrittenValuesSinceConstructed;
 
@@ -485,22 +558,54 @@ import software.amazon.ion.Timestamp;
                                    final boolean isFloatBinary32Enabled)
                                    throws IOException
     {
-        super(optimization);
-
+        this(provider, blockSize, out, null, optimization, streamCloseMode, streamFlushMode, preallocationMode, isFloatBinary32Enabled);
         if (out == null) { throw new NullPointerException(); }
+    }
+
+    /**
+     * Constructs a writer that emits each {@linkplain #finish() finished} segment of the stream with gathering writes
+     * of views over its buffers, rather than copying them through an {@link OutputStream}.
+     */
+    /*package*/ IonRawBinaryWriter(final BlockAllocatorProvider provider,
+                                   final int blockSize,
+                                   final GatheringByteChannel channel,
+                                   final WriteValueOptimization optimization,
+                                   final StreamCloseMode streamCloseMode,
+                                   final PreallocationMode preallocationMode,
+                                   final boolean isFloatBinary32Enabled)
+                                   throws IOException
+    {
+        this(provider, blockSize, null, channel, optimization, streamCloseMode, StreamFlushMode.NO_FLUSH, preallocationMode, isFloatBinary32Enabled);
+        if (channel == null) { throw new NullPointerException(); }
+    }
+
+    private IonRawBinaryWriter(final BlockAllocatorProvider provider,
+                               final int blockSize,
+                               final OutputStream out,
+                               final GatheringByteChannel channel,
+                               final WriteValueOptimization optimization,
+                               final StreamCloseMode streamCloseMode,
+                               final StreamFlushMode streamFlushMode,
+                               final PreallocationMode preallocationMode,
+                               final boolean isFloatBinary32Enabled)
+    {
+        super(optimization);
 
         this.allocator         = provider.vendAllocator(blockSize);
         this.out               = out;
+        this.channel           = channel;
+        this.views             = new ArrayList<ByteBuffer>();
         this.streamCloseMode   = streamCloseMode;
         this.streamFlushMode   = streamFlushMode;
         this.preallocationMode = preallocationMode;
         this.isFloatBinary32Enabled = isFloatBinary32Enabled;
         this.buffer            = new WriteBuffer(allocator);
         this.patchBuffer       = new WriteBuffer(allocator);
-        this.patchPoints       = new PatchList();
-        this.containers        = new LinkedList<ContainerInfo>();
+        this.patchPoints       = new PatchTable();
+        this.containers        = new ContainerStack();
 
         this.depth                            = 0;
+        this.nextContentLength                = UNKNOWN_LENGTH;
         this.hasWrittenValuesSinceFinished    = false;
         this.hasWrittenValuesSinceConstructed = false;
 
@@ -589,6 +694,33 @@ import software.amazon.ion.Timestamp;
         return hasTopLevelSymbolTableAnnotation;
     }
 
+    /**
+     * Declares the content length of the next value, that is its length without its annotations, type descriptor
+     * and length field.
+     * <p>
+     * The annotation wrapper of that value, and the length of a container, string, decimal or timestamp, are then
+     * written exactly once instead of being preallocated and patched.  An {@link IllegalStateException} is thrown
+     * when the content written does not match the declared length.
+     */
+    /*package*/ void setNextValueContentLength(final long contentLength)
+    {
+        if (contentLength < 0)
+        {
+            throw new IllegalArgumentException("Invalid content length: " + contentLength);
+        }
+        nextContentLength = contentLength;
+    }
+
+    /** Returns the length of the type descriptor and length field of a value with the given content length. */
+    /*package*/ static int typedLength(final long contentLength)
+    {
+        if (contentLength <= 0xD)
+        {
+            return 1;
+        }
+        return 1 + WriteBuffer.varUIntLength(contentLength);
+    }
+
     /*package*/ int getFieldId()
     {
         return currentFieldName.getSid();
@@ -625,18 +757,38 @@ import software.amazon.ion.Timestamp;
             return;
         }
 
-        containers.getLast().length += length;
+        containers.peek().length += length;
     }
 
     private void pushContainer(final ContainerType type)
     {
         // XXX we push before writing the type of container
-        containers.add(new ContainerInfo(type, buffer.position() + 1));
+        final long position = buffer.position() + 1;
+        final int patchIndex = type == ContainerType.VALUE ? -1 : patchPoints.reserve(position, patchBuffer.position());
+        containers.push().initialize(type, position, UNKNOWN_LENGTH, patchIndex);
+    }
+
+    /** Pushes a container whose length has already been written. */
+    private void pushContainer(final ContainerType type, final long declaredLength)
+    {
+        containers.push().initialize(type, buffer.position(), declaredLength, -1);
+    }
+
+    /** Writes a type descriptor with the given, known, length and returns the number of bytes written. */
+    private int writeTypedLength(final int type, final long length)
+    {
+        if (length <= 0xD)
+        {
+            buffer.writeUInt8(type | length);
+            return 1;
+        }
+        buffer.writeUInt8(type | 0xE);
+        return 1 + buffer.writeVarUInt(length);
     }
 
     private ContainerInfo currentContainer()
     {
-        return containers.isEmpty() ? null : containers.getLast();
+        return containers.isEmpty() ? null : containers.peek();
     }
 
     private void addPatchPoint(final long position, final int oldLength, final long value)
@@ -644,34 +796,17 @@ import software.amazon.ion.Timestamp;
         // record the size in a patch buffer
         final long patchPosition = patchBuffer.position();
         final int patchLength = patchBuffer.writeVarUInt(value);
-        final PatchPoint patch = new PatchPoint(position, oldLength, patchPosition, patchLength);
-        final ContainerInfo container = currentContainer();
-        if (container == null)
-        {
-            // not nested, just append to the root list
-            patchPoints.append(patch);
-        }
-        else
-        {
-            // nested, apply it to the current container
-            container.appendPatch(patch);
-        }
+        patchPoints.append(position, oldLength, patchPosition, patchLength);
         updateLength(patchLength - oldLength);
     }
 
-    private void extendPatchPoints(final PatchList patches)
+    /** Records a patch in the patch table slot the container reserved when it was pushed. */
+    private void fillPatchPoint(final int index, final int oldLength, final long value)
     {
-        final ContainerInfo container = currentContainer();
-        if (container == null)
-        {
-            // not nested, extend root list
-            patchPoints.extend(patches);
-        }
-        else
-        {
-            // nested, apply it to the current container
-            container.extendPatches(patches);
-        }
+        final long patchPosition = patchBuffer.position();
+        final int patchLength = patchBuffer.writeVarUInt(value);
+        patchPoints.fill(index, oldLength, patchPosition, patchLength);
+        updateLength(patchLength - oldLength);
     }
 
     private ContainerInfo popContainer()
@@ -681,17 +816,27 @@ import software.amazon.ion.Timestamp;
         {
             throw new IllegalStateException("Tried to pop container state without said container");
         }
-        containers.removeLast();
+        containers.pop();
 
         // only patch for real containers and annotations -- we use VALUE for tracking only
         final long length = current.length;
-        if (current.type != ContainerType.VALUE)
+        if (current.declaredLength != UNKNOWN_LENGTH)
+        {
+            // the length was written up front
+            if (length != current.declaredLength)
+            {
+                throw new IllegalStateException(
+                    "Declared length " + current.declaredLength + " does not match the written length: " + current);
+            }
+        }
+        else if (current.type != ContainerType.VALUE)
         {
             // patch in the length
             final long position = current.position;
             if (current.length <= preallocationMode.contentMaxLength && preallocationMode != PreallocationMode.PREALLOCATE_0)
             {
                 preallocationMode.patchLength(buffer, position, length);
+                patchPoints.release(current.patchIndex);
             }
             else
             {
@@ -702,19 +847,15 @@ import software.amazon.ion.Timestamp;
                     final long typePosition = position - 1;
                     final long type = (buffer.getUInt8At(typePosition) & 0xF0) | current.length;
                     buffer.writeUInt8At(typePosition, type);
+                    patchPoints.release(current.patchIndex);
                 }
                 else
                 {
-                    addPatchPoint(position, preallocationMode.typedLength - 1, length);
+                    // our patch goes in the slot we reserved ahead of those of our children
+                    fillPatchPoint(current.patchIndex, preallocationMode.typedLength - 1, length);
                 }
             }
         }
-        if (current.patches != null)
-        {
-            // at this point, we've appended our patch points upward, lets make sure we get
-            // our child patch points in
-            extendPatchPoints(current.patches);
-        }
 
         // make sure to record length upward
         updateLength(length);
@@ -747,9 +888,16 @@ import software.amazon.ion.Timestamp;
         return sid;
     }
 
-    /** prepare to write values with field name and annotations. */
-    private void prepareValue()
+    /**
+     * prepare to write values with field name and annotations.
+     *
+     * @return the content length declared for the value, or {@link #UNKNOWN_LENGTH}.
+     */
+    private long prepareValue()
     {
+        final long contentLength = nextContentLength;
+        nextContentLength = UNKNOWN_LENGTH;
+
         if (isInStruct() && currentFieldName == null)
         {
             throw new IllegalStateException("IonWriter.setFieldName() must be called before writing a value into a struct.");
@@ -761,7 +909,11 @@ import software.amazon.ion.Timestamp;
             // clear out field name
             currentFieldName = null;
         }
-        if (!currentAnnotations.isEmpty())
+        if (!currentAnnotations.isEmpty() && contentLength != UNKNOWN_LENGTH)
+        {
+            writeAnnotationsWithLength(typedLength(contentLength) + contentLength);
+        }
+        else if (!currentAnnotations.isEmpty())
         {
             // we have to push a container context for annotations
             updateLength(preallocationMode.typedLength);
@@ -792,6 +944,35 @@ import software.amazon.ion.Timestamp;
             currentAnnotations.clear();
             hasTopLevelSymbolTableAnnotation = false;
         }
+        return contentLength;
+    }
+
+    /** Writes the annotation wrapper of a value with the given length, without preallocating its length. */
+    private void writeAnnotationsWithLength(final long valueLength)
+    {
+        int annotationsLength = 0;
+        for (final SymbolToken symbol : currentAnnotations)
+        {
+            annotationsLength += WriteBuffer.varUIntLength(checkSid(symbol));
+        }
+        if (annotationsLength > MAX_ANNOTATION_LENGTH)
+        {
+            throw new IonException("Annotations too large: " + currentAnnotations);
+        }
+        final long wrapperLength = /*length specifier*/ 1 + annotationsLength + valueLength;
+
+        updateLength(writeTypedLength(ANNOTATION_TYPE, wrapperLength));
+        pushContainer(ContainerType.ANNOTATION, wrapperLength);
+        buffer.writeVarUInt(annotationsLength);
+        for (final SymbolToken symbol : currentAnnotations)
+        {
+            buffer.writeVarUInt(symbol.getSid());
+        }
+        updateLength(1 + annotationsLength);
+
+        // clear out annotations
+        currentAnnotations.clear();
+        hasTopLevelSymbolTableAnnotation = false;
     }
 
     /** Closes out annotations. */
@@ -815,9 +996,17 @@ import software.amazon.ion.Timestamp;
         {
             throw new IonException("Cannot step into " + containerType);
         }
-        prepareValue();
+        final long contentLength = prepareValue();
+        final ContainerType type = containerType == STRUCT ? ContainerType.STRUCT : ContainerType.SEQUENCE;
+        if (contentLength != UNKNOWN_LENGTH)
+        {
+            updateLength(writeTypedLength(CONTAINER_TYPES[containerType.ordinal()], contentLength));
+            pushContainer(type, contentLength);
+            depth++;
+            return;
+        }
         updateLength(preallocationMode.typedLength);
-        pushContainer(containerType == STRUCT ? ContainerType.STRUCT : ContainerType.SEQUENCE);
+        pushContainer(type);
         depth++;
         buffer.writeBytes(preallocationMode.containerTypedPreallocatedBytes[containerType.ordinal()]);
     }
@@ -952,6 +1141,13 @@ import software.amazon.ion.Timestamp;
     public void writeInt(long value) throws IOException
     {
         prepareValue();
+        writeIntValue(value);
+        finishValue();
+    }
+
+    /** Writes an int. Note that this does not do {@link #prepareValue()} or {@link #finishValue()}. */
+    private void writeIntValue(long value)
+    {
         if (value == 0)
         {
             updateLength(1);
@@ -984,7 +1180,6 @@ import software.amazon.ion.Timestamp;
                 writeTypedUInt(type, value);
             }
         }
-        finishValue();
     }
 
     /** Write a raw byte array as some type. Note that this does not do {@link #prepareValue()}. */
@@ -1039,7 +1234,13 @@ import software.amazon.ion.Timestamp;
     public void writeFloat(final double value) throws IOException
     {
         prepareValue();
+        writeFloatValue(value);
+        finishValue();
+    }
 
+    /** Writes a float. Note that this does not do {@link #prepareValue()} or {@link #finishValue()}. */
+    private void writeFloatValue(final double value)
+    {
         if (isFloatBinary32Enabled && value == ((double) ((float) value))) {
             updateLength(5);
             buffer.writeUInt8(FLOAT_TYPE | 4);
@@ -1049,8 +1250,115 @@ import software.amazon.ion.Timestamp;
             buffer.writeUInt8(FLOAT_TYPE | 8);
             buffer.writeUInt64(doubleToRawLongBits(value));
         }
+    }
 
-        finishValue();
+    // Packed Lists
+
+    /** Returns the length of the encoding of an int, including its type descriptor. */
+    private static int intLength(final long value)
+    {
+        if (value == 0)
+        {
+            return 1;
+        }
+        if (value == Long.MIN_VALUE)
+        {
+            return 9;
+        }
+        final long magnitude = value < 0 ? -value : value;
+        return 1 + ((64 - Long.numberOfLeadingZeros(magnitude) + 7) >>> 3);
+    }
+
+    /** Returns the length of the encoding of a float, including its type descriptor. */
+    private int floatLength(final double value)
+    {
+        return isFloatBinary32Enabled && value == ((double) ((float) value)) ? 5 : 9;
+    }
+
+    /**
+     * Writes a list of the given length, whose values are written by the caller, without preallocating and
+     * patching its length.
+     */
+    private void stepInList(final long contentLength) throws IOException
+    {
+        setNextValueContentLength(contentLength);
+        stepIn(IonType.LIST);
+    }
+
+    /** Writes a list of bools, see {@link software.amazon.ion.util.IonStreamUtils#writeBoolList}. */
+    /*package*/ void writeBoolList(final boolean[] values) throws IOException
+    {
+        stepInList(values.length);
+        for (final boolean value : values)
+        {
+            buffer.writeByte(value ? BOOL_TRUE : BOOL_FALSE);
+        }
+        updateLength(values.length);
+        stepOut();
+    }
+
+    /** Writes a list of ints, see {@link software.amazon.ion.util.IonStreamUtils#writeIntList}. */
+    /*package*/ void writeIntList(final int[] values) throws IOException
+    {
+        long contentLength = 0;
+        for (final int value : values)
+        {
+            contentLength += intLength(value);
+        }
+        stepInList(contentLength);
+        for (final int value : values)
+        {
+            writeIntValue(value);
+        }
+        stepOut();
+    }
+
+    /** Writes a list of ints, see {@link software.amazon.ion.util.IonStreamUtils#writeIntList}. */
+    /*package*/ void writeIntList(final long[] values) throws IOException
+    {
+        long contentLength = 0;
+        for (final long value : values)
+        {
+            contentLength += intLength(value);
+        }
+        stepInList(contentLength);
+        for (final long value : values)
+        {
+            writeIntValue(value);
+        }
+        stepOut();
+    }
+
+    /** Writes a list of floats, see {@link software.amazon.ion.util.IonStreamUtils#writeFloatList}. */
+    /*package*/ void writeFloatList(final float[] values) throws IOException
+    {
+        long contentLength = 0;
+        for (final float value : values)
+        {
+            contentLength += floatLength(value);
+        }
+        stepInList(contentLength);
+        for (final float value : values)
+        {
+            writeFloatValue(value);
+        }
+        stepOut();
+    }
+
+    /** Writes a list of floats, see {@link software.amazon.ion.util.IonStreamUtils#writeFloatList}. */
+    /*package*/ void writeFloatList(final double[] values) throws IOException
+    {
+        long contentLength = 0;
+        for (final double value : values)
+        {
+            contentLength += floatLength(value);
+        }
+        stepInList(contentLength);
+        for (final double value : values)
+        {
+            writeFloatValue(value);
+        }
+        stepOut();
     }
 
     /** Encodes a decimal, updating the current container length context (which is probably a Decimal/Timestamp). */
@@ -1171,9 +1479,20 @@ import software.amazon.ion.Timestamp;
             return;
         }
 
-        prepareValue();
+        final long contentLength = prepareValue();
 
-        if (value.signum() == 0 && value.scale() == 0 && !isNegativeZero(value))
+        if (contentLength != UNKNOWN_LENGTH)
+        {
+            updateLength(writeTypedLength(DECIMAL_TYPE, contentLength));
+            pushContainer(ContainerType.VALUE, contentLength);
+            if (value.signum() != 0 || value.scale() != 0 || isNegativeZero(value))
+            {
+                // 0d0 has no content
+                writeDecimalValue(value);
+            }
+            popContainer();
+        }
+        else if (value.signum() == 0 && value.scale() == 0 && !isNegativeZero(value))
         {
             // 0d0 can be written in one byte
             updateLength(1);
@@ -1193,7 +1512,6 @@ import software.amazon.ion.Timestamp;
         finishValue();
     }
 
-    @SuppressWarnings("deprecation")
     public void writeTimestamp(final Timestamp value) throws IOException
     {
         if (value == null)
@@ -1201,13 +1519,33 @@ import software.amazon.ion.Timestamp;
             writeNull(IonType.TIMESTAMP);
             return;
         }
-        prepareValue();
+        final long contentLength = prepareValue();
 
-        // optimistically try to fit a timestamp length in low nibble (most should)
-        updateLength(1);
-        pushContainer(ContainerType.VALUE);
-        buffer.writeByte(TIMESTAMP_TYPE);
+        if (contentLength != UNKNOWN_LENGTH)
+        {
+            updateLength(writeTypedLength(TIMESTAMP_TYPE, contentLength));
+            pushContainer(ContainerType.VALUE, contentLength);
+            writeTimestampValue(value);
+            popContainer();
+        }
+        else
+        {
+            // optimistically try to fit a timestamp length in low nibble (most should)
+            updateLength(1);
+            pushContainer(ContainerType.VALUE);
+            buffer.writeByte(TIMESTAMP_TYPE);
+            writeTimestampValue(value);
+            final ContainerInfo info = popContainer();
+            patchSingleByteTypedOptimisticValue(TIMESTAMP_TYPE, info);
+        }
 
+        finishValue();
+    }
+
+    /** Encodes the fields of a timestamp, updating the current container length context. */
+    @SuppressWarnings("deprecation")
+    private void writeTimestampValue(final Timestamp value)
+    {
         // OFFSET
         final Integer offset = value.getLocalOffset();
         if (offset == null)
@@ -1256,11 +1594,6 @@ import software.amazon.ion.Timestamp;
                 writeDecimalValue(fraction);
             }
         }
-
-        final ContainerInfo info = popContainer();
-        patchSingleByteTypedOptimisticValue(TIMESTAMP_TYPE, info);
-
-        finishValue();
     }
 
     public void writeSymbol(String content) throws IOException
@@ -1288,9 +1621,24 @@ import software.amazon.ion.Timestamp;
             writeNull(IonType.STRING);
             return;
         }
-        prepareValue();
+        final long contentLength = prepareValue();
 
-        // assume the string is ASCII and round up the sizing -- we should revisit this for CJK heavy use cases
+        if (contentLength != UNKNOWN_LENGTH)
+        {
+            updateLength(writeTypedLength(STRING_TYPE, contentLength));
+            final int utf8Length = buffer.writeUTF8(value);
+            if (utf8Length != contentLength)
+            {
+                throw new IllegalStateException(
+                    "Declared length " + contentLength + " does not match the UTF-8 length " + utf8Length + " of the string");
+            }
+            updateLength(utf8Length);
+            finishValue();
+            return;
+        }
+
+        // assume the string is ASCII and round up the sizing -- measuring the UTF-8 length up front is a second
+        // pass over the string that costs more than patching, even for non-ASCII strings that need a side patch
         int estUtf8Length = value.length();
         int preallocatedLength = 1;
         final long lengthPosition = buffer.position() + 1;
@@ -1420,18 +1768,62 @@ import software.amazon.ion.Timestamp;
     /*package*/ void truncate(long position)
     {
         buffer.truncate(position);
-        // TODO decide if it is worth making this faster than O(N)
-        final PatchPoint patch = patchPoints.truncate(position);
-        if (patch != null)
+        final long patchPosition = patchPoints.truncate(position);
+        if (patchPosition >= 0)
         {
-            patchBuffer.truncate(patch.patchPosition);
+            patchBuffer.truncate(patchPosition);
         }
     }
 
     public void flush() throws IOException {}
 
+    /**
+     * Appends views of the finished stream to the given list, interleaving the patched lengths with the rest of
+     * the buffered data.  The views are only valid until {@link #discardFinished()} is called.
+     */
+    /*package*/ void gatherFinished(final List<ByteBuffer> views)
+    {
+        if (!containers.isEmpty())
+        {
+            throw new IllegalStateException("Cannot finish within container: " + containers);
+        }
+
+        long bufferPosition = 0;
+        for (int i = 0; i < patchPoints.size(); i++)
+        {
+            final long oldPosition = patchPoints.oldPosition(i);
+            buffer.addViews(views, bufferPosition, oldPosition - bufferPosition);
+            patchBuffer.addViews(views, patchPoints.patchPosition(i), patchPoints.patchLength(i));
+
+            // skip over the preallocated varuint field
+            bufferPosition = oldPosition;
+            bufferPosition += patchPoints.oldLength(i);
+        }
+        buffer.addViews(views, bufferPosition, buffer.position() - bufferPosition);
+    }
+
+    /** Clears the buffered data after it has been written out via {@link #gatherFinished(List)}. */
+    /*package*/ void discardFinished()
+    {
+        patchPoints.clear();
+        patchBuffer.reset();
+        buffer.reset();
+
+        hasWrittenValuesSinceFinished = false;
+    }
+
     public void finish() throws IOException
     {
+        if (channel != null)
+        {
+            views.clear();
+            gatherFinished(views);
+            WriteBuffer.writeFully(channel, views.toArray(new ByteBuffer[views.size()]));
+            views.clear();
+            discardFinished();
+            return;
+        }
+
         if (!containers.isEmpty())
         {
             throw new IllegalStateException("Cannot finish within container: " + containers);
@@ -1445,18 +1837,18 @@ import software.amazon.ion.Timestamp;
         else
         {
             long bufferPosition = 0;
-            for (final PatchPoint patch : patchPoints)
+            for (int i = 0; i < patchPoints.size(); i++)
             {
                 // write up to the thing to be patched
-                final long bufferLength = patch.oldPosition - bufferPosition;
-                buffer.writeTo(out, bufferPosition, bufferLength);
+                final long oldPosition = patchPoints.oldPosition(i);
+                buffer.writeTo(out, bufferPosition, oldPosition - bufferPosition);
 
                 // write out the patch
-                patchBuffer.writeTo(out, patch.patchPosition, patch.patchLength);
+                patchBuffer.writeTo(out, patchPoints.patchPosition(i), patchPoints.patchLength(i));
 
                 // skip over the preallocated varuint field
-                bufferPosition = patch.oldPosition;
-                bufferPosition += patch.oldLength;
+                bufferPosition = oldPosition;
+                bufferPosition += patchPoints.oldLength(i);
             }
             buffer.writeTo(out, bufferPosition, buffer.position() - bufferPosition);
         }
@@ -1500,7 +1892,14 @@ import software.amazon.ion.Timestamp;
             if (streamCloseMode == StreamCloseMode.CLOSE)
             {
                 // release the stream
-                out.close();
+                if (channel != null)
+                {
+                    channel.close();
+                }
+                else
+                {
+                    out.close();
+                }
             }
         }
     }
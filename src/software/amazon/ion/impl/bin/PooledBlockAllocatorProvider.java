@@ -14,51 +14,284 @@
 
 package software.amazon.ion.impl.bin;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorStatistics;
 
 /**
- * A simple pooling implementation of {@link BlockAllocatorProvider} with a global thread-safe free block list
- * for each block size.
+ * A pooling implementation of {@link BlockAllocatorProvider} with a two tier free list for each block size:
+ * a small per-thread <i>magazine</i> in front of a shared <i>depot</i>.
+ * <p>
+ * In steady state, blocks are allocated from and released to the calling thread's magazine, whose lock is
+ * uncontended.  Only when a magazine runs dry or overflows does it exchange a batch of blocks with the depot.
+ * The pool, magazines included, retains at most {@link #setMaxRetainedBytes(long) a configured number of bytes}
+ * across all block sizes and evicts blocks that have sat unused for longer than
+ * {@link #setIdleTimeout(long, TimeUnit) the idle timeout}; evicted blocks are simply left to the garbage collector.
+ * Idle eviction is performed opportunistically when the depot is accessed, or explicitly via
+ * {@link #evictIdleBlocks()}.
+ * <p>
+ * Free blocks do not refer to their allocator, so a thread's magazine never keeps an allocator (and with it,
+ * the thread local holding the magazine) reachable.  Pools are meant to be shared--see
+ * {@link BlockAllocatorProviders}.
  * <p>
  * This implementation is thread-safe.
  */
 /*package*/ final class PooledBlockAllocatorProvider extends BlockAllocatorProvider
 {
+    /** The default bound on the bytes retained by the pool. */
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 64L * 1024 * 1024;
+    /** The default time a block may sit unused in the pool before it is evicted. */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60L * 1000;
+
+    /** The target number of bytes cached by each thread's magazine for a given block size. */
+    private static final int MAGAZINE_BYTES = 256 * 1024;
+    /** The smallest magazine, which must be able to hold a batch and still have room to release into. */
+    private static final int MIN_MAGAZINE_CAPACITY = 2;
+    /** Magazine hits are counted locally and published in batches of this size to avoid a contended counter. */
+    private static final int HIT_PUBLISH_INTERVAL = 1024;
+
     /**
-     * A {@link BlockAllocator} of for a particular size that has a single thread-safe free list.
+     * A per-thread cache of free blocks, guarded by its own monitor.  Only its owner allocates from and
+     * releases to it, so the monitor is only contended when idle blocks are being evicted.
+     */
+    private static final class Magazine
+    {
+        final ArrayDeque<PooledBlock> blocks = new ArrayDeque<PooledBlock>();
+        final Thread owner = Thread.currentThread();
+        int unpublishedHits;
+    }
+
+    /** A block that knows how to return itself to its allocator. */
+    private static final class PooledBlock extends Block
+    {
+        /** The allocator this block was allocated from, or {@code null} while the block is free. */
+        PooledBlockAllocator allocator;
+        /** When this block entered its current free list, in {@link System#nanoTime()} units. */
+        long depositedAt;
+
+        PooledBlock(final ByteBuffer storage, final PooledBlockAllocator allocator)
+        {
+            super(storage);
+            this.allocator = allocator;
+        }
+
+        @Override
+        public void close()
+        {
+            reset();
+            final PooledBlockAllocator owner = allocator;
+            allocator = null;
+            owner.release(this);
+        }
+    }
+
+    /**
+     * A {@link BlockAllocator} of for a particular size backed by thread-local magazines and a shared depot.
      * <p>
      * This implementation is thread-safe.
      */
     private final class PooledBlockAllocator extends BlockAllocator
     {
         private final int blockSize;
-        private final ConcurrentLinkedQueue<Block> freeBlocks;
+        private final int magazineCapacity;
+        private final int batchSize;
+        private final ThreadLocal<Magazine> localMagazine;
+        /** Every thread's magazine, so that idle blocks can be evicted from them. */
+        private final ConcurrentLinkedQueue<Magazine> magazines;
+        /** Free blocks shared by all threads; guarded by its own monitor.  Most recently deposited last. */
+        private final ArrayDeque<PooledBlock> depot;
+        /** When the magazines are next due to be swept for idle blocks, in {@link System#nanoTime()} units. */
+        private volatile long nextSweepAt;
 
         public PooledBlockAllocator(final int blockSize)
         {
             this.blockSize = blockSize;
-            this.freeBlocks = new ConcurrentLinkedQueue<Block>();
+            this.magazineCapacity = Math.max(MIN_MAGAZINE_CAPACITY, MAGAZINE_BYTES / blockSize);
+            this.batchSize = magazineCapacity / 2;
+            this.magazines = new ConcurrentLinkedQueue<Magazine>();
+            // the magazine must not refer back to this allocator, or the thread local could never be collected
+            this.localMagazine = new ThreadLocal<Magazine>()
+            {
+                @Override
+                protected Magazine initialValue()
+                {
+                    final Magazine magazine = new Magazine();
+                    magazines.add(magazine);
+                    return magazine;
+                }
+            };
+            this.depot = new ArrayDeque<PooledBlock>();
+            this.nextSweepAt = System.nanoTime();
         }
 
         @Override
         public Block allocateBlock()
         {
-            Block block = freeBlocks.poll();
+            final Magazine magazine = localMagazine.get();
+            PooledBlock block;
+            boolean refilled = false;
+            synchronized (magazine)
+            {
+                block = magazine.blocks.pollFirst();
+                if (block == null)
+                {
+                    publishHits(magazine);
+                    refill(magazine);
+                    refilled = true;
+                    block = magazine.blocks.pollFirst();
+                }
+                if (block != null && ++magazine.unpublishedHits >= HIT_PUBLISH_INTERVAL)
+                {
+                    publishHits(magazine);
+                }
+            }
+            if (refilled)
+            {
+                sweepIfDue();
+            }
             if (block == null)
             {
-                block = new Block(new byte[blockSize])
+                misses.incrementAndGet();
+                final ByteBuffer storage =
+                    direct ? ByteBuffer.allocateDirect(blockSize) : ByteBuffer.allocate(blockSize);
+                return new PooledBlock(storage, this);
+            }
+            retainedBytes.addAndGet(-blockSize);
+            block.allocator = this;
+            return block;
+        }
+
+        /*package*/ void release(final PooledBlock block)
+        {
+            if (retainedBytes.addAndGet(blockSize) > maxRetainedBytes)
+            {
+                retainedBytes.addAndGet(-blockSize);
+                evictions.incrementAndGet();
+                return;
+            }
+            final Magazine magazine = localMagazine.get();
+            boolean spilled = false;
+            synchronized (magazine)
+            {
+                if (magazine.blocks.size() >= magazineCapacity)
+                {
+                    spill(magazine);
+                    spilled = true;
+                }
+                // oldest blocks are reused first, which keeps reuse order stable for callers
+                block.depositedAt = System.nanoTime();
+                magazine.blocks.addLast(block);
+            }
+            if (spilled)
+            {
+                sweepIfDue();
+            }
+        }
+
+        /** Moves a batch of the magazine's least recently released blocks to the depot--must hold its lock. */
+        private void spill(final Magazine magazine)
+        {
+            final long now = System.nanoTime();
+            synchronized (depot)
+            {
+                evictIdle(depot, now);
+                for (int i = 0; i < batchSize; i++)
+                {
+                    final PooledBlock block = magazine.blocks.pollFirst();
+                    block.depositedAt = now;
+                    depot.addLast(block);
+                }
+            }
+        }
+
+        /** Moves a batch of the depot's most recently deposited blocks to the magazine--must hold its lock. */
+        private void refill(final Magazine magazine)
+        {
+            final long now = System.nanoTime();
+            synchronized (depot)
+            {
+                evictIdle(depot, now);
+                for (int i = 0; i < batchSize && !depot.isEmpty(); i++)
+                {
+                    final PooledBlock block = depot.pollLast();
+                    block.depositedAt = now;
+                    magazine.blocks.addLast(block);
+                }
+            }
+        }
+
+        /**
+         * Drops blocks that have sat in the given free list for longer than the idle timeout--must hold its lock.
+         * Returns the number of blocks left in the list.
+         */
+        private int evictIdle(final ArrayDeque<PooledBlock> blocks, final long now)
+        {
+            PooledBlock block;
+            while ((block = blocks.peekFirst()) != null && now - block.depositedAt > idleTimeoutNanos)
+            {
+                blocks.pollFirst();
+                retainedBytes.addAndGet(-blockSize);
+                evictions.incrementAndGet();
+            }
+            return blocks.size();
+        }
+
+        /**
+         * Sweeps the magazines if it has been an idle timeout since they were last swept.  This must not be called
+         * with a magazine's lock held, as the sweep takes the lock of every magazine in turn.
+         */
+        private void sweepIfDue()
+        {
+            final long now = System.nanoTime();
+            final long sweepAt = nextSweepAt;
+            if (now - sweepAt >= 0)
+            {
+                nextSweepAt = now + idleTimeoutNanos;
+                sweepMagazines(now);
+            }
+        }
+
+        /** Drops the idle blocks of every magazine, forgetting those left empty by threads that have since died. */
+        private void sweepMagazines(final long now)
+        {
+            final Iterator<Magazine> iterator = magazines.iterator();
+            while (iterator.hasNext())
+            {
+                final Magazine magazine = iterator.next();
+                synchronized (magazine)
                 {
-                    @Override
-                    public void close()
+                    if (evictIdle(magazine.blocks, now) == 0 && !magazine.owner.isAlive())
                     {
-                        reset();
-                        freeBlocks.add(this);
+                        publishHits(magazine);
+                        iterator.remove();
                     }
-                };
+                }
+            }
+        }
+
+        /*package*/ void evictIdleBlocks()
+        {
+            final long now = System.nanoTime();
+            synchronized (depot)
+            {
+                evictIdle(depot, now);
+            }
+            sweepMagazines(now);
+        }
+
+        private void publishHits(final Magazine magazine)
+        {
+            if (magazine.unpublishedHits > 0)
+            {
+                hits.addAndGet(magazine.unpublishedHits);
+                magazine.unpublishedHits = 0;
             }
-            return block;
         }
 
         @Override
@@ -71,11 +304,87 @@ import java.util.concurrent.ConcurrentMap;
         public void close() {}
     }
 
-    private final ConcurrentMap<Integer, BlockAllocator> allocators;
+    private final ConcurrentMap<Integer, PooledBlockAllocator> allocators;
+    private final boolean direct;
+
+    private final AtomicLong retainedBytes;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    private volatile long maxRetainedBytes;
+    private volatile long idleTimeoutNanos;
 
     public PooledBlockAllocatorProvider()
     {
-        allocators = new ConcurrentHashMap<Integer, BlockAllocator>();
+        this(false);
+    }
+
+    /**
+     * @param direct whether the blocks vended should be backed by direct {@link ByteBuffer} instances
+     *               (i.e. live outside of the Java heap) instead of heap arrays.
+     *               Pooling is particularly important for direct blocks as they are expensive to allocate
+     *               and are only reclaimed when the garbage collector gets to them.
+     */
+    public PooledBlockAllocatorProvider(final boolean direct)
+    {
+        allocators = new ConcurrentHashMap<Integer, PooledBlockAllocator>();
+        this.direct = direct;
+        this.retainedBytes = new AtomicLong();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        this.maxRetainedBytes = DEFAULT_MAX_RETAINED_BYTES;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /** Constructs an empty pool of the same kind of blocks, and with the same limits, as the given pool. */
+    /*package*/ PooledBlockAllocatorProvider(final PooledBlockAllocatorProvider other)
+    {
+        this(other.direct);
+        this.maxRetainedBytes = other.maxRetainedBytes;
+        this.idleTimeoutNanos = other.idleTimeoutNanos;
+    }
+
+    /**
+     * Sets the maximum number of bytes of free blocks the pool retains across all block sizes, counting both
+     * the shared depot and the per-thread magazines.
+     */
+    public void setMaxRetainedBytes(final long maxRetainedBytes)
+    {
+        if (maxRetainedBytes < 0)
+        {
+            throw new IllegalArgumentException("Maximum retained bytes cannot be negative: " + maxRetainedBytes);
+        }
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /** Sets how long a block may sit unused in the pool before it is evicted. */
+    public void setIdleTimeout(final long timeout, final TimeUnit unit)
+    {
+        if (timeout < 0)
+        {
+            throw new IllegalArgumentException("Idle timeout cannot be negative: " + timeout);
+        }
+        this.idleTimeoutNanos = unit.toNanos(timeout);
+    }
+
+    /** Evicts all blocks that have exceeded the idle timeout from the shared depot and every thread's magazine. */
+    public void evictIdleBlocks()
+    {
+        for (final PooledBlockAllocator allocator : allocators.values())
+        {
+            allocator.evictIdleBlocks();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool's counters.  Hits served by a thread's magazine are published in batches,
+     * so may lag slightly behind.
+     */
+    public AllocatorStatistics getStatistics()
+    {
+        return new AllocatorStatistics(hits.get(), misses.get(), evictions.get(), retainedBytes.get());
     }
 
     @Override
@@ -86,11 +395,11 @@ import java.util.concurrent.ConcurrentMap;
             throw new IllegalArgumentException("Invalid block size: " + blockSize);
         }
 
-        BlockAllocator allocator = allocators.get(blockSize);
+        PooledBlockAllocator allocator = allocators.get(blockSize);
         if (allocator == null)
         {
             allocator = new PooledBlockAllocator(blockSize);
-            final BlockAllocator existingAllocator = allocators.putIfAbsent(blockSize, allocator);
+            final PooledBlockAllocator existingAllocator = allocators.putIfAbsent(blockSize, allocator);
             if (existingAllocator != null)
             {
                 allocator = existingAllocator;
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import static software.amazon.ion.Decimal.isNegativeZero;
+import static software.amazon.ion.Timestamp.Precision.DAY;
+import static software.amazon.ion.Timestamp.Precision.MINUTE;
+import static software.amazon.ion.Timestamp.Precision.MONTH;
+import static software.amazon.ion.Timestamp.Precision.SECOND;
+import static software.amazon.ion.impl.bin.IonRawBinaryWriter.typedLength;
+import static software.amazon.ion.impl.bin.WriteBuffer.varIntLength;
+import static software.amazon.ion.impl.bin.WriteBuffer.varUIntLength;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonBool;
+import software.amazon.ion.IonContainer;
+import software.amazon.ion.IonDecimal;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonFloat;
+import software.amazon.ion.IonInt;
+import software.amazon.ion.IonLob;
+import software.amazon.ion.IonString;
+import software.amazon.ion.IonSymbol;
+import software.amazon.ion.IonTimestamp;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.SymbolToken;
+import software.amazon.ion.Timestamp;
+
+/**
+ * Writes {@link IonValue} trees to an {@link IonRawBinaryWriter} in two passes, so that no length is ever
+ * preallocated or patched.
+ * <p>
+ * The first pass resolves every symbol of the tree, in the order the second pass writes them, and computes the
+ * content length of every value.  The lengths are kept in a table indexed by the pre-order position of the value
+ * rather than on the values themselves, so a tree can be mutated between writes.  The second pass declares each
+ * length to the raw writer before writing the value, which then writes each container header and annotation
+ * wrapper exactly once.
+ * <p>
+ * Instances are <b>not</b> thread-safe.
+ */
+/*package*/ final class PresizedValueWriter
+{
+    /** Resolves the symbols of the values written to their IDs in the output. */
+    /*package*/ interface SymbolInterner
+    {
+        /** Returns the token to write for the given symbol, or <code>null</code> if it is <code>null</code>. */
+        SymbolToken intern(SymbolToken token);
+    }
+
+    private static final int INITIAL_LENGTHS_CAPACITY = 64;
+
+    private static final int LONG_BITS = 64;
+    private static final int OCTET_BITS = 8;
+
+    private final IonRawBinaryWriter    out;
+    private final SymbolInterner        interner;
+    private final boolean               isFloatBinary32Enabled;
+
+    /** The content lengths of the values being written, in pre-order. */
+    private long[]                      lengths;
+    /** The number of lengths measured by the first pass. */
+    private int                         count;
+    /** The index of the length of the next value written by the second pass. */
+    private int                         cursor;
+
+    /*package*/ PresizedValueWriter(final IonRawBinaryWriter out,
+                                    final SymbolInterner interner,
+                                    final boolean isFloatBinary32Enabled)
+    {
+        this.out = out;
+        this.interner = interner;
+        this.isFloatBinary32Enabled = isFloatBinary32Enabled;
+        this.lengths = new long[INITIAL_LENGTHS_CAPACITY];
+    }
+
+    /** Writes the given value, including its field name if the writer is in a struct and no field name is set. */
+    /*package*/ void write(final IonValue value) throws IOException
+    {
+        final boolean needsFieldName = out.isInStruct() && !out.isFieldNameSet();
+
+        count = 0;
+        if (needsFieldName)
+        {
+            // the field name is part of the parent's content, but must be interned first
+            fieldName(value);
+        }
+        measure(value);
+
+        cursor = 0;
+        if (needsFieldName)
+        {
+            out.setFieldNameSymbol(fieldName(value));
+        }
+        writeValue(value);
+    }
+
+    // First Pass
+
+    private SymbolToken fieldName(final IonValue value)
+    {
+        final SymbolToken token = interner.intern(value.getFieldNameSymbol());
+        if (token == null)
+        {
+            throw new IllegalStateException("Field name not set");
+        }
+        return token;
+    }
+
+    private SymbolToken[] annotations(final IonValue value)
+    {
+        final SymbolToken[] annotations = value.getTypeAnnotationSymbols();
+        for (int i = 0; i < annotations.length; i++)
+        {
+            annotations[i] = interner.intern(annotations[i]);
+        }
+        return annotations;
+    }
+
+    /** Records the content length of the value and returns the length of its encoding, including annotations. */
+    private long measure(final IonValue value)
+    {
+        final SymbolToken[] annotations = annotations(value);
+
+        final int index = count++;
+        if (index == lengths.length)
+        {
+            final long[] newLengths = new long[lengths.length << 1];
+            System.arraycopy(lengths, 0, newLengths, 0, lengths.length);
+            lengths = newLengths;
+        }
+        final long contentLength = measureContent(value);
+        lengths[index] = contentLength;
+
+        long length = typedLength(contentLength) + contentLength;
+        if (annotations.length > 0)
+        {
+            long annotationsLength = 0;
+            for (final SymbolToken annotation : annotations)
+            {
+                annotationsLength += varUIntLength(annotation.getSid());
+            }
+            final long wrapperLength = varUIntLength(annotationsLength) + annotationsLength + length;
+            length = typedLength(wrapperLength) + wrapperLength;
+        }
+        return length;
+    }
+
+    private long measureContent(final IonValue value)
+    {
+        if (value.isNullValue())
+        {
+            return 0;
+        }
+        switch (value.getType())
+        {
+            case NULL:
+            case BOOL:
+                return 0;
+            case INT:
+                return intLength((IonInt) value);
+            case FLOAT:
+                final double doubleValue = ((IonFloat) value).doubleValue();
+                return isFloatBinary32Enabled && doubleValue == ((double) ((float) doubleValue)) ? 4 : 8;
+            case DECIMAL:
+                final BigDecimal decimalValue = ((IonDecimal) value).decimalValue();
+                if (decimalValue.signum() == 0 && decimalValue.scale() == 0 && !isNegativeZero(decimalValue))
+                {
+                    // 0d0 has no content
+                    return 0;
+                }
+                return decimalLength(decimalValue);
+            case TIMESTAMP:
+                return timestampLength(((IonTimestamp) value).timestampValue());
+            case SYMBOL:
+                final SymbolToken symbol = interner.intern(((IonSymbol) value).symbolValue());
+                // SID zero still takes an octet
+                return Math.max(1, uIntLength(symbol.getSid()));
+            case STRING:
+                return WriteBuffer.utf8Length(((IonString) value).stringValue());
+            case CLOB:
+            case BLOB:
+                return ((IonLob) value).byteSize();
+            case LIST:
+            case SEXP:
+                long sequenceLength = 0;
+                for (final IonValue child : (IonContainer) value)
+                {
+                    sequenceLength += measure(child);
+                }
+                return sequenceLength;
+            case STRUCT:
+                long structLength = 0;
+                for (final IonValue child : (IonContainer) value)
+                {
+                    structLength += varUIntLength(fieldName(child).getSid());
+                    structLength += measure(child);
+                }
+                return structLength;
+            default:
+                throw new IonException("Cannot write value of type: " + value.getType());
+        }
+    }
+
+    /** Returns the number of octets of the big-endian magnitude of an unsigned integer. */
+    private static int uIntLength(final long magnitude)
+    {
+        return (LONG_BITS - Long.numberOfLeadingZeros(magnitude) + OCTET_BITS - 1) / OCTET_BITS;
+    }
+
+    /** Returns the number of octets of the big-endian magnitude of a signed integer, leaving room for the sign. */
+    private static int signedIntLength(final int bitLength)
+    {
+        return (bitLength / OCTET_BITS) + 1;
+    }
+
+    private static long intLength(final IonInt value)
+    {
+        if (value.getIntegerSize() == IntegerSize.BIG_INTEGER)
+        {
+            return signedIntLength(value.bigIntegerValue().abs().bitLength());
+        }
+        final long longValue = value.longValue();
+        if (longValue == Long.MIN_VALUE)
+        {
+            return 8;
+        }
+        return uIntLength(Math.abs(longValue));
+    }
+
+    /** Returns the length of the exponent and coefficient of a decimal. */
+    private static long decimalLength(final BigDecimal value)
+    {
+        final long exponentLength = varIntLength(-value.scale());
+        if (isNegativeZero(value))
+        {
+            return exponentLength + 1;
+        }
+        if (value.signum() == 0)
+        {
+            return exponentLength;
+        }
+        final BigInteger coefficient = value.unscaledValue();
+        final int bitLength = coefficient.bitLength();
+        if (bitLength < LONG_BITS - 1)
+        {
+            return exponentLength + signedIntLength(LONG_BITS - Long.numberOfLeadingZeros(Math.abs(coefficient.longValue())));
+        }
+        return exponentLength + signedIntLength(coefficient.abs().bitLength());
+    }
+
+    @SuppressWarnings("deprecation")
+    private static long timestampLength(final Timestamp value)
+    {
+        final Integer offset = value.getLocalOffset();
+        // unknown offset is written as negative zero
+        long length = offset == null ? 1 : varIntLength(offset.intValue());
+        length += varUIntLength(value.getZYear());
+
+        final int precision = value.getPrecision().ordinal();
+        if (precision >= MONTH.ordinal())
+        {
+            length += varUIntLength(value.getZMonth());
+        }
+        if (precision >= DAY.ordinal())
+        {
+            length += varUIntLength(value.getZDay());
+        }
+        if (precision >= MINUTE.ordinal())
+        {
+            length += varUIntLength(value.getZHour());
+            length += varUIntLength(value.getZMinute());
+        }
+        if (precision >= SECOND.ordinal())
+        {
+            length += varUIntLength(value.getZSecond());
+
+            final BigDecimal fraction = value.getZFractionalSecond();
+            if (fraction != null && !BigDecimal.ZERO.equals(fraction) && fraction.scale() > -1)
+            {
+                length += decimalLength(fraction);
+            }
+        }
+        return length;
+    }
+
+    // Second Pass
+
+    private void writeValue(final IonValue value) throws IOException
+    {
+        out.setTypeAnnotationSymbols(annotations(value));
+        out.setNextValueContentLength(lengths[cursor++]);
+
+        final IonType type = value.getType();
+        if (value.isNullValue())
+        {
+            out.writeNull(type);
+            return;
+        }
+        switch (type)
+        {
+            case BOOL:
+                out.writeBool(((IonBool) value).booleanValue());
+                break;
+            case INT:
+                final IonInt intValue = (IonInt) value;
+                if (intValue.getIntegerSize() == IntegerSize.BIG_INTEGER)
+                {
+                    out.writeInt(intValue.bigIntegerValue());
+                }
+                else
+                {
+                    out.writeInt(intValue.longValue());
+                }
+                break;
+            case FLOAT:
+                out.writeFloat(((IonFloat) value).doubleValue());
+                break;
+            case DECIMAL:
+                out.writeDecimal(((IonDecimal) value).decimalValue());
+                break;
+            case TIMESTAMP:
+                out.writeTimestamp(((IonTimestamp) value).timestampValue());
+                break;
+            case SYMBOL:
+                out.writeSymbolToken(interner.intern(((IonSymbol) value).symbolValue()));
+                break;
+            case STRING:
+                out.writeString(((IonString) value).stringValue());
+                break;
+            case CLOB:
+                out.writeClob(((IonLob) value).getBytes());
+                break;
+            case BLOB:
+                out.writeBlob(((IonLob) value).getBytes());
+                break;
+            case LIST:
+            case SEXP:
+                out.stepIn(type);
+                for (final IonValue child : (IonContainer) value)
+                {
+                    writeValue(child);
+                }
+                out.stepOut();
+                break;
+            case STRUCT:
+                out.stepIn(type);
+                for (final IonValue child : (IonContainer) value)
+                {
+                    out.setFieldNameSymbol(fieldName(child));
+                    writeValue(child);
+                }
+                out.stepOut();
+                break;
+            default:
+                throw new IonException("Cannot write value of type: " + type);
+        }
+    }
+}
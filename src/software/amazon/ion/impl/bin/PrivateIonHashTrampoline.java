@@ -16,7 +16,7 @@ public final class PrivateIonHashTrampoline
     public static IonWriter newIonWriter(ByteArrayOutputStream baos) throws IOException
     {
         return new IonRawBinaryWriter(
-                new PooledBlockAllocatorProvider(),
+                BlockAllocatorProviders.pooledProvider(),
                 PrivateIonManagedBinaryWriterBuilder.DEFAULT_BLOCK_SIZE,
                 baos,
                 AbstractIonWriter.WriteValueOptimization.NONE,
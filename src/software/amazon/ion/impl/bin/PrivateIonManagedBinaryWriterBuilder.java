@@ -18,8 +18,10 @@ import static software.amazon.ion.impl.bin.IonManagedBinaryWriter.ONLY_SYSTEM_IM
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.GatheringByteChannel;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonWriter;
 import software.amazon.ion.SubstituteSymbolTableException;
@@ -48,26 +50,88 @@ public final class PrivateIonManagedBinaryWriterBuilder
         POOLED
         {
             @Override
-            BlockAllocatorProvider createAllocatorProvider()
+            BlockAllocatorProvider getAllocatorProvider()
             {
-                return new PooledBlockAllocatorProvider();
+                return BlockAllocatorProviders.pooledProvider();
+            }
+        },
+        /**
+         * Pooled blocks backed by direct {@link java.nio.ByteBuffer} instances, keeping buffered output
+         * outside of the Java heap.
+         */
+        POOLED_DIRECT
+        {
+            @Override
+            BlockAllocatorProvider getAllocatorProvider()
+            {
+                return BlockAllocatorProviders.pooledDirectProvider();
             }
         },
         BASIC
         {
             @Override
-            BlockAllocatorProvider createAllocatorProvider()
+            BlockAllocatorProvider getAllocatorProvider()
             {
                 return BlockAllocatorProviders.basicProvider();
             }
         };
 
-        /*package*/ abstract BlockAllocatorProvider createAllocatorProvider();
+        /*package*/ abstract BlockAllocatorProvider getAllocatorProvider();
+    }
+
+    /** A point in time snapshot of the counters of a pooled {@link AllocatorMode}. */
+    public static final class AllocatorStatistics
+    {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long retainedBytes;
+
+        /*package*/ AllocatorStatistics(final long hits, final long misses, final long evictions, final long retainedBytes)
+        {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.retainedBytes = retainedBytes;
+        }
+
+        /** Returns the number of blocks allocated from the pool. */
+        public long getHits()
+        {
+            return hits;
+        }
+
+        /** Returns the number of blocks that had to be newly allocated because the pool was empty. */
+        public long getMisses()
+        {
+            return misses;
+        }
+
+        /** Returns the number of released blocks the pool dropped, either because it was full or they sat idle. */
+        public long getEvictions()
+        {
+            return evictions;
+        }
+
+        /** Returns the number of bytes of free blocks held by the pool, including its per-thread caches. */
+        public long getRetainedBytes()
+        {
+            return retainedBytes;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "AllocatorStatistics{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", retainedBytes=" + retainedBytes + "}";
+        }
     }
 
     public static final int DEFAULT_BLOCK_SIZE = 32768;
 
-    /*package*/ final    BlockAllocatorProvider provider;
+    /*package*/ volatile BlockAllocatorProvider provider;
+    /** Whether {@link #provider} was created for, and so may only be configured by, this builder. */
+    private     volatile boolean                ownsProvider;
     /*package*/ volatile int                    symbolsBlockSize;
     /*package*/ volatile int                    userBlockSize;
     /*package*/ volatile PreallocationMode      preallocationMode;
@@ -76,10 +140,12 @@ public final class PrivateIonManagedBinaryWriterBuilder
     /*package*/ volatile WriteValueOptimization optimization;
     /*package*/ volatile SymbolTable            initialSymbolTable;
     /*package*/ volatile boolean                isFloatBinary32Enabled;
+    /*package*/ volatile boolean                isLengthPrecomputationEnabled;
 
     private PrivateIonManagedBinaryWriterBuilder(final BlockAllocatorProvider provider)
     {
         this.provider = provider;
+        this.ownsProvider = false;
         this.symbolsBlockSize = DEFAULT_BLOCK_SIZE;
         this.userBlockSize = DEFAULT_BLOCK_SIZE;
         this.imports = ONLY_SYSTEM_IMPORTS;
@@ -87,11 +153,14 @@ public final class PrivateIonManagedBinaryWriterBuilder
         this.catalog = new SimpleCatalog();
         this.optimization = WriteValueOptimization.NONE;
         this.isFloatBinary32Enabled = false;
+        this.isLengthPrecomputationEnabled = false;
     }
 
     private PrivateIonManagedBinaryWriterBuilder(final PrivateIonManagedBinaryWriterBuilder other)
     {
+        // copies share the pool, but configuring a copy gives it its own
         this.provider           = other.provider;
+        this.ownsProvider       = false;
         this.symbolsBlockSize   = other.symbolsBlockSize;
         this.userBlockSize      = other.userBlockSize;
         this.preallocationMode  = other.preallocationMode;
@@ -100,6 +169,7 @@ public final class PrivateIonManagedBinaryWriterBuilder
         this.optimization       = other.optimization;
         this.initialSymbolTable = other.initialSymbolTable;
         this.isFloatBinary32Enabled = other.isFloatBinary32Enabled;
+        this.isLengthPrecomputationEnabled = other.isLengthPrecomputationEnabled;
     }
 
     public PrivateIonManagedBinaryWriterBuilder copy()
@@ -201,6 +271,23 @@ public final class PrivateIonManagedBinaryWriterBuilder
         return this;
     }
 
+    /**
+     * Makes {@link software.amazon.ion.IonValue#writeTo(IonWriter)} compute the length of every nested value
+     * before writing a container, so that its lengths are written once instead of being preallocated and patched.
+     * <p>
+     * This trades a second traversal of the value for less buffering work, and pays off for values that are
+     * large or deeply nested.  Top-level scalars and local symbol tables are written as usual.
+     */
+    public PrivateIonManagedBinaryWriterBuilder withLengthPrecomputationEnabled() {
+        isLengthPrecomputationEnabled = true;
+        return this;
+    }
+
+    public PrivateIonManagedBinaryWriterBuilder withLengthPrecomputationDisabled() {
+        isLengthPrecomputationEnabled = false;
+        return this;
+    }
+
     public PrivateIonManagedBinaryWriterBuilder withInitialSymbolTable(SymbolTable symbolTable)
     {
         if (symbolTable != null)
@@ -236,6 +323,64 @@ public final class PrivateIonManagedBinaryWriterBuilder
         return this;
     }
 
+    /**
+     * Returns a pool that only this builder, and copies made from it afterwards, allocate from.  Builders start out
+     * sharing the pool of their {@link AllocatorMode}, so the first call replaces it with an empty pool of its own.
+     */
+    private synchronized PooledBlockAllocatorProvider configurablePooledProvider()
+    {
+        if (!(provider instanceof PooledBlockAllocatorProvider))
+        {
+            throw new UnsupportedOperationException("The allocator mode of this builder does not pool blocks");
+        }
+        if (!ownsProvider)
+        {
+            provider = new PooledBlockAllocatorProvider((PooledBlockAllocatorProvider) provider);
+            ownsProvider = true;
+        }
+        return (PooledBlockAllocatorProvider) provider;
+    }
+
+    /**
+     * Sets the maximum number of bytes of free blocks the allocation pool retains for reuse.
+     * <p>
+     * This gives the builder a pool of its own, which is shared with its later {@linkplain #copy() copies} but
+     * not with other builders, so that configuring it affects no other writers.
+     *
+     * @throws UnsupportedOperationException if this builder's {@link AllocatorMode} does not pool.
+     */
+    public PrivateIonManagedBinaryWriterBuilder withMaxRetainedBlockBytes(final long maxRetainedBytes)
+    {
+        configurablePooledProvider().setMaxRetainedBytes(maxRetainedBytes);
+        return this;
+    }
+
+    /**
+     * Sets how long a free block may sit unused in the allocation pool before it is released.
+     * <p>
+     * Like {@link #withMaxRetainedBlockBytes(long)}, this gives the builder a pool of its own.
+     *
+     * @throws UnsupportedOperationException if this builder's {@link AllocatorMode} does not pool.
+     */
+    public PrivateIonManagedBinaryWriterBuilder withIdleBlockTimeout(final long timeout, final TimeUnit unit)
+    {
+        configurablePooledProvider().setIdleTimeout(timeout, unit);
+        return this;
+    }
+
+    /**
+     * Returns the counters of the allocation pool, or {@code null} if this builder's {@link AllocatorMode}
+     * does not pool.
+     */
+    public AllocatorStatistics getAllocatorStatistics()
+    {
+        if (provider instanceof PooledBlockAllocatorProvider)
+        {
+            return ((PooledBlockAllocatorProvider) provider).getStatistics();
+        }
+        return null;
+    }
+
     // Construction
 
     public IonWriter newWriter(final OutputStream out) throws IOException
@@ -243,6 +388,20 @@ public final class PrivateIonManagedBinaryWriterBuilder
         return new IonManagedBinaryWriter(this, out);
     }
 
+    /**
+     * Constructs a writer that emits its output to the given channel.  Rather than being copied out block by block,
+     * each flushed segment of the stream is handed to the channel as views over the writer's buffers, interleaved
+     * with the patched container lengths, in a single gathering write.
+     * <p>
+     * Combine with {@link AllocatorMode#POOLED_DIRECT} to avoid the channel copying heap buffers to native memory.
+     * The channel must be in blocking mode; a flush fails with an {@link IOException} if it accepts nothing.
+     * Closing the writer closes the channel.
+     */
+    public IonWriter newWriter(final GatheringByteChannel channel) throws IOException
+    {
+        return new IonManagedBinaryWriter(this, channel);
+    }
+
     // Static Factories
 
     /**
@@ -253,6 +412,6 @@ public final class PrivateIonManagedBinaryWriterBuilder
      */
     public static PrivateIonManagedBinaryWriterBuilder create(final AllocatorMode allocatorMode)
     {
-        return new PrivateIonManagedBinaryWriterBuilder(allocatorMode.createAllocatorProvider());
+        return new PrivateIonManagedBinaryWriterBuilder(allocatorMode.getAllocatorProvider());
     }
 }
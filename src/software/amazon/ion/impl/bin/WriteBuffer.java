@@ -17,6 +17,9 @@ package software.amazon.ion.impl.bin;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,6 +32,10 @@ import java.util.List;
     private final List<Block> blocks;
     private Block current;
     private int index;
+    /** Heap staging area for streaming off-heap blocks, allocated on first use. */
+    private byte[] transfer;
+    /** Characters copied out of a {@link String} to be scanned for ASCII, allocated on first use. */
+    private char[] asciiScratch;
 
     public WriteBuffer(final BlockAllocator allocator)
     {
@@ -111,7 +118,11 @@ import java.util.List;
         final int index = index(position);
         final int offset = offset(position);
         final Block block = blocks.get(index);
-        return block.data[offset] & OCTET_MASK;
+        if (block.data != null)
+        {
+            return block.data[offset] & OCTET_MASK;
+        }
+        return block.buffer.get(offset) & OCTET_MASK;
     }
 
     /** Writes a single octet to the buffer, expanding if necessary. */
@@ -127,10 +138,31 @@ import java.util.List;
             current = blocks.get(index);
         }
         final Block block = current;
-        block.data[block.limit] = octet;
+        if (block.data != null)
+        {
+            block.data[block.limit] = octet;
+        }
+        else
+        {
+            block.buffer.put(block.limit, octet);
+        }
         block.limit++;
     }
 
+    /** Copies bytes into the block at its limit--does not bounds check or update the limit. */
+    private static void put(final Block block, final byte[] bytes, final int off, final int len)
+    {
+        if (block.data != null)
+        {
+            System.arraycopy(bytes, off, block.data, block.limit, len);
+            return;
+        }
+        // Java 8 has no absolute bulk put, so we borrow the (otherwise unused) position of the block's buffer
+        final ByteBuffer buffer = block.buffer;
+        ((Buffer) buffer).position(block.limit);
+        buffer.put(bytes, off, len);
+    }
+
     // slow in the sense that we do all kind of block boundary checking
     private void writeBytesSlow(final byte[] bytes, int off, int len)
     {
@@ -138,7 +170,7 @@ import java.util.List;
         {
             final Block block = current;
             final int amount = Math.min(len, block.remaining());
-            System.arraycopy(bytes, off, block.data, block.limit, amount);
+            put(block, bytes, off, amount);
             block.limit += amount;
             off += amount;
             len -= amount;
@@ -165,7 +197,7 @@ import java.util.List;
         }
 
         final Block block = current;
-        System.arraycopy(bytes, off, block.data, block.limit, len);
+        put(block, bytes, off, len);
         block.limit += len;
     }
 
@@ -199,6 +231,98 @@ import java.util.List;
     private static final int UTF8_2_OCTET_MIN_VALUE = 1 << 7;
     private static final int UTF8_3_OCTET_MIN_VALUE = 1 << (5 + (1 * UTF8_BITS_PER_FOLLOW_OCTET));
 
+    /** Strings shorter than this are not worth copying out for the ASCII fast path. */
+    private static final int ASCII_FAST_PATH_MIN_LENGTH = 16;
+    /** The number of characters copied out of a {@link String} at a time by the ASCII fast path. */
+    private static final int ASCII_SCRATCH_LENGTH       = 512;
+    /** The number of characters in an eight octet word. */
+    private static final int ASCII_WORD_LENGTH          = 4;
+
+    /** Returns the length of the run of ASCII characters at the start of the given characters. */
+    private static int asciiLength(final char[] chars, final int len)
+    {
+        int i = 0;
+        // test a word at a time--any bit above the seventh makes a character non-ASCII
+        final int wordsEnd = len - (len % ASCII_WORD_LENGTH);
+        while (i < wordsEnd && (chars[i] | chars[i + 1] | chars[i + 2] | chars[i + 3]) < UTF8_2_OCTET_MIN_VALUE)
+        {
+            i += ASCII_WORD_LENGTH;
+        }
+        while (i < len && chars[i] < UTF8_2_OCTET_MIN_VALUE)
+        {
+            i++;
+        }
+        return i;
+    }
+
+    /** Copies ASCII characters into the buffer, one octet each, expanding if necessary. */
+    private void writeASCII(final char[] chars, int off, int len)
+    {
+        while (len > 0)
+        {
+            if (remaining() == 0)
+            {
+                if (index == blocks.size() - 1)
+                {
+                    allocateNewBlock();
+                }
+                index++;
+                current = blocks.get(index);
+            }
+            final Block block = current;
+            final int amount = Math.min(len, block.remaining());
+            final int limit = block.limit;
+            if (block.data != null)
+            {
+                final byte[] data = block.data;
+                for (int i = 0; i < amount; i++)
+                {
+                    data[limit + i] = (byte) chars[off + i];
+                }
+            }
+            else
+            {
+                final ByteBuffer buffer = block.buffer;
+                for (int i = 0; i < amount; i++)
+                {
+                    buffer.put(limit + i, (byte) chars[off + i]);
+                }
+            }
+            block.limit += amount;
+            off += amount;
+            len -= amount;
+        }
+    }
+
+    /**
+     * Bulk copies the run of ASCII characters at the start of the given range of a string, and returns the number
+     * of octets written.  Copying the characters out of the string lets us scan them in words rather than through
+     * {@link CharSequence#charAt(int)}.
+     */
+    private int writeASCIIPrefix(final String chars, int off, int len)
+    {
+        if (asciiScratch == null)
+        {
+            asciiScratch = new char[ASCII_SCRATCH_LENGTH];
+        }
+        final char[] scratch = asciiScratch;
+        int octets = 0;
+        while (len > 0)
+        {
+            final int amount = Math.min(len, scratch.length);
+            chars.getChars(off, off + amount, scratch, 0);
+            final int ascii = asciiLength(scratch, amount);
+            writeASCII(scratch, 0, ascii);
+            octets += ascii;
+            if (ascii < amount)
+            {
+                break;
+            }
+            off += amount;
+            len -= amount;
+        }
+        return octets;
+    }
 
     // slow in the sense that we deal with any kind of UTF-8 sequence and block boundaries
     private int writeUTF8Slow(final CharSequence chars, int off, int len)
@@ -263,12 +387,13 @@ import java.util.List;
     private int writeUTF8UpTo3Byte(final CharSequence chars, int off, int len)
     {
         // fast path if we fit in the block assuming optimistically for all three-byte
-        if ((len * 3) > remaining())
+        if ((len * 3) > remaining() || current.isDirect())
         {
             return writeUTF8Slow(chars, off, len);
         }
 
         final Block block = current;
+        final byte[] data = block.data;
         int limit = block.limit;
         int octets = 0;
         while (len > 0)
@@ -286,20 +411,20 @@ import java.util.List;
 
             if (ch < UTF8_2_OCTET_MIN_VALUE)
             {
-                block.data[limit++] = (byte) ch;
+                data[limit++] = (byte) ch;
                 octets++;
             }
             else if (ch < UTF8_3_OCTET_MIN_VALUE)
             {
-                block.data[limit++] = (byte) (UTF8_2_OCTET_PREFIX_MASK | (ch >> UTF8_2_OCTET_SHIFT)                    );
-                block.data[limit++] = (byte) (UTF8_FOLLOW_PREFIX_MASK  | (ch                        & UTF8_FOLLOW_MASK));
+                data[limit++] = (byte) (UTF8_2_OCTET_PREFIX_MASK | (ch >> UTF8_2_OCTET_SHIFT)                    );
+                data[limit++] = (byte) (UTF8_FOLLOW_PREFIX_MASK  | (ch                        & UTF8_FOLLOW_MASK));
                 octets += 2;
             }
             else
             {
-                block.data[limit++] = (byte) (UTF8_3_OCTET_PREFIX_MASK | ( ch >> UTF8_3_OCTET_SHIFT)                    );
-                block.data[limit++] = (byte) (UTF8_FOLLOW_PREFIX_MASK  | ((ch >> UTF8_2_OCTET_SHIFT) & UTF8_FOLLOW_MASK));
-                block.data[limit++] = (byte) (UTF8_FOLLOW_PREFIX_MASK  | ( ch                        & UTF8_FOLLOW_MASK));
+                data[limit++] = (byte) (UTF8_3_OCTET_PREFIX_MASK | ( ch >> UTF8_3_OCTET_SHIFT)                    );
+                data[limit++] = (byte) (UTF8_FOLLOW_PREFIX_MASK  | ((ch >> UTF8_2_OCTET_SHIFT) & UTF8_FOLLOW_MASK));
+                data[limit++] = (byte) (UTF8_FOLLOW_PREFIX_MASK  | ( ch                        & UTF8_FOLLOW_MASK));
                 octets += 3;
             }
             off++;
@@ -318,12 +443,13 @@ import java.util.List;
     private int writeUTF8UpTo2Byte(final CharSequence chars, int off, int len)
     {
         // fast path if we fit in the block assuming optimistically for all two-byte
-        if ((len * 2) > remaining())
+        if ((len * 2) > remaining() || current.isDirect())
         {
             return writeUTF8Slow(chars, off, len);
         }
 
         final Block block = current;
+        final byte[] data = block.data;
         int limit = block.limit;
         char ch = '\0';
         int octets = 0;
@@ -338,13 +464,13 @@ import java.util.List;
 
             if (ch < UTF8_2_OCTET_MIN_VALUE)
             {
-                block.data[limit++] = (byte) ch;
+                data[limit++] = (byte) ch;
                 octets++;
             }
             else
             {
-                block.data[limit++] = (byte) (UTF8_2_OCTET_PREFIX_MASK | (ch >> UTF8_2_OCTET_SHIFT)                    );
-                block.data[limit++] = (byte) (UTF8_FOLLOW_PREFIX_MASK  | (ch                        & UTF8_FOLLOW_MASK));
+                data[limit++] = (byte) (UTF8_2_OCTET_PREFIX_MASK | (ch >> UTF8_2_OCTET_SHIFT)                    );
+                data[limit++] = (byte) (UTF8_FOLLOW_PREFIX_MASK  | (ch                        & UTF8_FOLLOW_MASK));
                 octets += 2;
             }
             off++;
@@ -373,15 +499,29 @@ import java.util.List;
     /** Returns the number of octets written. */
     public int writeUTF8(final CharSequence chars, int off, int len)
     {
-        // fast path if we fit in the block assuming optimistically for all ASCII
-        if (len > remaining())
+        int octets = 0;
+        if (len >= ASCII_FAST_PATH_MIN_LENGTH && chars instanceof String)
         {
-            return writeUTF8Slow(chars, off, len);
+            // fastest path for leading ASCII, which tends to be most if not all of the string
+            octets = writeASCIIPrefix((String) chars, off, len);
+            if (octets == len)
+            {
+                return octets;
+            }
+            off += octets;
+            len -= octets;
+        }
+
+        // fast path if we fit in the block assuming optimistically for all ASCII--off-heap blocks
+        // have no array to encode into, so they take the slow path (long ASCII runs were copied above)
+        if (len > remaining() || current.isDirect())
+        {
+            return octets + writeUTF8Slow(chars, off, len);
         }
         final Block block = current;
+        final byte[] data = block.data;
         int limit = block.limit;
         char ch = '\0';
-        int octets = 0;
         while (len > 0)
         {
             ch = chars.charAt(off);
@@ -391,7 +531,7 @@ import java.util.List;
                 break;
             }
 
-            block.data[limit++] = (byte) ch;
+            data[limit++] = (byte) ch;
             octets++;
             off++;
             len--;
@@ -426,6 +566,36 @@ import java.util.List;
         return writeUTF8(chars, 0, chars.length());
     }
 
+    /** Returns the number of octets {@link #writeUTF8(CharSequence)} would write for the given characters. */
+    public static int utf8Length(final CharSequence chars)
+    {
+        final int len = chars.length();
+        int octets = 0;
+        for (int i = 0; i < len; i++)
+        {
+            final char ch = chars.charAt(i);
+            if (ch < UTF8_2_OCTET_MIN_VALUE)
+            {
+                octets++;
+            }
+            else if (ch < UTF8_3_OCTET_MIN_VALUE)
+            {
+                octets += 2;
+            }
+            else if (ch >= HIGH_SURROGATE_FIRST && ch <= HIGH_SURROGATE_LAST)
+            {
+                // the pair is encoded as a single code point
+                octets += 4;
+                i++;
+            }
+            else
+            {
+                octets += 3;
+            }
+        }
+        return octets;
+    }
+
     // unsigned fixed integer writes -- does not check sign/bounds
 
     private static final int UINT_2_OCTET_SHIFT = 8 * 1;
@@ -459,8 +629,17 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
-        data[limit++] = (byte) (value                      );
+        if (data != null)
+        {
+            data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
+            data[limit++] = (byte) (value                      );
+        }
+        else
+        {
+            // byte buffers are big-endian, which is the order we want
+            block.buffer.putShort(limit, (short) value);
+            limit += 2;
+        }
         block.limit = limit;
     }
 
@@ -482,9 +661,19 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
-        data[limit++] = (byte) (value                      );
+        if (data != null)
+        {
+            data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
+            data[limit++] = (byte) (value                      );
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(limit++, (byte) (value >> UINT_3_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_2_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value                      ));
+        }
         block.limit = limit;
     }
 
@@ -507,10 +696,19 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
-        data[limit++] = (byte) (value                      );
+        if (data != null)
+        {
+            data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
+            data[limit++] = (byte) (value                      );
+        }
+        else
+        {
+            // byte buffers are big-endian, which is the order we want
+            block.buffer.putInt(limit, (int) value);
+            limit += 4;
+        }
         block.limit = limit;
     }
 
@@ -534,11 +732,23 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte) (value >> UINT_5_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
-        data[limit++] = (byte) (value                      );
+        if (data != null)
+        {
+            data[limit++] = (byte) (value >> UINT_5_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
+            data[limit++] = (byte) (value                      );
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(limit++, (byte) (value >> UINT_5_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_4_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_3_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_2_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value                      ));
+        }
         block.limit = limit;
     }
 
@@ -563,12 +773,25 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte) (value >> UINT_6_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_5_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
-        data[limit++] = (byte) ( value                     );
+        if (data != null)
+        {
+            data[limit++] = (byte) (value >> UINT_6_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_5_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
+            data[limit++] = (byte) ( value                     );
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(limit++, (byte) (value >> UINT_6_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_5_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_4_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_3_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_2_OCTET_SHIFT));
+            buffer.put(limit++, (byte) ( value                     ));
+        }
         block.limit = limit;
     }
 
@@ -594,13 +817,27 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte) (value >> UINT_7_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_6_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_5_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
-        data[limit++] = (byte) (value                      );
+        if (data != null)
+        {
+            data[limit++] = (byte) (value >> UINT_7_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_6_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_5_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
+            data[limit++] = (byte) (value                      );
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(limit++, (byte) (value >> UINT_7_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_6_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_5_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_4_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_3_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value >> UINT_2_OCTET_SHIFT));
+            buffer.put(limit++, (byte) (value                      ));
+        }
         block.limit = limit;
     }
 
@@ -627,17 +864,24 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte) (value >> UINT_8_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_7_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_6_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_5_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
-        data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
-        data[limit++] = (byte) ( value                      );
+        if (data != null)
+        {
+            data[limit++] = (byte) (value >> UINT_8_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_7_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_6_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_5_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_4_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_3_OCTET_SHIFT);
+            data[limit++] = (byte) (value >> UINT_2_OCTET_SHIFT);
+            data[limit++] = (byte) (value                      );
+        }
+        else
+        {
+            // byte buffers are big-endian, which is the order we want
+            block.buffer.putLong(limit, value);
+            limit += 8;
+        }
         block.limit = limit;
-
-
     }
 
     // signed fixed integer writes - does not check bounds (especially important for IntX.MIN_VALUE).
@@ -760,6 +1004,19 @@ import java.util.List;
 
     private static final long VAR_INT_FINAL_OCTET_SIGNAL_MASK = 0x80;
 
+    /** Returns the number of octets {@link #writeVarUInt(long)} writes for the given value. */
+    public static int varUIntLength(final long value)
+    {
+        int size = 1;
+        long bits = value >>> VAR_INT_BITS_PER_OCTET;
+        while (bits != 0)
+        {
+            size++;
+            bits >>>= VAR_INT_BITS_PER_OCTET;
+        }
+        return size;
+    }
+
     private int writeVarUIntSlow(final long value)
     {
         int size = 1;
@@ -812,8 +1069,17 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        if (data != null)
+        {
+            data[limit++] = (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK));
+        }
 
         block.limit = limit;
         return 2;
@@ -824,9 +1090,19 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        if (data != null)
+        {
+            data[limit++] = (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK));
+        }
 
         block.limit = limit;
         return 3;
@@ -837,10 +1113,21 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte)  ((value >> VAR_UINT_4_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        if (data != null)
+        {
+            data[limit++] = (byte)  ((value >> VAR_UINT_4_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_4_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK));
+        }
 
         block.limit = limit;
         return 4;
@@ -851,11 +1138,23 @@ import java.util.List;
         final Block block = current;
         final byte[] data = block.data;
         int limit = block.limit;
-        data[limit++] = (byte)  ((value >> VAR_UINT_5_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte)  ((value >> VAR_UINT_4_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
-        data[limit++] = (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        if (data != null)
+        {
+            data[limit++] = (byte)  ((value >> VAR_UINT_5_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte)  ((value >> VAR_UINT_4_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
+            data[limit++] = (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_5_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_4_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_3_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte)  ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(limit++, (byte) (((value)                           & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK));
+        }
 
         block.limit = limit;
         return 5;
@@ -991,6 +1290,14 @@ import java.util.List;
     private static final long VAR_SINT_4_OCTET_SHIFT = VAR_INT_BITS_PER_SIGNED_OCTET + (3 * VAR_INT_BITS_PER_OCTET);
     private static final long VAR_SINT_5_OCTET_SHIFT = VAR_INT_BITS_PER_SIGNED_OCTET + (4 * VAR_INT_BITS_PER_OCTET);
 
+    /** Returns the number of octets {@link #writeVarInt(long)} writes for the given value. */
+    public static int varIntLength(final long value)
+    {
+        final long magnitude = value < 0 ? -value : value;
+        // the first octet has one less bit for the magnitude because it carries the sign
+        return varUIntLength(magnitude << 1);
+    }
+
     public int writeVarInt(long value)
     {
         assert value != Long.MIN_VALUE;
@@ -1036,10 +1343,8 @@ import java.util.List;
     private void writeVarUIntDirect2StraddlingAt(final int index, final int offset, final long value)
     {
         // XXX we're stradling a block
-        final Block block1 = blocks.get(index);
-        block1.data[offset] = (byte) ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
-        final Block block2 = blocks.get(index + 1);
-        block2.data[0]      = (byte) ((value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        writeUInt8At(index, offset, (value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
+        writeUInt8At(index + 1, 0,  (value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
     }
 
     public void writeVarUIntDirect2At(long position, long value)
@@ -1054,18 +1359,60 @@ import java.util.List;
         }
 
         final Block block = blocks.get(index);
-        block.data[offset    ] = (byte) ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
-        block.data[offset + 1] = (byte) ((value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        if (block.data != null)
+        {
+            block.data[offset    ] = (byte) ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
+            block.data[offset + 1] = (byte) ((value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        }
+        else
+        {
+            final ByteBuffer buffer = block.buffer;
+            buffer.put(offset,     (byte) ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK));
+            buffer.put(offset + 1, (byte) ((value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK));
+        }
     }
 
     public void writeUInt8At(final long position, final long value)
     {
-        final int index = index(position);
-        final int offset = offset(position);
-
         // XXX we'll never overrun a block unless we're given a position past our block array
+        writeUInt8At(index(position), offset(position), value);
+    }
+
+    private void writeUInt8At(final int index, final int offset, final long value)
+    {
         final Block block = blocks.get(index);
-        block.data[offset] = (byte) value;
+        if (block.data != null)
+        {
+            block.data[offset] = (byte) value;
+        }
+        else
+        {
+            block.buffer.put(offset, (byte) value);
+        }
+    }
+
+    private static final int MAX_TRANSFER_SIZE = 8192;
+
+    /** Writes a segment of a block to a stream, staging it on the heap if the block is off-heap. */
+    private void write(final OutputStream out, final Block block, int offset, int length) throws IOException
+    {
+        if (block.data != null)
+        {
+            out.write(block.data, offset, length);
+            return;
+        }
+        if (transfer == null)
+        {
+            transfer = new byte[Math.min(MAX_TRANSFER_SIZE, allocator.getBlockSize())];
+        }
+        final ByteBuffer view = block.view(offset, length);
+        while (length > 0)
+        {
+            final int amount = Math.min(transfer.length, length);
+            view.get(transfer, 0, amount);
+            out.write(transfer, 0, amount);
+            length -= amount;
+        }
     }
 
     /** Write the entire buffer to output stream. */
@@ -1073,7 +1420,7 @@ import java.util.List;
     {
         for (final Block block : blocks)
         {
-            out.write(block.data, 0, block.limit);
+            write(out, block, 0, block.limit);
         }
     }
 
@@ -1085,11 +1432,63 @@ import java.util.List;
             final int index = index(position);
             final int offset = offset(position);
             final Block block = blocks.get(index);
-            final int amount = (int) Math.min(block.data.length - offset, length);
-            out.write(block.data, offset, amount);
+            final int amount = (int) Math.min(block.capacity() - offset, length);
+            write(out, block, offset, amount);
+
+            position += amount;
+            length -= amount;
+        }
+    }
+
+    /**
+     * Appends views of a specific segment of data from the buffer to the given list.
+     * The views share storage with this buffer, so are only valid until it is next modified.
+     */
+    public void addViews(final List<ByteBuffer> views, long position, long length)
+    {
+        while (length > 0)
+        {
+            final int index = index(position);
+            final int offset = offset(position);
+            final Block block = blocks.get(index);
+            final int amount = (int) Math.min(block.capacity() - offset, length);
+            views.add(block.view(offset, amount));
 
             position += amount;
             length -= amount;
         }
     }
+
+    /** Write the entire buffer to a channel with a single gathering write per pass over the blocks. */
+    public void writeTo(final GatheringByteChannel channel) throws IOException
+    {
+        final List<ByteBuffer> views = new ArrayList<ByteBuffer>(blocks.size());
+        for (final Block block : blocks)
+        {
+            views.add(block.view(0, block.limit));
+        }
+        writeFully(channel, views.toArray(new ByteBuffer[views.size()]));
+    }
+
+    /**
+     * Writes all of the remaining content of the given buffers to the channel, which must be in blocking mode.
+     * A non-blocking channel that accepts nothing would have us spin, so that is reported as an error instead.
+     */
+    /*package*/ static void writeFully(final GatheringByteChannel channel, final ByteBuffer[] buffers) throws IOException
+    {
+        int first = 0;
+        while (first < buffers.length)
+        {
+            final long written = channel.write(buffers, first, buffers.length - first);
+            // a channel may accept less than we offered
+            while (first < buffers.length && !buffers[first].hasRemaining())
+            {
+                first++;
+            }
+            if (written == 0 && first < buffers.length)
+            {
+                throw new IOException("Channel accepted no bytes; writing requires a channel in blocking mode");
+            }
+        }
+    }
 }
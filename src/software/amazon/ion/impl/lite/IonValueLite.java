@@ -33,6 +33,7 @@ import software.amazon.ion.SymbolToken;
 import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.ValueVisitor;
 import software.amazon.ion.impl.PrivateIonValue;
+import software.amazon.ion.impl.PrivateIonValueSink;
 import software.amazon.ion.impl.PrivateIonWriter;
 import software.amazon.ion.impl.PrivateUtils;
 import software.amazon.ion.system.IonTextWriterBuilder;
@@ -851,6 +852,21 @@ abstract class IonValueLite
 
     public void writeTo(IonWriter writer)
     {
+        if (writer instanceof PrivateIonValueSink)
+        {
+            try
+            {
+                if (((PrivateIonValueSink) writer).writeValueTree(this))
+                {
+                    return;
+                }
+            }
+            catch (IOException e)
+            {
+                throw new IonException(e);
+            }
+        }
+
         // we use a Lazy 1-time resolution of the SymbolTable in case there is no need to
         // pull the symbol table, including situations where no symbol table would logically
         // be attached
@@ -14,17 +14,27 @@
 
 package software.amazon.ion.system;
 
+import static software.amazon.ion.impl.PrivateIonReaderFactory.DEFAULT_MAX_PAGE_SIZE;
+import static software.amazon.ion.impl.PrivateIonReaderFactory.DEFAULT_PAGE_SIZE;
+import static software.amazon.ion.impl.PrivateIonReaderFactory.makeIncrementalReader;
+import static software.amazon.ion.impl.PrivateIonReaderFactory.makePooledReader;
+import static software.amazon.ion.impl.PrivateIonReaderFactory.makeProjectingReader;
 import static software.amazon.ion.impl.PrivateIonReaderFactory.makeReader;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import software.amazon.ion.InputStreamStatistics;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonException;
+import software.amazon.ion.IonIncrementalReader;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonStruct;
 import software.amazon.ion.IonSystem;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.ResettableReader;
 
 /**
  * Build a new {@link IonReader} from the given {@link IonCatalog} and data
@@ -40,6 +50,9 @@ public class IonReaderBuilder
 {
 
     private IonCatalog catalog = null;
+    private String[] fieldProjection = null;
+    private int inputBufferSize = DEFAULT_PAGE_SIZE;
+    private int maximumInputBufferSize = DEFAULT_MAX_PAGE_SIZE;
 
     private IonReaderBuilder()
     {
@@ -48,6 +61,9 @@ public class IonReaderBuilder
     private IonReaderBuilder(IonReaderBuilder that)
     {
         this.catalog = that.catalog;
+        this.fieldProjection = that.fieldProjection;
+        this.inputBufferSize = that.inputBufferSize;
+        this.maximumInputBufferSize = that.maximumInputBufferSize;
     }
 
     /**
@@ -149,6 +165,211 @@ public class IonReaderBuilder
         return catalog;
     }
 
+    /**
+     * Declares the field paths that built readers project the data onto,
+     * returning a new mutable builder if the current one is immutable.
+     *
+     * @param fieldPaths the paths; see {@link #setFieldProjection(String...)}.
+     *  If null, the data is not projected.
+     *
+     * @return this builder instance, if mutable;
+     * otherwise a mutable copy of this builder.
+     *
+     * @see #setFieldProjection(String...)
+     * @see #getFieldProjection()
+     */
+    public IonReaderBuilder withFieldProjection(String... fieldPaths)
+    {
+        IonReaderBuilder b = mutable();
+        b.setFieldProjection(fieldPaths);
+        return b;
+    }
+
+    /**
+     * Sets the field paths that built readers project the data onto, so that
+     * they pass over the fields of structs that aren't on any of the paths.
+     * <p>
+     * A path is a sequence of field names separated by {@code .}, such as
+     * {@code order.customer.id}, starting at the fields of top-level structs.
+     * The value at the end of a path is read in full, while the structs along
+     * it only show the fields that lead on to the end of some path.  Lists
+     * and sexps along a path are transparent, their elements are projected
+     * as the list or sexp itself is, and top-level values that aren't structs
+     * are read in full.
+     * <p>
+     * Readers of binary Ion match the fields on their symbol ids, and pass
+     * over the others without looking up their text or reading their values.
+     * The readers built with projection support no facets, and it's not
+     * supported by {@link #buildIncremental()}.
+     *
+     * @param fieldPaths the paths; field names can't contain {@code .}.
+     *  If null, the data is not projected.
+     *
+     * @see #getFieldProjection()
+     * @see #withFieldProjection(String...)
+     *
+     * @throws UnsupportedOperationException if this builder is immutable.
+     * @throws IllegalArgumentException if a path has an empty field name.
+     */
+    public void setFieldProjection(String... fieldPaths)
+    {
+        mutationCheck();
+        if (fieldPaths != null)
+        {
+            fieldPaths = fieldPaths.clone();
+            for (String path : fieldPaths)
+            {
+                if (path.length() == 0 || path.startsWith(".")
+                    || path.endsWith(".") || path.contains(".."))
+                {
+                    throw new IllegalArgumentException("Invalid field path: " + path);
+                }
+            }
+        }
+        this.fieldProjection = fieldPaths;
+    }
+
+    /**
+     * Gets the field paths that built readers project the data onto, or null
+     * if the data is not projected.
+     *
+     * @see #setFieldProjection(String...)
+     * @see #withFieldProjection(String...)
+     */
+    public String[] getFieldProjection()
+    {
+        return fieldProjection == null ? null : fieldProjection.clone();
+    }
+
+    /**
+     * Declares the size of the buffer that built readers first read an
+     * {@link InputStream} into, returning a new mutable builder if the
+     * current one is immutable.
+     *
+     * @param size the size in bytes; see {@link #setInputBufferSize(int)}.
+     *
+     * @return this builder instance, if mutable;
+     * otherwise a mutable copy of this builder.
+     *
+     * @see #setInputBufferSize(int)
+     * @see #getInputBufferSize()
+     */
+    public IonReaderBuilder withInputBufferSize(int size)
+    {
+        IonReaderBuilder b = mutable();
+        b.setInputBufferSize(size);
+        return b;
+    }
+
+    /**
+     * Sets the size of the buffer that readers built over an
+     * {@link InputStream} first read it into.  Each time the stream fills
+     * the buffer, the reader doubles the size of the next one, up to the
+     * {@linkplain #setMaximumInputBufferSize(int) maximum}, so that fast
+     * streams are read in large chunks while slow ones don't tie up much
+     * memory.  The reader's
+     * {@link InputStreamStatistics} facet reports how well that's going.
+     * <p>
+     * The default is 32K bytes.
+     *
+     * @param size the size in bytes.
+     *
+     * @see #getInputBufferSize()
+     * @see #withInputBufferSize(int)
+     *
+     * @throws UnsupportedOperationException if this builder is immutable.
+     * @throws IllegalArgumentException if the size is less than 1.
+     */
+    public void setInputBufferSize(int size)
+    {
+        mutationCheck();
+        if (size < 1)
+        {
+            throw new IllegalArgumentException("Invalid input buffer size: " + size);
+        }
+        this.inputBufferSize = size;
+    }
+
+    /**
+     * Gets the size of the buffer that readers built over an
+     * {@link InputStream} first read it into.
+     *
+     * @see #setInputBufferSize(int)
+     * @see #withInputBufferSize(int)
+     */
+    public int getInputBufferSize()
+    {
+        return inputBufferSize;
+    }
+
+    /**
+     * Declares the size that the buffers of readers built over an
+     * {@link InputStream} can grow to, returning a new mutable builder if
+     * the current one is immutable.
+     *
+     * @param size the size in bytes; see
+     * {@link #setMaximumInputBufferSize(int)}.
+     *
+     * @return this builder instance, if mutable;
+     * otherwise a mutable copy of this builder.
+     *
+     * @see #setMaximumInputBufferSize(int)
+     * @see #getMaximumInputBufferSize()
+     */
+    public IonReaderBuilder withMaximumInputBufferSize(int size)
+    {
+        IonReaderBuilder b = mutable();
+        b.setMaximumInputBufferSize(size);
+        return b;
+    }
+
+    /**
+     * Sets the size that the buffers of readers built over an
+     * {@link InputStream} can grow to.  A reader holds a single buffer most
+     * of the time, and more only while it looks ahead through data that
+     * spans several.  A maximum no larger than the
+     * {@linkplain #setInputBufferSize(int) initial size} keeps the buffers
+     * from growing.
+     * <p>
+     * The default is 256K bytes.
+     *
+     * @param size the size in bytes.
+     *
+     * @see #getMaximumInputBufferSize()
+     * @see #withMaximumInputBufferSize(int)
+     *
+     * @throws UnsupportedOperationException if this builder is immutable.
+     * @throws IllegalArgumentException if the size is less than 1.
+     */
+    public void setMaximumInputBufferSize(int size)
+    {
+        mutationCheck();
+        if (size < 1)
+        {
+            throw new IllegalArgumentException("Invalid maximum input buffer size: " + size);
+        }
+        this.maximumInputBufferSize = size;
+    }
+
+    /**
+     * Gets the size that the buffers of readers built over an
+     * {@link InputStream} can grow to.
+     *
+     * @see #setMaximumInputBufferSize(int)
+     * @see #withMaximumInputBufferSize(int)
+     */
+    public int getMaximumInputBufferSize()
+    {
+        return maximumInputBufferSize;
+    }
+
+    private IonReader project(IonReader reader)
+    {
+        return fieldProjection == null
+            ? reader
+            : makeProjectingReader(reader, fieldProjection);
+    }
+
     private IonCatalog validateCatalog()
     {
         // matches behavior in IonSystemBuilder when no catalog provided
@@ -173,7 +394,7 @@ public class IonReaderBuilder
      */
     public IonReader build(byte[] ionData)
     {
-        return makeReader(validateCatalog(), ionData);
+        return project(makeReader(validateCatalog(), ionData));
     }
 
     /**
@@ -196,7 +417,7 @@ public class IonReaderBuilder
      */
     public IonReader build(byte[] ionData, int offset, int length)
     {
-        return makeReader(validateCatalog(), ionData, offset, length);
+        return project(makeReader(validateCatalog(), ionData, offset, length));
     }
 
     /**
@@ -207,7 +428,9 @@ public class IonReaderBuilder
      * This method will auto-detect and uncompress GZIPped Ion data.
      * <p>
      * Because this library performs its own buffering, it's recommended that
-     * users avoid adding additional buffering to the given stream.
+     * users avoid adding additional buffering to the given stream.  The
+     * buffering is tuned by {@link #setInputBufferSize(int)} and
+     * {@link #setMaximumInputBufferSize(int)}.
      *
      * @param ionData the source of the Ion data, which may be either Ion binary
      * data or UTF-8 Ion text. Must not be null.
@@ -221,7 +444,60 @@ public class IonReaderBuilder
      */
     public IonReader build(InputStream ionData)
     {
-        return makeReader(validateCatalog(), ionData);
+        return project(makeReader(validateCatalog(),
+                                  ionData,
+                                  inputBufferSize,
+                                  maximumInputBufferSize));
+    }
+
+    /**
+     * Based on the builder's configuration properties, creates a new IonReader
+     * instance over the remaining bytes of the given buffer, detecting whether
+     * they're text or binary data.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     * <p>
+     * A buffer backed by an accessible array is read in place, exactly like
+     * {@link #build(byte[], int, int)}. Other buffers, such as direct or
+     * {@linkplain java.nio.MappedByteBuffer memory-mapped} ones, are copied
+     * into the reader's input pages a page at a time as they're read, so
+     * their contents are never copied onto the heap as a whole; such readers
+     * aren't seekable.
+     *
+     * @param ionData the source of the Ion data, from its position to its
+     * limit. The reader retains a reference to the buffer's storage, so its
+     * data must not be modified while the reader is active; the buffer's
+     * position and limit are not modified. Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it.
+     */
+    public IonReader build(ByteBuffer ionData)
+    {
+        return project(makeReader(validateCatalog(), ionData));
+    }
+
+    /**
+     * Based on the builder's configuration properties, creates a new IonReader
+     * instance over the given file, detecting whether it's text or binary data.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     * <p>
+     * The file is memory-mapped, in as many regions as needed for files
+     * larger than 2GB, and each page of it is copied into the reader's input
+     * pages as it's read, without read system calls or a heap copy of the
+     * whole file. It must not be modified while the reader is active.
+     *
+     * @param ionFile the file containing the Ion data. Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it.
+     *
+     * @throws IonException if the file cannot be opened or mapped.
+     */
+    public IonReader build(Path ionFile)
+    {
+        return project(makeReader(validateCatalog(), ionFile));
     }
 
     /**
@@ -243,7 +519,7 @@ public class IonReaderBuilder
      */
     public IonReader build(Reader ionText)
     {
-        return makeReader(validateCatalog(), ionText);
+        return project(makeReader(validateCatalog(), ionText));
     }
 
     /**
@@ -257,7 +533,7 @@ public class IonReaderBuilder
      */
     public IonReader build(IonValue value)
     {
-        return makeReader(validateCatalog(), value);
+        return project(makeReader(validateCatalog(), value));
     }
 
     /**
@@ -270,7 +546,65 @@ public class IonReaderBuilder
      */
     public IonReader build(String ionText)
     {
-        return makeReader(validateCatalog(), ionText);
+        return project(makeReader(validateCatalog(), ionText));
+    }
+
+    /**
+     * Based on the builder's configuration properties, creates a new
+     * {@link IonIncrementalReader} instance, to which binary Ion data is
+     * fed as it becomes available.
+     * <p>
+     * Unlike the other readers built by this class, the reader never blocks
+     * waiting for data, so it may be driven by non-blocking IO.
+     *
+     * @return a new reader instance, with no data.
+     * Callers must call {@link IonReader#close()} when finished with it.
+     *
+     * @throws UnsupportedOperationException if a field projection is set.
+     */
+    public IonIncrementalReader buildIncremental()
+    {
+        if (fieldProjection != null)
+        {
+            throw new UnsupportedOperationException(
+                "Field projection is not supported by incremental readers");
+        }
+        return makeIncrementalReader(validateCatalog());
+    }
+
+    /**
+     * Based on the builder's configuration properties, returns an IonReader
+     * over the given block of Ion data, detecting whether it's text or
+     * binary data, reusing a reader that was previously built by this method
+     * on the calling thread when one is idle.
+     * <p>
+     * The reader must be used only by the calling thread, and returns to that
+     * thread's pool when it's {@link IonReader#close() closed}, after which
+     * it must no longer be used. Reusing readers avoids the cost of building
+     * one, and of its buffers, for every small message; local symbol tables
+     * that are repeated from one message to the next are also reused.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data, but such
+     * readers are not pooled.
+     *
+     * @param ionData the source of the Ion data, which is used only within the
+     * range of bytes starting at {@code offset} for {@code len} bytes.
+     * The data in that range may be either Ion binary data or UTF-8 Ion text.
+     * The reader retains a reference to the array, so its data must not be
+     * modified while the reader is active. Must not be null.
+     * @param offset must be non-negative and less than {@code ionData.length}.
+     * @param length must be non-negative and {@code offset+length} must not
+     * exceed {@code ionData.length}.
+     *
+     * @return a reader instance; not {@code null}.
+     * Callers must call {@link IonReader#close()} when finished with it.
+     *
+     * @see ResettableReader
+     */
+    public IonReader buildPooled(byte[] ionData, int offset, int length)
+    {
+        // readers are pooled by catalog, so don't make a new one for each
+        return project(makePooledReader(getCatalog(), ionData, offset, length));
     }
 
     private static class Mutable extends IonReaderBuilder
@@ -35,6 +35,9 @@ class GzipOrRawInputStream
     /** GZIP magic cookie. */
     static final byte[] GZIP_HEADER = {0x1F, (byte) 0x8B};
 
+    /** The compressed stream, or null if the stream isn't compressed. */
+    private InputStream compressed;
+
     /**
      * Wraps the given stream determining based on the GZIP header
      * whether or not the stream is compressed and should be dynamically
@@ -84,8 +87,24 @@ class GzipOrRawInputStream
         // determine the underlying stream
         if (size == 2 && Arrays.equals(header, GZIP_HEADER)) {
             in = new GZIPInputStream(input, bufferSize);
+            compressed = input;
         } else {
             in = input;
         }
     }
+
+    /**
+     * {@link GZIPInputStream#available()} claims a byte is available until
+     * the end of the data, even when reading it would block, so this only
+     * claims as many as the compressed stream has available.
+     */
+    @Override
+    public int available()
+        throws IOException
+    {
+        if (compressed == null) {
+            return in.available();
+        }
+        return Math.min(in.available(), compressed.available());
+    }
 }
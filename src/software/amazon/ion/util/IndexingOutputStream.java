@@ -0,0 +1,650 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.SystemSymbols.ION_1_0_SID;
+import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_1_0;
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_SIZE;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsNull;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsOrderedStruct;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsVarLen;
+import static software.amazon.ion.impl.PrivateIonConstants.tidBoolean;
+import static software.amazon.ion.impl.PrivateIonConstants.tidNull;
+import static software.amazon.ion.impl.PrivateIonConstants.tidString;
+import static software.amazon.ion.impl.PrivateIonConstants.tidStruct;
+import static software.amazon.ion.impl.PrivateIonConstants.tidSymbol;
+import static software.amazon.ion.impl.PrivateIonConstants.tidTypedecl;
+import static software.amazon.ion.impl.PrivateUtils.UTF8_CHARSET;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.impl.PrivateIonReaderFactory;
+import software.amazon.ion.impl.PrivateUtils;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+
+/**
+ * An {@link OutputStream} that passes binary Ion data through to another
+ * stream, and writes a sidecar index of its top-level values as they are
+ * written, which {@link TopLevelValueIndex#load} reads back.
+ * <p>
+ * This is typically the output stream of a binary {@link IonWriter}. Only the
+ * headers of the top-level values are read, except for local symbol tables,
+ * which are decoded once complete, and, when the index is keyed, the fields
+ * of structs up to the key. Only a value's header, a local symbol table, or
+ * the key itself is ever buffered.
+ * <p>
+ * The index is itself binary Ion: one struct per top-level user value, with
+ * its {@code offset}, {@code length}, the {@code symbol_table} it's read with
+ * and optionally its {@code key}, preceded by a {@code symbol_table::}
+ * annotated struct for each local symbol table, giving its {@code id},
+ * {@code offset}, {@code length} and the id of the {@code previous} table it
+ * was read after. The system symbol table has no id.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public final class IndexingOutputStream
+    extends OutputStream
+{
+    /** The annotation of symbol table entries, and the field of records. */
+    static final String SYMBOL_TABLE = "symbol_table";
+    static final String OFFSET       = "offset";
+    static final String LENGTH       = "length";
+    static final String KEY          = "key";
+    static final String ID           = "id";
+    static final String PREVIOUS     = "previous";
+
+    private final OutputStream _out;
+    private final IonWriter    _index;
+    private final IonCatalog   _catalog;
+    private final String       _key_field;
+
+    /** The offset of the next byte written. */
+    private long               _offset;
+
+    /**
+     * The header, or all, of the top-level value being written, or the
+     * header or key of the struct field being scanned.
+     */
+    private byte[]             _buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int                _buffered;
+    /** The position in {@link #_buffer} of the next VarUInt to read. */
+    private int                _scan_pos;
+    private long               _value_start;
+    private int                _tid;
+    private int                _ln;
+    /** The number of bytes of the value's body yet to be written. */
+    private long               _remaining;
+    private boolean            _in_body;
+    /** How the body of the value is read; one of the {@code *_BODY} modes. */
+    private int                _body_mode;
+    /** The position in {@link #_buffer} where the value's body starts. */
+    private int                _body_start;
+    /** The position in {@link #_buffer} of the annotated value, once known. */
+    private long               _wrapped_start;
+    /** The number of bytes of the scanned field's value yet to be written. */
+    private long               _field_remaining;
+    /** The type of the scanned field's value, if it's the key, else -1. */
+    private int                _key_tid;
+    private String             _key;
+
+    private SymbolTable        _symbols;
+    /** The id of {@link #_symbols}, or -1 for the system symbol table. */
+    private int                _symbols_id = -1;
+    private int                _next_symbols_id;
+
+    private static final int   INITIAL_BUFFER_SIZE = 64;
+    /** A buffer grown larger than this by a big value is not kept. */
+    private static final int   MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    /** The body is only counted. */
+    private static final int   SKIP_BODY        = 0;
+    /** The body is buffered, to be decoded once complete. */
+    private static final int   KEEP_BODY        = 1;
+    /** The annotations are buffered until the annotated value's type is known. */
+    private static final int   ANNOTATIONS_BODY = 2;
+    /** The struct's fields are scanned for the key. */
+    private static final int   FIELDS_BODY      = 3;
+
+    private final byte[]       _single = new byte[1];
+    private boolean            _closed;
+
+    /**
+     * @param out receives the binary Ion data.
+     * @param indexOut receives the index.
+     * @param catalog resolves the imports of the local symbol tables.
+     * @param keyField the name of the field of top-level structs whose text
+     * (a string or symbol) is recorded as their key; may be null.
+     */
+    public IndexingOutputStream(OutputStream out,
+                                OutputStream indexOut,
+                                IonCatalog catalog,
+                                String keyField)
+    {
+        _out = out;
+        _index = IonBinaryWriterBuilder.standard().build(indexOut);
+        _catalog = catalog;
+        _key_field = keyField;
+        _symbols = PrivateUtils.systemSymtab(1);
+    }
+
+
+    @Override
+    public void write(int b)
+        throws IOException
+    {
+        _single[0] = (byte) b;
+        write(_single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len)
+        throws IOException
+    {
+        _out.write(b, off, len);
+
+        int end = off + len;
+        while (off < end)
+        {
+            if (_in_body)
+            {
+                int n = body(b, off, (int) Math.min(_remaining, end - off));
+                off += n;
+                _offset += n;
+                _remaining -= n;
+                if (_remaining == 0)
+                {
+                    valueComplete();
+                }
+                continue;
+            }
+
+            if (_buffered == 0)
+            {
+                _value_start = _offset;
+            }
+            append(b, off++, 1);
+            _offset++;
+            headerByte();
+        }
+    }
+
+    private void append(byte[] b, int off, int len)
+    {
+        if (_buffered + len > _buffer.length)
+        {
+            _buffer = Arrays.copyOf(_buffer, Math.max(_buffered + len, _buffer.length * 2));
+        }
+        System.arraycopy(b, off, _buffer, _buffered, len);
+        _buffered += len;
+    }
+
+    /** Examines the latest byte of the header of a top-level value. */
+    private void headerByte()
+    {
+        int td = _buffer[0] & 0xff;
+        if (_value_start < BINARY_VERSION_MARKER_SIZE
+            || td == (BINARY_VERSION_MARKER_1_0[0] & 0xff))
+        {
+            int i = _buffered - 1;
+            if (_buffer[i] != BINARY_VERSION_MARKER_1_0[i])
+            {
+                throw new IonException("Only binary Ion data can be indexed");
+            }
+            if (_buffered == BINARY_VERSION_MARKER_SIZE)
+            {
+                _symbols = PrivateUtils.systemSymtab(1);
+                _symbols_id = -1;
+                _buffered = 0;
+            }
+            return;
+        }
+
+        _tid = td >> 4;
+        _ln  = td & 0xf;
+        long len;
+        if (_buffered == 1)
+        {
+            if (_tid == tidBoolean || _ln == lnIsNull)
+            {
+                len = 0;
+            }
+            else if (_ln == lnIsVarLen || (_tid == tidStruct && _ln == lnIsOrderedStruct))
+            {
+                // the length follows
+                return;
+            }
+            else
+            {
+                len = _ln;
+            }
+        }
+        else
+        {
+            if ((_buffer[_buffered - 1] & 0x80) == 0)
+            {
+                // the length continues
+                return;
+            }
+            len = 0;
+            for (int i = 1; i < _buffered; i++)
+            {
+                len = (len << 7) | (_buffer[i] & 0x7f);
+            }
+            if (len > Integer.MAX_VALUE)
+            {
+                throw new IonException("Top-level value too large");
+            }
+        }
+
+        _body_mode = SKIP_BODY;
+        _body_start = _buffered;
+        if (_ln == lnIsNull)
+        {
+            // no body to look at
+        }
+        else if (_tid == tidTypedecl)
+        {
+            // maybe a local symbol table, depending on its annotations
+            _body_mode = ANNOTATIONS_BODY;
+            _wrapped_start = 0;
+        }
+        else if (_tid == tidSymbol && _ln <= 4)
+        {
+            // maybe the version marker
+            _body_mode = KEEP_BODY;
+        }
+        else if (_tid == tidStruct && _key_field != null)
+        {
+            startFields();
+        }
+        _remaining = len;
+        _in_body = true;
+        if (len == 0)
+        {
+            valueComplete();
+        }
+    }
+
+    /**
+     * Examines some of the body of a top-level value.
+     *
+     * @return the number of bytes examined, at least one.
+     */
+    private int body(byte[] b, int off, int len)
+    {
+        switch (_body_mode)
+        {
+            case KEEP_BODY:
+                append(b, off, len);
+                return len;
+            case ANNOTATIONS_BODY:
+                if (_wrapped_start > _buffered)
+                {
+                    // the rest of the annotations are of no interest yet
+                    int n = (int) Math.min(len, _wrapped_start - _buffered);
+                    append(b, off, n);
+                    return n;
+                }
+                append(b, off, 1);
+                annotationsByte();
+                return 1;
+            case FIELDS_BODY:
+                if (_field_remaining > 0)
+                {
+                    int n = (int) Math.min(len, _field_remaining);
+                    if (_key_tid >= 0)
+                    {
+                        append(b, off, n);
+                    }
+                    _field_remaining -= n;
+                    if (_field_remaining == 0 && _key_tid >= 0)
+                    {
+                        keyComplete();
+                    }
+                    return n;
+                }
+                append(b, off, 1);
+                fieldHeaderByte();
+                return 1;
+            default:
+                return len;
+        }
+    }
+
+    /**
+     * Reads the VarUInt at {@link #_scan_pos}, advancing past it.
+     *
+     * @return -1 if it's not all buffered yet.
+     */
+    private long readVarUInt()
+    {
+        long value = 0;
+        for (int i = _scan_pos; i < _buffered; i++)
+        {
+            int b = _buffer[i] & 0xff;
+            value = (value << 7) | (b & 0x7f);
+            if (value > Integer.MAX_VALUE)
+            {
+                throw new IonException("Top-level value too large");
+            }
+            if ((b & 0x80) != 0)
+            {
+                _scan_pos = i + 1;
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Examines the latest byte of the annotations of a top-level value,
+     * which is a local symbol table candidate, as
+     * {@link TopLevelValueIndex} has it, when its first annotation is
+     * {@code $ion_symbol_table} and it annotates a non-null struct.
+     */
+    private void annotationsByte()
+    {
+        _scan_pos = _body_start;
+        long annotationsLength = readVarUInt();
+        if (annotationsLength < 0) return;
+        int annotationsStart = _scan_pos;
+        long firstAnnotation = readVarUInt();
+        if (firstAnnotation < 0) return;
+        _wrapped_start = annotationsStart + annotationsLength;
+        if (_wrapped_start >= _buffered)
+        {
+            return;
+        }
+
+        int td = _buffer[(int) _wrapped_start] & 0xff;
+        if ((td >> 4) != tidStruct || (td & 0xf) == lnIsNull)
+        {
+            _body_mode = SKIP_BODY;
+        }
+        else if (firstAnnotation == ION_SYMBOL_TABLE_SID)
+        {
+            _body_mode = KEEP_BODY;
+        }
+        else if (_key_field == null)
+        {
+            _body_mode = SKIP_BODY;
+        }
+        else
+        {
+            int ln = td & 0xf;
+            if (ln == lnIsVarLen || ln == lnIsOrderedStruct)
+            {
+                // the fields follow the struct's length
+                _scan_pos = (int) _wrapped_start + 1;
+                if (readVarUInt() < 0) return;
+            }
+            startFields();
+        }
+    }
+
+    private void startFields()
+    {
+        _body_mode = FIELDS_BODY;
+        _buffered = 0;
+        _field_remaining = 0;
+        _key_tid = -1;
+    }
+
+    /** Examines the latest byte of the header of a field of a struct. */
+    private void fieldHeaderByte()
+    {
+        _scan_pos = 0;
+        long sid = readVarUInt();
+        if (sid < 0 || _scan_pos == _buffered) return;
+        int td = _buffer[_scan_pos++] & 0xff;
+        int tid = td >> 4;
+        int ln  = td & 0xf;
+        long len;
+        if (tid == tidBoolean || ln == lnIsNull)
+        {
+            len = 0;
+        }
+        else if (ln == lnIsVarLen || (tid == tidStruct && ln == lnIsOrderedStruct))
+        {
+            len = readVarUInt();
+            if (len < 0) return;
+        }
+        else
+        {
+            len = ln;
+        }
+
+        _buffered = 0;
+        _field_remaining = len;
+        if (!_key_field.equals(_symbols.findKnownSymbol((int) sid)))
+        {
+            // skip the field's value
+            return;
+        }
+        if ((tid == tidString || tid == tidSymbol) && ln != lnIsNull)
+        {
+            _key_tid = tid;
+            if (len == 0)
+            {
+                keyComplete();
+            }
+        }
+        else
+        {
+            // the key isn't text, so there is none
+            _body_mode = SKIP_BODY;
+        }
+    }
+
+    /** Decodes the buffered value of the key field, and skips the rest. */
+    private void keyComplete()
+    {
+        if (_key_tid == tidString)
+        {
+            _key = new String(_buffer, 0, _buffered, UTF8_CHARSET);
+        }
+        else
+        {
+            long sid = 0;
+            for (int i = 0; i < _buffered; i++)
+            {
+                sid = (sid << 8) | (_buffer[i] & 0xff);
+            }
+            _key = (sid <= Integer.MAX_VALUE ? _symbols.findKnownSymbol((int) sid) : null);
+        }
+        _body_mode = SKIP_BODY;
+        _buffered = 0;
+    }
+
+    private void valueComplete()
+    {
+        _in_body = false;
+        try
+        {
+            if (_tid == tidNull && _ln != lnIsNull)
+            {
+                // NOP padding
+                return;
+            }
+
+            int length = (int) (_offset - _value_start);
+            if (_body_mode != KEEP_BODY)
+            {
+                writeRecord(length, _key);
+                return;
+            }
+
+            if (_tid == tidSymbol)
+            {
+                if (isVersionMarkerSymbol())
+                {
+                    _symbols = PrivateUtils.systemSymtab(1);
+                    _symbols_id = -1;
+                }
+                else
+                {
+                    writeRecord(length, null);
+                }
+                return;
+            }
+
+            IonReader reader = PrivateIonReaderFactory.makeBinaryReader(
+                _catalog, _symbols, ByteBuffer.wrap(_buffer, 0, _buffered));
+            IonType type = reader.next();
+            if (type == null)
+            {
+                // a local symbol table
+                writeSymbolTable(length);
+                _symbols = reader.getSymbolTable();
+            }
+            else
+            {
+                writeRecord(length, readKey(reader, type));
+            }
+            reader.close();
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+        finally
+        {
+            _buffered = 0;
+            _key = null;
+            _body_mode = SKIP_BODY;
+            if (_buffer.length > MAX_RETAINED_BUFFER_SIZE)
+            {
+                _buffer = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+    }
+
+    private boolean isVersionMarkerSymbol()
+    {
+        long sid = 0;
+        for (int i = 1; i < _buffered; i++)
+        {
+            sid = (sid << 8) | (_buffer[i] & 0xff);
+        }
+        return sid == ION_1_0_SID;
+    }
+
+    private String readKey(IonReader reader, IonType type)
+    {
+        if (_key_field == null || type != IonType.STRUCT || reader.isNullValue())
+        {
+            return null;
+        }
+        reader.stepIn();
+        while ((type = reader.next()) != null)
+        {
+            if (_key_field.equals(reader.getFieldName()))
+            {
+                if ((type == IonType.STRING || type == IonType.SYMBOL)
+                    && !reader.isNullValue())
+                {
+                    return reader.stringValue();
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void writeSymbolTable(int length)
+        throws IOException
+    {
+        int id = _next_symbols_id++;
+        _index.setTypeAnnotations(SYMBOL_TABLE);
+        _index.stepIn(IonType.STRUCT);
+        _index.setFieldName(ID);
+        _index.writeInt(id);
+        if (_symbols_id >= 0)
+        {
+            _index.setFieldName(PREVIOUS);
+            _index.writeInt(_symbols_id);
+        }
+        _index.setFieldName(OFFSET);
+        _index.writeInt(_value_start);
+        _index.setFieldName(LENGTH);
+        _index.writeInt(length);
+        _index.stepOut();
+        _symbols_id = id;
+    }
+
+    private void writeRecord(int length, String key)
+        throws IOException
+    {
+        _index.stepIn(IonType.STRUCT);
+        _index.setFieldName(OFFSET);
+        _index.writeInt(_value_start);
+        _index.setFieldName(LENGTH);
+        _index.writeInt(length);
+        if (_symbols_id >= 0)
+        {
+            _index.setFieldName(SYMBOL_TABLE);
+            _index.writeInt(_symbols_id);
+        }
+        if (key != null)
+        {
+            _index.setFieldName(KEY);
+            _index.writeString(key);
+        }
+        _index.stepOut();
+    }
+
+    /** Flushes the data, and the index of the complete values written. */
+    @Override
+    public void flush()
+        throws IOException
+    {
+        _out.flush();
+        _index.flush();
+    }
+
+    /**
+     * Closes the data and index streams.
+     *
+     * @throws IonException if the last top-level value is incomplete.
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (_closed) return;
+        _closed = true;
+        try
+        {
+            _out.close();
+        }
+        finally
+        {
+            _index.close();
+        }
+        if (_buffered > 0 || _in_body)
+        {
+            throw new IonException("Unexpected EOF in incomplete top-level value");
+        }
+    }
+}
@@ -19,9 +19,13 @@ import static software.amazon.ion.util.GzipOrRawInputStream.GZIP_HEADER;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonType;
 import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.PrivateListReader;
 import software.amazon.ion.impl.PrivateListWriter;
 
 /**
@@ -311,4 +315,191 @@ public class IonStreamUtils
         }
         writer.stepOut();
     }
+
+
+    private static final int DEFAULT_LIST_CAPACITY = 16;
+
+    /**
+     * reads the IonInt values that follow in the list (or sexp) the reader
+     * is stepped into into an array, until the array is full or the list
+     * ends. This is the counterpart of
+     * {@link #writeIntList(IonWriter, long[])}: for text and tree readers it
+     * is just a convienience, but the binary reader decodes runs of ints
+     * in place without going through {@link IonReader#next()} for each.
+     * Afterwards the reader has no current value.
+     * @param values receives the ints
+     * @param offset the index of values at which to store the first int
+     * @param length the maximum number of ints to read
+     * @return the number of ints read, which is less than length only
+     *  when the list has ended
+     * @throws IonException if a value is null, not an IonInt, or too large
+     *  for a long
+     */
+    public static int readIntList(IonReader reader, long[] values,
+                                  int offset, int length)
+    {
+        checkRange(values.length, offset, length);
+        PrivateListReader bulk = reader.asFacet(PrivateListReader.class);
+        int count = 0;
+        while (count < length) {
+            if (bulk != null) {
+                count += bulk.readIntList(values, offset + count, length - count);
+                if (count == length) break;
+            }
+            if (reader.next() == null) break;
+            checkListValue(reader, IonType.INT);
+            if (reader.getIntegerSize() == IntegerSize.BIG_INTEGER) {
+                throw new IonException("Int too large for a long: " + reader.bigIntegerValue());
+            }
+            values[offset + count++] = reader.longValue();
+        }
+        return count;
+    }
+
+    /**
+     * reads the IonInt values that follow in the list (or sexp) the reader
+     * is stepped into into an array, as
+     * {@link #readIntList(IonReader, long[], int, int)} does.
+     * @param values receives the ints
+     * @param offset the index of values at which to store the first int
+     * @param length the maximum number of ints to read
+     * @return the number of ints read, which is less than length only
+     *  when the list has ended
+     * @throws IonException if a value is null, not an IonInt, or too large
+     *  for an int
+     */
+    public static int readIntList(IonReader reader, int[] values,
+                                  int offset, int length)
+    {
+        checkRange(values.length, offset, length);
+        PrivateListReader bulk = reader.asFacet(PrivateListReader.class);
+        int count = 0;
+        while (count < length) {
+            if (bulk != null) {
+                count += bulk.readIntList(values, offset + count, length - count);
+                if (count == length) break;
+            }
+            if (reader.next() == null) break;
+            checkListValue(reader, IonType.INT);
+            if (reader.getIntegerSize() != IntegerSize.INT) {
+                throw new IonException("Int too large for an int: " + reader.bigIntegerValue());
+            }
+            values[offset + count++] = reader.intValue();
+        }
+        return count;
+    }
+
+    /**
+     * reads the IonFloat values that follow in the list (or sexp) the
+     * reader is stepped into into an array, as
+     * {@link #readIntList(IonReader, long[], int, int)} does ints.
+     * This is the counterpart of
+     * {@link #writeFloatList(IonWriter, double[])}.
+     * @param values receives the floats
+     * @param offset the index of values at which to store the first float
+     * @param length the maximum number of floats to read
+     * @return the number of floats read, which is less than length only
+     *  when the list has ended
+     * @throws IonException if a value is null or not an IonFloat
+     */
+    public static int readFloatList(IonReader reader, double[] values,
+                                    int offset, int length)
+    {
+        checkRange(values.length, offset, length);
+        PrivateListReader bulk = reader.asFacet(PrivateListReader.class);
+        int count = 0;
+        while (count < length) {
+            if (bulk != null) {
+                count += bulk.readFloatList(values, offset + count, length - count);
+                if (count == length) break;
+            }
+            if (reader.next() == null) break;
+            checkListValue(reader, IonType.FLOAT);
+            values[offset + count++] = reader.doubleValue();
+        }
+        return count;
+    }
+
+    /**
+     * reads the IonList (or IonSexp) of IonInt values that the reader is
+     * positioned on, stepping in and back out of it.
+     * @return the ints of the list, or null if it is a null list
+     * @throws IllegalStateException if the reader isn't positioned on a
+     *  list or sexp
+     * @throws IonException if a value is null, not an IonInt, or too large
+     *  for a long
+     * @see #readIntList(IonReader, long[], int, int)
+     */
+    public static long[] readIntList(IonReader reader)
+    {
+        if (!enterList(reader)) return null;
+        long[] values = new long[DEFAULT_LIST_CAPACITY];
+        int count = 0;
+        int read;
+        while ((read = readIntList(reader, values, count, values.length - count)) > 0) {
+            count += read;
+            if (count == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+        }
+        reader.stepOut();
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * reads the IonList (or IonSexp) of IonFloat values that the reader is
+     * positioned on, stepping in and back out of it.
+     * @return the floats of the list, or null if it is a null list
+     * @throws IllegalStateException if the reader isn't positioned on a
+     *  list or sexp
+     * @throws IonException if a value is null or not an IonFloat
+     * @see #readFloatList(IonReader, double[], int, int)
+     */
+    public static double[] readFloatList(IonReader reader)
+    {
+        if (!enterList(reader)) return null;
+        double[] values = new double[DEFAULT_LIST_CAPACITY];
+        int count = 0;
+        int read;
+        while ((read = readFloatList(reader, values, count, values.length - count)) > 0) {
+            count += read;
+            if (count == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+        }
+        reader.stepOut();
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Steps into the list or sexp the reader is positioned on.
+     * @return false if it is null, and so wasn't stepped into
+     */
+    private static boolean enterList(IonReader reader)
+    {
+        IonType type = reader.getType();
+        if (type != IonType.LIST && type != IonType.SEXP) {
+            throw new IllegalStateException("Reader is not positioned on a list or sexp: " + type);
+        }
+        if (reader.isNullValue()) return false;
+        reader.stepIn();
+        return true;
+    }
+
+    private static void checkListValue(IonReader reader, IonType expected)
+    {
+        if (reader.getType() != expected || reader.isNullValue()) {
+            throw new IonException("Expected a non-null " + expected
+                                   + " in the list, found "
+                                   + (reader.isNullValue() ? "null." : "")
+                                   + reader.getType());
+        }
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length)
+    {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
 }
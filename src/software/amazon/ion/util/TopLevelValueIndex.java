@@ -0,0 +1,748 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.SystemSymbols.ION_1_0_SID;
+import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_1_0;
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_SIZE;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsNull;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsOrderedStruct;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsVarLen;
+import static software.amazon.ion.impl.PrivateIonConstants.tidBoolean;
+import static software.amazon.ion.impl.PrivateIonConstants.tidNull;
+import static software.amazon.ion.impl.PrivateIonConstants.tidStruct;
+import static software.amazon.ion.impl.PrivateIonConstants.tidSymbol;
+import static software.amazon.ion.impl.PrivateIonConstants.tidTypedecl;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.impl.PrivateIonReaderFactory;
+import software.amazon.ion.impl.PrivateUtils;
+import software.amazon.ion.system.IonReaderBuilder;
+
+/**
+ * An index of the offsets of the top-level user values of binary Ion data,
+ * and of the symbol table each is read with, allowing any range of them to be
+ * read without reading what precedes it.
+ * <p>
+ * Top-level binary values carry their lengths, so building the index only
+ * reads the headers of the values, and decodes nothing but the local symbol
+ * tables.  Ranges of the values may then be read
+ * {@link #parallelScan in parallel}, each by its own reader.
+ * <p>
+ * An index may also be written alongside the data by an
+ * {@link IndexingOutputStream}, and {@link #load loaded} to read any value of
+ * a file without scanning it, optionally by a key.
+ * <p>
+ * The data must not be modified while the index or its readers are in use.
+ * Instances are thread-safe once built.
+ */
+public final class TopLevelValueIndex
+{
+    /**
+     * Reads a range of top-level values, as part of a
+     * {@link TopLevelValueIndex#parallelScan parallel scan}.
+     */
+    public interface RangeHandler<T>
+    {
+        /**
+         * Reads the values of a range. The reader is closed by the caller.
+         *
+         * @param reader reads the values of the range, positioned before the
+         * first of them, with its symbol table current.
+         *
+         * @return the result of the range.
+         */
+        T handle(IonReader reader) throws IOException;
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final IonCatalog   _catalog;
+    /** The data, all of them but the last the same size as the first. */
+    private final ByteBuffer[] _regions;
+    private final long         _region_size;
+    private final long         _length;
+
+    private long[]             _offsets = new long[INITIAL_CAPACITY];
+    private int[]              _lengths = new int[INITIAL_CAPACITY];
+    private int                _size;
+
+    /** The index of the first value read with each symbol table. */
+    private int[]              _segment_starts = new int[16];
+    private SymbolTable[]      _segment_symtabs = new SymbolTable[16];
+    private int                _segment_count;
+
+    /** The index of the first value with each key, if the index is keyed. */
+    private Map<String, Integer> _keys;
+
+    /** The position of the header scan. */
+    private long               _pos;
+
+    private TopLevelValueIndex(IonCatalog catalog, ByteBuffer[] regions)
+    {
+        _catalog = catalog;
+        _regions = new ByteBuffer[regions.length];
+        long length = 0;
+        for (int i = 0; i < regions.length; i++)
+        {
+            // index the buffers from zero, leaving the callers' untouched
+            _regions[i] = regions[i].slice();
+            length += _regions[i].remaining();
+        }
+        _region_size = regions.length == 0 ? 1 : _regions[0].remaining();
+        _length = length;
+    }
+
+
+    /**
+     * Indexes the top-level values of binary Ion data.
+     *
+     * @param catalog resolves the imports of the local symbol tables.
+     * @param ionData binary Ion data, which must not be GZIPped. The index
+     * retains a reference to the array.
+     *
+     * @throws IonException if the data isn't binary Ion, or a top-level value
+     * is truncated.
+     */
+    public static TopLevelValueIndex build(IonCatalog catalog,
+                                           byte[] ionData,
+                                           int offset,
+                                           int length)
+    {
+        return build(catalog, ByteBuffer.wrap(ionData, offset, length));
+    }
+
+    /**
+     * Indexes the top-level values of binary Ion data, from the buffer's
+     * position to its limit.
+     *
+     * @see #build(IonCatalog, byte[], int, int)
+     */
+    public static TopLevelValueIndex build(IonCatalog catalog,
+                                           ByteBuffer ionData)
+    {
+        TopLevelValueIndex index =
+            new TopLevelValueIndex(catalog, new ByteBuffer[] { ionData });
+        index.scan();
+        return index;
+    }
+
+    /**
+     * Indexes the top-level values of a binary Ion file, which is
+     * memory-mapped in as many regions as needed for files larger than 2GB.
+     *
+     * @throws IonException if the file cannot be opened or mapped.
+     *
+     * @see #build(IonCatalog, byte[], int, int)
+     */
+    public static TopLevelValueIndex build(IonCatalog catalog,
+                                           Path ionFile)
+    {
+        ByteBuffer[] regions;
+        try
+        {
+            regions = PrivateIonReaderFactory.mapFile(ionFile);
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+        TopLevelValueIndex index = new TopLevelValueIndex(catalog, regions);
+        index.scan();
+        return index;
+    }
+
+
+    /**
+     * Loads the index of a binary Ion file that was written by an
+     * {@link IndexingOutputStream} along with the file.  The file is
+     * memory-mapped, and its local symbol tables are read, but nothing else.
+     *
+     * @param catalog resolves the imports of the local symbol tables.
+     *
+     * @throws IonException if either file cannot be read, or the index
+     * doesn't match the file.
+     */
+    public static TopLevelValueIndex load(IonCatalog catalog,
+                                          Path ionFile,
+                                          Path indexFile)
+    {
+        ByteBuffer[] regions;
+        try
+        {
+            regions = PrivateIonReaderFactory.mapFile(ionFile);
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+        TopLevelValueIndex index = new TopLevelValueIndex(catalog, regions);
+        IonReader reader = IonReaderBuilder.standard().build(indexFile);
+        try
+        {
+            index.load(reader);
+            reader.close();
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+        return index;
+    }
+
+
+    //========================================================================
+    // Loading
+
+    private void load(IonReader reader)
+    {
+        SymbolTable system = PrivateUtils.systemSymtab(1);
+        List<SymbolTable> tables = new ArrayList<SymbolTable>();
+        while (reader.next() != null)
+        {
+            boolean isSymbolTable = reader.getTypeAnnotations().length != 0
+                && IndexingOutputStream.SYMBOL_TABLE.equals(reader.getTypeAnnotations()[0]);
+            long offset = -1;
+            long length = -1;
+            int id = -1;
+            int previous = -1;
+            int symbols = -1;
+            String key = null;
+            reader.stepIn();
+            IonType type;
+            while ((type = reader.next()) != null)
+            {
+                String field = reader.getFieldName();
+                if (type == IonType.STRING && IndexingOutputStream.KEY.equals(field))
+                {
+                    key = reader.stringValue();
+                }
+                else if (type != IonType.INT)
+                {
+                    continue;
+                }
+                else if (IndexingOutputStream.OFFSET.equals(field))
+                {
+                    offset = reader.longValue();
+                }
+                else if (IndexingOutputStream.LENGTH.equals(field))
+                {
+                    length = reader.longValue();
+                }
+                else if (IndexingOutputStream.ID.equals(field))
+                {
+                    id = reader.intValue();
+                }
+                else if (IndexingOutputStream.PREVIOUS.equals(field))
+                {
+                    previous = reader.intValue();
+                }
+                else if (IndexingOutputStream.SYMBOL_TABLE.equals(field))
+                {
+                    symbols = reader.intValue();
+                }
+            }
+            reader.stepOut();
+
+            if (offset < 0 || length < 0 || offset + length > _length)
+            {
+                throw new IonException("Index doesn't match the data");
+            }
+            if (isSymbolTable)
+            {
+                if (id != tables.size() || previous >= id)
+                {
+                    throw new IonException("Index doesn't match the data");
+                }
+                SymbolTable before = previous < 0 ? system : tables.get(previous);
+                SymbolTable local = readSymbolTable(offset, offset + length, before);
+                if (local == null)
+                {
+                    throw new IonException("Index doesn't match the data");
+                }
+                tables.add(local);
+            }
+            else
+            {
+                if (symbols >= tables.size())
+                {
+                    throw new IonException("Index doesn't match the data");
+                }
+                add(offset, offset + length, symbols < 0 ? system : tables.get(symbols));
+                if (key != null)
+                {
+                    if (_keys == null)
+                    {
+                        _keys = new HashMap<String, Integer>();
+                    }
+                    if (!_keys.containsKey(key))
+                    {
+                        _keys.put(key, _size - 1);
+                    }
+                }
+            }
+        }
+    }
+
+
+    //========================================================================
+    // Indexing
+
+    private int byteAt(long pos)
+    {
+        int region = (int) (pos / _region_size);
+        return _regions[region].get((int) (pos - region * _region_size)) & 0xff;
+    }
+
+    private long readVarUInt()
+    {
+        long value = 0;
+        int b;
+        do
+        {
+            if (_pos >= _length)
+            {
+                throw new IonException("Unexpected EOF in top-level value header");
+            }
+            b = byteAt(_pos++);
+            value = (value << 7) | (b & 0x7f);
+            if (value > Integer.MAX_VALUE)
+            {
+                throw new IonException("Top-level value too large");
+            }
+        } while ((b & 0x80) == 0);
+        return value;
+    }
+
+    private void scan()
+    {
+        if (_length == 0) return;
+        for (int i = 0; i < BINARY_VERSION_MARKER_SIZE; i++)
+        {
+            if (i >= _length || byteAt(i) != (BINARY_VERSION_MARKER_1_0[i] & 0xff))
+            {
+                throw new IonException("Only binary Ion data can be indexed");
+            }
+        }
+
+        SymbolTable system = PrivateUtils.systemSymtab(1);
+        SymbolTable symbols = system;
+        _pos = 0;
+        while (_pos < _length)
+        {
+            long start = _pos;
+            int td = byteAt(_pos++);
+            if (td == (BINARY_VERSION_MARKER_1_0[0] & 0xff)
+                && isVersionMarker(start))
+            {
+                symbols = system;
+                _pos = start + BINARY_VERSION_MARKER_SIZE;
+                continue;
+            }
+
+            int tid = td >> 4;
+            int ln  = td & 0xf;
+            long len;
+            if (tid == tidBoolean || ln == lnIsNull)
+            {
+                len = 0;
+            }
+            else if (ln == lnIsVarLen || (tid == tidStruct && ln == lnIsOrderedStruct))
+            {
+                len = readVarUInt();
+            }
+            else
+            {
+                len = ln;
+            }
+            long valueStart = _pos;
+            long end = valueStart + len;
+            if (end > _length)
+            {
+                throw new IonException("Unexpected EOF in top-level value at offset " + start);
+            }
+            _pos = end;
+
+            if (tid == tidNull && ln != lnIsNull)
+            {
+                // NOP padding
+                continue;
+            }
+
+            if (tid == tidSymbol && ln != lnIsNull && ln <= 4
+                && uint(valueStart, ln) == ION_1_0_SID)
+            {
+                symbols = system;
+                continue;
+            }
+
+            if (tid == tidTypedecl && isSymbolTableCandidate(valueStart))
+            {
+                SymbolTable local = readSymbolTable(start, end, symbols);
+                if (local != null)
+                {
+                    symbols = local;
+                    continue;
+                }
+            }
+
+            add(start, end, symbols);
+        }
+    }
+
+    private boolean isVersionMarker(long pos)
+    {
+        if (pos + BINARY_VERSION_MARKER_SIZE > _length) return false;
+        for (int i = 1; i < BINARY_VERSION_MARKER_SIZE; i++)
+        {
+            if (byteAt(pos + i) != (BINARY_VERSION_MARKER_1_0[i] & 0xff)) return false;
+        }
+        return true;
+    }
+
+    private long uint(long pos, int len)
+    {
+        long value = 0;
+        for (int i = 0; i < len; i++)
+        {
+            value = (value << 8) | byteAt(pos + i);
+        }
+        return value;
+    }
+
+    /**
+     * Determines whether the annotation wrapper whose annotations start at
+     * the given position holds a non-null struct whose first annotation is
+     * {@code $ion_symbol_table}.
+     */
+    private boolean isSymbolTableCandidate(long annotationsStart)
+    {
+        long valueEnd = _pos;
+        _pos = annotationsStart;
+        try
+        {
+            long annotationsLen = readVarUInt();
+            long wrappedStart = _pos + annotationsLen;
+            if (readVarUInt() != ION_SYMBOL_TABLE_SID || wrappedStart >= valueEnd)
+            {
+                return false;
+            }
+            int td = byteAt(wrappedStart);
+            return (td >> 4) == tidStruct && (td & 0xf) != lnIsNull;
+        }
+        finally
+        {
+            _pos = valueEnd;
+        }
+    }
+
+    /**
+     * Reads what may be a local symbol table, with the given symbol table
+     * current.
+     *
+     * @return null if the value isn't a symbol table after all.
+     */
+    private SymbolTable readSymbolTable(long start, long end, SymbolTable symbols)
+    {
+        IonReader reader =
+            PrivateIonReaderFactory.makeBinaryReader(_catalog, symbols, slice(start, end));
+        try
+        {
+            if (reader.next() != null) return null;
+            return reader.getSymbolTable();
+        }
+        finally
+        {
+            try
+            {
+                reader.close();
+            }
+            catch (IOException e)
+            {
+                throw new IonException(e);
+            }
+        }
+    }
+
+    private void add(long start, long end, SymbolTable symbols)
+    {
+        if (end - start > Integer.MAX_VALUE)
+        {
+            throw new IonException("Top-level value too large");
+        }
+        if (_size == _offsets.length)
+        {
+            _offsets = Arrays.copyOf(_offsets, _size * 2);
+            _lengths = Arrays.copyOf(_lengths, _size * 2);
+        }
+        if (_segment_count == 0 || _segment_symtabs[_segment_count - 1] != symbols)
+        {
+            if (_segment_count == _segment_starts.length)
+            {
+                _segment_starts = Arrays.copyOf(_segment_starts, _segment_count * 2);
+                _segment_symtabs = Arrays.copyOf(_segment_symtabs, _segment_count * 2);
+            }
+            _segment_starts[_segment_count] = _size;
+            _segment_symtabs[_segment_count] = symbols;
+            _segment_count++;
+        }
+        _offsets[_size] = start;
+        _lengths[_size] = (int) (end - start);
+        _size++;
+    }
+
+    /** Returns views of the data between the given offsets. */
+    private ByteBuffer[] slice(long start, long end)
+    {
+        List<ByteBuffer> slices = new ArrayList<ByteBuffer>(1);
+        long pos = start;
+        while (pos < end)
+        {
+            int region = (int) (pos / _region_size);
+            long regionStart = region * _region_size;
+            ByteBuffer slice = _regions[region].duplicate();
+            int limit = (int) (Math.min(end, regionStart + slice.limit()) - regionStart);
+            // the casts keep us binary compatible with the Java 8 signatures of these methods
+            ((Buffer) slice).limit(limit);
+            ((Buffer) slice).position((int) (pos - regionStart));
+            slices.add(slice);
+            pos = regionStart + limit;
+        }
+        return slices.toArray(new ByteBuffer[slices.size()]);
+    }
+
+
+    //========================================================================
+    // Queries
+
+    /** Returns the number of top-level user values. */
+    public int size()
+    {
+        return _size;
+    }
+
+    /**
+     * Returns the offset of a top-level value, including its annotations,
+     * from the start of the data.
+     */
+    public long getOffset(int index)
+    {
+        checkIndex(index);
+        return _offsets[index];
+    }
+
+    /**
+     * Returns the encoded length of a top-level value, including its header
+     * and annotations.
+     */
+    public int getLength(int index)
+    {
+        checkIndex(index);
+        return _lengths[index];
+    }
+
+    /** Returns the symbol table that a top-level value is read with. */
+    public SymbolTable getSymbolTable(int index)
+    {
+        checkIndex(index);
+        int segment = Arrays.binarySearch(_segment_starts, 0, _segment_count, index);
+        if (segment < 0)
+        {
+            // the segment before the insertion point
+            segment = -segment - 2;
+        }
+        return _segment_symtabs[segment];
+    }
+
+    /**
+     * Returns the index of the first value with the given key, in an index
+     * that was {@link #load loaded} with keys.
+     *
+     * @return -1 if no value has the key.
+     */
+    public int indexOf(String key)
+    {
+        if (_keys == null) return -1;
+        Integer index = _keys.get(key);
+        return index == null ? -1 : index;
+    }
+
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= _size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        }
+    }
+
+    /**
+     * Returns a reader over a range of the top-level values, starting with
+     * the symbol table of the first of them.  Any system values between them
+     * are read as usual.
+     *
+     * @param fromIndex the index of the first value, inclusive.
+     * @param toIndex the index of the last value, exclusive; greater than
+     * {@code fromIndex}.
+     *
+     * @return a new reader. Callers must call {@link IonReader#close()} when
+     * finished with it.
+     */
+    public IonReader newReader(int fromIndex, int toIndex)
+    {
+        if (fromIndex >= toIndex)
+        {
+            throw new IllegalArgumentException("Empty range of values");
+        }
+        checkIndex(fromIndex);
+        checkIndex(toIndex - 1);
+        long start = _offsets[fromIndex];
+        long end = _offsets[toIndex - 1] + _lengths[toIndex - 1];
+        return PrivateIonReaderFactory.makeBinaryReader(_catalog,
+                                                        getSymbolTable(fromIndex),
+                                                        slice(start, end));
+    }
+
+
+    /**
+     * Returns a reader over the top-level values from the given one to the
+     * end of the data, starting with the symbol table of that value.
+     *
+     * @return a new reader. Callers must call {@link IonReader#close()} when
+     * finished with it.
+     */
+    public IonReader newReader(int fromIndex)
+    {
+        return newReader(fromIndex, _size);
+    }
+
+
+    //========================================================================
+    // Parallel scanning
+
+    /**
+     * Reads all of the top-level values in disjoint ranges, in parallel.
+     * Each range holds whole values, and about {@code rangeSize} bytes of
+     * them unless a single value is larger.
+     *
+     * @param pool runs the handlers.
+     * @param rangeSize the approximate number of bytes in each range.
+     * @param handler reads each range, possibly concurrently with others.
+     *
+     * @return the results of the ranges, in the order of their values.
+     *
+     * @throws IonException if a handler throws {@link IOException}.
+     */
+    public <T> List<T> parallelScan(ForkJoinPool pool,
+                                    long rangeSize,
+                                    RangeHandler<T> handler)
+    {
+        if (rangeSize <= 0)
+        {
+            throw new IllegalArgumentException("rangeSize must be positive");
+        }
+        if (_size == 0)
+        {
+            return new ArrayList<T>(0);
+        }
+        return pool.invoke(new ScanTask<T>(0, _size, rangeSize, handler));
+    }
+
+    private final class ScanTask<T>
+        extends RecursiveTask<List<T>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int             _from;
+        private final int             _to;
+        private final long            _range_size;
+        private final RangeHandler<T> _handler;
+
+        ScanTask(int from, int to, long rangeSize, RangeHandler<T> handler)
+        {
+            _from = from;
+            _to = to;
+            _range_size = rangeSize;
+            _handler = handler;
+        }
+
+        @Override
+        protected List<T> compute()
+        {
+            long start = _offsets[_from];
+            long end = _offsets[_to - 1] + _lengths[_to - 1];
+            if (_to - _from == 1 || end - start <= _range_size)
+            {
+                List<T> results = new ArrayList<T>();
+                results.add(handle());
+                return results;
+            }
+
+            // split at the value spanning the middle byte
+            int split = Arrays.binarySearch(_offsets, _from, _to, start + (end - start) / 2);
+            if (split < 0)
+            {
+                split = -split - 2;
+            }
+            split = Math.max(split, _from + 1);
+
+            ScanTask<T> right = new ScanTask<T>(split, _to, _range_size, _handler);
+            right.fork();
+            List<T> results =
+                new ScanTask<T>(_from, split, _range_size, _handler).compute();
+            results.addAll(right.join());
+            return results;
+        }
+
+        private T handle()
+        {
+            IonReader reader = newReader(_from, _to);
+            try
+            {
+                return _handler.handle(reader);
+            }
+            catch (IOException e)
+            {
+                throw new IonException(e);
+            }
+            finally
+            {
+                try
+                {
+                    reader.close();
+                }
+                catch (IOException e)
+                {
+                    throw new IonException(e);
+                }
+            }
+        }
+    }
+}
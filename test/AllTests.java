@@ -66,31 +66,47 @@ import software.amazon.ion.impl.LocalSymbolTableTest;
 import software.amazon.ion.impl.SharedSymbolTableTest;
 import software.amazon.ion.impl.SymbolTableTest;
 import software.amazon.ion.impl.TreeReaderTest;
+import software.amazon.ion.impl.bin.DirectWriteBufferTest;
+import software.amazon.ion.impl.bin.GatheringIonManagedBinaryWriterTest;
+import software.amazon.ion.impl.bin.GatheringIonRawBinaryWriterTest;
 import software.amazon.ion.impl.bin.IonManagedBinaryWriterTest;
 import software.amazon.ion.impl.bin.IonRawBinaryWriterTest;
 import software.amazon.ion.impl.bin.PooledBlockAllocatorProviderTest;
+import software.amazon.ion.impl.bin.PresizedIonManagedBinaryWriterTest;
 import software.amazon.ion.impl.bin.WriteBufferTest;
 import software.amazon.ion.impl.lite.IonContextTest;
 import software.amazon.ion.streaming.BadIonStreamingTest;
 import software.amazon.ion.streaming.BinaryStreamingTest;
 import software.amazon.ion.streaming.GoodIonStreamingTest;
+import software.amazon.ion.streaming.IncrementalReaderTest;
 import software.amazon.ion.streaming.InputStreamReaderTest;
 import software.amazon.ion.streaming.MiscStreamingTest;
+import software.amazon.ion.streaming.ProjectingReaderTest;
 import software.amazon.ion.streaming.ReaderDomCopyTest;
 import software.amazon.ion.streaming.ReaderIntegerSizeTest;
 import software.amazon.ion.streaming.ReaderSkippingTest;
 import software.amazon.ion.streaming.ReaderTest;
+import software.amazon.ion.streaming.ResettableReaderTest;
 import software.amazon.ion.streaming.RoundTripStreamingTest;
 import software.amazon.ion.streaming.SpanTests;
+import software.amazon.ion.streaming.TextContainerSkippingTest;
+import software.amazon.ion.streaming.TextNumberReaderTest;
+import software.amazon.ion.streaming.TextValueReaderTest;
+import software.amazon.ion.streaming.TextWhitespaceReaderTest;
+import software.amazon.ion.streaming.TypeAnnotationReaderTest;
+import software.amazon.ion.streaming.Utf8TextReaderTest;
 import software.amazon.ion.system.IonBinaryWriterBuilderTest;
 import software.amazon.ion.system.IonReaderBuilderTest;
 import software.amazon.ion.system.IonSystemBuilderTest;
 import software.amazon.ion.system.IonTextWriterBuilderTest;
 import software.amazon.ion.system.SimpleCatalogTest;
 import software.amazon.ion.util.EquivalenceTest;
+import software.amazon.ion.util.IndexingOutputStreamTest;
 import software.amazon.ion.util.IonStreamUtilsTest;
 import software.amazon.ion.util.JarInfoTest;
+import software.amazon.ion.util.PrimitiveListTest;
 import software.amazon.ion.util.TextTest;
+import software.amazon.ion.util.TopLevelValueIndexTest;
 
 
 /**
@@ -167,6 +183,9 @@ import software.amazon.ion.util.TextTest;
     SpanTests.class,
 
     IonStreamUtilsTest.class,
+    PrimitiveListTest.class,
+    TopLevelValueIndexTest.class,
+    IndexingOutputStreamTest.class,
     TreeReaderTest.class,
     MiscStreamingTest.class,
     BinaryStreamingTest.class,
@@ -179,6 +198,15 @@ import software.amazon.ion.util.TextTest;
     ReaderDomCopyTest.class,
     ReaderSkippingTest.class,
     ReaderIntegerSizeTest.class,
+    TextContainerSkippingTest.class,
+    TextNumberReaderTest.class,
+    TextValueReaderTest.class,
+    TextWhitespaceReaderTest.class,
+    TypeAnnotationReaderTest.class,
+    Utf8TextReaderTest.class,
+    IncrementalReaderTest.class,
+    ResettableReaderTest.class,
+    ProjectingReaderTest.class,
 
     IonSystemTest.class,
     ValueFactorySequenceTest.class,
@@ -192,8 +220,12 @@ import software.amazon.ion.util.TextTest;
     // experimental binary writer tests
     PooledBlockAllocatorProviderTest.class,
     WriteBufferTest.class,
+    DirectWriteBufferTest.class,
     IonRawBinaryWriterTest.class,
     IonManagedBinaryWriterTest.class,
+    GatheringIonRawBinaryWriterTest.class,
+    GatheringIonManagedBinaryWriterTest.class,
+    PresizedIonManagedBinaryWriterTest.class,
 
     // Hash code tests
     HashCodeCorrectnessTest.class,
@@ -1174,6 +1174,27 @@ public class TimestampTest
         checkFraction(".123", new BigDecimal ("-0.123"));
     }
 
+    @Test
+    public void testValueOfFractionLengths()
+    {
+        String[] fractions = {
+            ".0", ".5", ".000", ".123", ".123456789012345678",
+            ".1234567890123456789", ".0000000000000000000000001"
+        };
+        for (String fraction : fractions)
+        {
+            // the text reader parses its StringBuilder as it is
+            StringBuilder text = new StringBuilder("2000-11-14T17:30:12");
+            text.append(fraction).append("-08:00");
+            Timestamp ts = Timestamp.valueOf(text);
+            BigDecimal expected = new BigDecimal(fraction);
+            assertEquals(fraction, expected, ts.getZFractionalSecond());
+            assertEquals(fraction, expected.scale(),
+                         ts.getZFractionalSecond().scale());
+            assertEquals(fraction, text.toString(), ts.toString());
+        }
+    }
+
     @Test
     public void testNewTimestampWithLargeFraction()
     {
@@ -84,6 +84,50 @@ public class VarIntTest extends IonTestCase {
         assertNull(makeReader("C0").readVarInteger());
     }
 
+    @Test(expected = IonException.class)
+    public void overlongVarUInt() throws Exception {
+        makeReader("000000000081").readVarUInt(); // no end flag in the first five bytes
+    }
+
+    @Test(expected = IonException.class)
+    public void overlongVarInt() throws Exception {
+        makeReader("000000000081").readVarInt();
+    }
+
+    @Test
+    public void readConsecutiveVarUInts() throws Exception {
+        // the first ones are decoded in the page, the last byte by byte
+        IonReaderBinaryUserX reader = makeReader("81017F8200FF0300000080FF");
+        assertEquals(1, reader.readVarUInt());
+        assertEquals(0x7F82, reader.readVarUInt());
+        assertEquals(0x7F, reader.readVarUInt());
+        assertEquals(0x30000000, reader.readVarUInt());
+        assertEquals(0x7F, reader.readVarUInt());
+        assertEquals(UnifiedInputStreamX.EOF, reader.readVarUIntOrEOF());
+    }
+
+    @Test
+    public void readConsecutiveVarInts() throws Exception {
+        // the first is decoded in the page, the rest byte by byte
+        IonReaderBinaryUserX reader = makeReader("C1417FC2FF");
+        assertEquals(-1, reader.readVarInt());
+        assertEquals(-0x7FC2, reader.readVarInt());
+        assertEquals(-0x3F, reader.readVarInt());
+    }
+
+    @Test
+    public void readConsecutiveULongs() throws Exception {
+        IonReaderBinaryUserX reader = makeReader("0102030405060708FFFFFFFFFFFFFFFF0A0B");
+        assertEquals(0x0102030405060708L, reader.readULong(8));
+        assertEquals(-1L, reader.readULong(8));
+        assertEquals(0x0A0BL, reader.readULong(2));
+    }
+
+    @Test(expected = IonException.class)
+    public void readEOFULong() throws Exception {
+        makeReader("0102").readULong(3);
+    }
+
     private IonReaderBinaryUserX makeReader(String hex) throws Exception {
         ByteArrayInputStream input = new ByteArrayInputStream(parseHexBinary("E00100EA" + hex));
 
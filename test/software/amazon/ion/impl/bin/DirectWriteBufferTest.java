@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Runs the {@link WriteBufferTest} suite over off-heap blocks.
+ */
+public class DirectWriteBufferTest extends WriteBufferTest
+{
+    // XXX make this a prime to make it more likely that we collide on the edges of the buffer
+    private static BlockAllocator ALLOCATOR = new PooledBlockAllocatorProvider(true).vendAllocator(11);
+
+    @Override
+    protected BlockAllocator allocator()
+    {
+        return ALLOCATOR;
+    }
+
+    @Test
+    public void testBlocksAreDirect()
+    {
+        final Block block = ALLOCATOR.allocateBlock();
+        assertTrue(block.isDirect());
+        assertTrue(block.buffer.isDirect());
+        assertNull(block.data);
+        block.close();
+    }
+}
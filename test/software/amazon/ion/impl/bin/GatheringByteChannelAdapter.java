@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Exposes a plain channel as a {@link GatheringByteChannel} that, like a congested socket, accepts at most one
+ * buffer per write.
+ */
+/*package*/ final class GatheringByteChannelAdapter implements GatheringByteChannel
+{
+    private final WritableByteChannel delegate;
+
+    GatheringByteChannelAdapter(final WritableByteChannel delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    public long write(final ByteBuffer[] srcs, final int offset, final int length) throws IOException
+    {
+        for (int i = offset; i < offset + length; i++)
+        {
+            if (srcs[i].hasRemaining())
+            {
+                return delegate.write(srcs[i]);
+            }
+        }
+        return 0;
+    }
+
+    public long write(final ByteBuffer[] srcs) throws IOException
+    {
+        return write(srcs, 0, srcs.length);
+    }
+
+    public int write(final ByteBuffer src) throws IOException
+    {
+        return delegate.write(src);
+    }
+
+    public boolean isOpen()
+    {
+        return delegate.isOpen();
+    }
+
+    public void close() throws IOException
+    {
+        delegate.close();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+
+/**
+ * Runs the {@link IonManagedBinaryWriterTest} suite with the writer flushing to a channel with gathering writes
+ * from off-heap blocks.
+ */
+public class GatheringIonManagedBinaryWriterTest extends IonManagedBinaryWriterTest
+{
+    @Override
+    protected AllocatorMode allocatorMode()
+    {
+        return AllocatorMode.POOLED_DIRECT;
+    }
+
+    @Override
+    protected IonWriter newWriter(final PrivateIonManagedBinaryWriterBuilder builder, final OutputStream out)
+        throws IOException
+    {
+        return builder.newWriter(new GatheringByteChannelAdapter(Channels.newChannel(out)));
+    }
+}
@@ -121,6 +121,17 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
         importedSymbolResolverMode = mode;
     }
 
+    protected AllocatorMode allocatorMode()
+    {
+        return AllocatorMode.POOLED;
+    }
+
+    protected IonWriter newWriter(final PrivateIonManagedBinaryWriterBuilder builder, final OutputStream out)
+        throws IOException
+    {
+        return builder.newWriter(out);
+    }
+
     @Override
     protected IonWriter createWriter(final OutputStream out) throws IOException
     {
@@ -134,12 +145,14 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
             catalog.putTable(table);
         }
 
-        final IonWriter writer = PrivateIonManagedBinaryWriterBuilder
-            .create(AllocatorMode.POOLED)
-            .withImports(importedSymbolResolverMode, symbolTables)
-            .withPreallocationMode(preallocationMode)
-            .withFloatBinary32Enabled()
-            .newWriter(out);
+        final IonWriter writer = newWriter(
+            PrivateIonManagedBinaryWriterBuilder
+                .create(allocatorMode())
+                .withImports(importedSymbolResolverMode, symbolTables)
+                .withPreallocationMode(preallocationMode)
+                .withFloatBinary32Enabled(),
+            out
+        );
 
         final SymbolTable locals = writer.getSymbolTable();
         assertEquals(14, locals.getImportedMaxId());
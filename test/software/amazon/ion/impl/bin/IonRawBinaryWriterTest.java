@@ -469,5 +469,36 @@ public class IonRawBinaryWriterTest extends Assert
         assertValue("{name:\"kumo\", version:1, imports:[0, 1, 2]}");
     }
 
+    @Test
+    public void testNestedSidePatches() throws Exception
+    {
+        // deep enough to grow the container stack and the patch table
+        final int depth = 40;
+        final StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < LONG_STRING_LENGTH; i++)
+        {
+            buf.append("Z");
+        }
+        final String bigStr = buf.toString();
+
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < depth; i++)
+        {
+            writer.stepIn(IonType.LIST);
+            writer.writeString(bigStr);
+            writer.stepIn(IonType.SEXP);
+            writer.writeInt(i);
+            writer.stepOut();
+            expected.append("['''").append(bigStr).append("''', (").append(i).append("), ");
+        }
+        for (int i = 0; i < depth; i++)
+        {
+            writer.writeString(bigStr);
+            writer.stepOut();
+            expected.append(i == 0 ? "'''" : ", '''").append(bigStr).append("''']");
+        }
+        assertValue(expected.toString());
+    }
+
     // TODO test large stuff...
 }
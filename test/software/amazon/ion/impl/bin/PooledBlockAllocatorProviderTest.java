@@ -16,14 +16,23 @@ package software.amazon.ion.impl.bin;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
 import software.amazon.ion.impl.bin.Block;
 import software.amazon.ion.impl.bin.BlockAllocator;
 import software.amazon.ion.impl.bin.PooledBlockAllocatorProvider;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorStatistics;
 
 public class PooledBlockAllocatorProviderTest
 {
@@ -58,6 +67,20 @@ public class PooledBlockAllocatorProviderTest
         assertEquals(0, block1Again.limit);
     }
 
+    @Test
+    public void testReuseDirectBlockAfterClose()
+    {
+        final BlockAllocator allocator = new PooledBlockAllocatorProvider(true).vendAllocator(8);
+        final Block block1 = allocator.allocateBlock();
+        assertTrue(block1.isDirect());
+        assertEquals(8, block1.capacity());
+        block1.limit = 7;
+        block1.close();
+        final Block block1Again = allocator.allocateBlock();
+        assertSame(block1.buffer, block1Again.buffer);
+        assertEquals(0, block1Again.limit);
+    }
+
     @Test
     public void testReuseAllocatorBlocksAcrossAllocators()
     {
@@ -90,4 +113,174 @@ public class PooledBlockAllocatorProviderTest
         block1Again.close();
         block2Again.close();
     }
+
+    // XXX large enough that a thread's magazine only holds two blocks, so we exercise the shared depot
+    private static final int LARGE_BLOCK_SIZE = 256 * 1024;
+
+    @Test
+    public void testEvictWhenPoolFull()
+    {
+        provider.setMaxRetainedBytes(3 * LARGE_BLOCK_SIZE);
+        final BlockAllocator allocator = provider.vendAllocator(LARGE_BLOCK_SIZE);
+        final Block[] blocks = new Block[4];
+        for (int i = 0; i < blocks.length; i++)
+        {
+            blocks[i] = allocator.allocateBlock();
+        }
+        for (final Block block : blocks)
+        {
+            block.close();
+        }
+
+        // two in the magazine, one spilled to the depot, and the last could not be retained
+        final AllocatorStatistics stats = provider.getStatistics();
+        assertEquals(4, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(3 * LARGE_BLOCK_SIZE, stats.getRetainedBytes());
+    }
+
+    @Test
+    public void testReuseBlocksAcrossThreads() throws Exception
+    {
+        final BlockAllocator allocator = provider.vendAllocator(LARGE_BLOCK_SIZE);
+        final Block[] released = new Block[3];
+        final Thread thread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                for (int i = 0; i < released.length; i++)
+                {
+                    released[i] = allocator.allocateBlock();
+                }
+                for (final Block block : released)
+                {
+                    block.close();
+                }
+            }
+        };
+        thread.start();
+        thread.join();
+
+        // the oldest block released by the other thread was spilled to the depot
+        final Block block = allocator.allocateBlock();
+        assertSame(released[0], block);
+        assertEquals(0, block.limit);
+        allocator.allocateBlock();
+
+        final AllocatorStatistics stats = provider.getStatistics();
+        assertEquals(1, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        // the other thread's magazine still holds the rest
+        assertEquals(2 * LARGE_BLOCK_SIZE, stats.getRetainedBytes());
+
+        // ...until they sit idle, even though their thread is gone
+        provider.setIdleTimeout(0, TimeUnit.MILLISECONDS);
+        Thread.sleep(1);
+        provider.evictIdleBlocks();
+        assertEquals(2, provider.getStatistics().getEvictions());
+        assertEquals(0, provider.getStatistics().getRetainedBytes());
+    }
+
+    @Test
+    public void testEvictIdleBlocks() throws Exception
+    {
+        final BlockAllocator allocator = provider.vendAllocator(LARGE_BLOCK_SIZE);
+        final Block block1 = allocator.allocateBlock();
+        final Block block2 = allocator.allocateBlock();
+        final Block block3 = allocator.allocateBlock();
+        block1.close();
+        block2.close();
+        block3.close();
+        assertEquals(3 * LARGE_BLOCK_SIZE, provider.getStatistics().getRetainedBytes());
+
+        // both the depot and this thread's magazine give up their blocks
+        provider.setIdleTimeout(0, TimeUnit.MILLISECONDS);
+        Thread.sleep(1);
+        provider.evictIdleBlocks();
+        final AllocatorStatistics stats = provider.getStatistics();
+        assertEquals(3, stats.getEvictions());
+        assertEquals(0, stats.getRetainedBytes());
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testBuilderStatistics()
+    {
+        assertNull(PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.BASIC).getAllocatorStatistics());
+        final PrivateIonManagedBinaryWriterBuilder builder = PrivateIonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withMaxRetainedBlockBytes(0);
+        assertEquals(0, builder.getAllocatorStatistics().getRetainedBytes());
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testBuildersSharePool()
+    {
+        assertSame(PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED).provider,
+                   PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED).provider);
+        assertSame(PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED_DIRECT).provider,
+                   PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED_DIRECT).provider);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testConfiguredBuilderOwnsPool()
+    {
+        final PrivateIonManagedBinaryWriterBuilder builder =
+            PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED_DIRECT);
+        final BlockAllocatorProvider shared = builder.provider;
+        builder.withIdleBlockTimeout(1, TimeUnit.SECONDS);
+        final BlockAllocatorProvider owned = builder.provider;
+        assertNotSame(shared, owned);
+        assertSame(shared, PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED_DIRECT).provider);
+        assertTrue(owned.vendAllocator(8).allocateBlock().isDirect());
+
+        // configuring again keeps the pool, and copies share it until they are configured themselves
+        builder.withMaxRetainedBlockBytes(1024);
+        assertSame(owned, builder.provider);
+        final PrivateIonManagedBinaryWriterBuilder copy = builder.copy();
+        assertSame(owned, copy.provider);
+        copy.withMaxRetainedBlockBytes(0);
+        assertNotSame(owned, copy.provider);
+        assertSame(owned, builder.provider);
+    }
+
+    private static AllocatorStatistics writeWithCopies(final PrivateIonManagedBinaryWriterBuilder builder,
+                                                       final int count)
+        throws IOException
+    {
+        for (int i = 0; i < count; i++)
+        {
+            final IonWriter writer = builder.copy().newWriter(new ByteArrayOutputStream());
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("name");
+            writer.writeString("value " + i);
+            writer.stepOut();
+            writer.close();
+        }
+        return builder.getAllocatorStatistics();
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testRetainedBytesFlatAcrossWriters() throws IOException
+    {
+        // a pool of the builder's own, so that other writers in the process don't disturb the counters
+        final PrivateIonManagedBinaryWriterBuilder builder = PrivateIonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withMaxRetainedBlockBytes(PooledBlockAllocatorProvider.DEFAULT_MAX_RETAINED_BYTES);
+        final AllocatorStatistics warm = writeWithCopies(builder, 10);
+        final AllocatorStatistics stats = writeWithCopies(builder, 1000);
+        assertEquals(warm.getRetainedBytes(), stats.getRetainedBytes());
+        assertEquals(warm.getMisses(), stats.getMisses());
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBuilderLimitsRequirePooling()
+    {
+        PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.BASIC).withMaxRetainedBlockBytes(0);
+    }
 }
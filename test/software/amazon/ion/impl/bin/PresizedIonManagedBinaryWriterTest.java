@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import static software.amazon.ion.TestUtils.hexDump;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.bin.AbstractIonWriter.WriteValueOptimization;
+import software.amazon.ion.impl.bin.IonRawBinaryWriter.PreallocationMode;
+import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
+import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+import software.amazon.ion.system.IonSystemBuilder;
+
+/**
+ * Checks that writing values with precomputed lengths produces the same encoding as writing them without padding.
+ */
+public class PresizedIonManagedBinaryWriterTest extends Assert
+{
+    private static final IonSystem SYSTEM = IonSystemBuilder.standard().build();
+
+    private static String repeat(final String text, final int count)
+    {
+        final StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < count; i++)
+        {
+            buf.append(text);
+        }
+        return buf.toString();
+    }
+
+    private static byte[] write(final PrivateIonManagedBinaryWriterBuilder builder, final IonDatagram values)
+        throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = builder
+            .withPreallocationMode(PreallocationMode.PREALLOCATE_0)
+            .withFloatBinary32Enabled()
+            .newWriter(out);
+        for (final IonValue value : values)
+        {
+            value.writeTo(writer);
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private void assertPresized(final String literal) throws IOException
+    {
+        final IonDatagram expected = SYSTEM.getLoader().load(literal);
+
+        final byte[] padless = write(PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED), expected);
+        final byte[] presized = write(
+            PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED).withLengthPrecomputationEnabled(),
+            expected
+        );
+
+        assertArrayEquals(
+            "Bytes don't match!\nEXPECTED:\n" + hexDump(padless) + "\nACTUAL:\n" + hexDump(presized) + "\n",
+            padless, presized
+        );
+        assertEquals(expected, SYSTEM.getLoader().load(presized));
+    }
+
+    @Test
+    public void testContainers() throws Exception
+    {
+        assertPresized("[{}, [], (), null.struct, null.list, null.sexp, {a:[1, 2, (3 4)], b:{c:{d:[[[[5]]]]}}}]");
+    }
+
+    @Test
+    public void testAnnotations() throws Exception
+    {
+        assertPresized("a::b::{c:d::e::[f::1, g::\"h\", i::2001T, j::1.5, k::{}]}");
+    }
+
+    @Test
+    public void testScalars() throws Exception
+    {
+        assertPresized("[null, true, false, 0, -1, 255, 256, 9223372036854775807, -9223372036854775808,"
+                       + " 123456789012345678901234567890, -123456789012345678901234567890,"
+                       + " 1.5e0, 1.5e300, nan, -inf, sym, 'quoted sym', $0, {{ aGVsbG8= }}, {{\"clob\"}}, {{}}]");
+    }
+
+    @Test
+    public void testDecimals() throws Exception
+    {
+        assertPresized("[0d0, -0d0, 0d5, 1.0, -1.0, 12345678901234567890.123, 9223372036854775807d0,"
+                       + " -9223372036854775808d0, 1d-100, 0.000000000000000000000000000000000000001]");
+    }
+
+    @Test
+    public void testTimestamps() throws Exception
+    {
+        assertPresized("[2001T, 2001-02T, 2001-02-03, 2001-02-03T04:05Z, 2001-02-03T04:05:06-08:00,"
+                       + " 2001-02-03T04:05:06.123456789+14:00, 9999-02-03T04:05:06.000000000-00:00]");
+    }
+
+    @Test
+    public void testStrings() throws Exception
+    {
+        assertPresized("{a:\"\", b:\"h\\u00e9llo \\u2603 \\U0001d11e and enough text to need a length\","
+                       + " c:\"" + repeat("x", 200) + "\", d:\"" + repeat("\\u00fc", 100) + "\","
+                       + " e:\"" + repeat("\\u20ac", 6000) + "\"}");
+    }
+
+    @Test
+    public void testLocalSymbolTable() throws Exception
+    {
+        assertPresized("$ion_symbol_table::{symbols:[\"q\"]} {q:1} $ion_1_0 {r:[q]}");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDeclaredLengthMismatch() throws Exception
+    {
+        final IonRawBinaryWriter writer = new IonRawBinaryWriter(
+            BlockAllocatorProviders.basicProvider(),
+            11,
+            new ByteArrayOutputStream(),
+            WriteValueOptimization.NONE,
+            StreamCloseMode.NO_CLOSE,
+            StreamFlushMode.NO_FLUSH,
+            PreallocationMode.PREALLOCATE_0,
+            false
+        );
+        writer.setNextValueContentLength(1);
+        writer.stepIn(IonType.LIST);
+        writer.writeInt(256);
+        writer.stepOut();
+    }
+}
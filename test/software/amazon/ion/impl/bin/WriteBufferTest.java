@@ -21,6 +21,9 @@ import static software.amazon.ion.TestUtils.hexDump;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import org.junit.After;
 import org.junit.Before;
@@ -34,12 +37,18 @@ public class WriteBufferTest
     // XXX make this a prime to make it more likely that we collide on the edges of the buffer
     private static BlockAllocator ALLOCATOR = BlockAllocatorProviders.basicProvider().vendAllocator(11);
 
-    private WriteBuffer buf;
+    protected WriteBuffer buf;
+
+    /** The allocator the buffer under test draws its blocks from. */
+    protected BlockAllocator allocator()
+    {
+        return ALLOCATOR;
+    }
 
     @Before
     public void setup()
     {
-        buf = new WriteBuffer(ALLOCATOR);
+        buf = new WriteBuffer(allocator());
     }
 
     @After
@@ -48,7 +57,7 @@ public class WriteBufferTest
         buf = null;
     }
 
-    private byte[] bytes()
+    protected byte[] bytes()
     {
         final ByteArrayOutputStream out = new ByteArrayOutputStream();
         try
@@ -62,7 +71,7 @@ public class WriteBufferTest
         return out.toByteArray();
     }
 
-    private void assertBuffer(final byte[] expected)
+    protected void assertBuffer(final byte[] expected)
     {
 
         final byte[] actual = bytes();
@@ -791,6 +800,32 @@ public class WriteBufferTest
         assertBuffer(expected);
     }
 
+    @Test
+    public void testUTF8AsciiRuns() throws IOException
+    {
+        // long enough for the word scan, spanning blocks and scratch chunks, with non-ASCII in and after the runs
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1500; i++)
+        {
+            builder.append((char) ('a' + (i % 26)));
+        }
+        final String ascii = builder.toString();
+        final String[] texts = {
+            ascii,
+            ascii.substring(0, 17),
+            ascii.substring(0, 21) + "\u00F4" + ascii.substring(0, 30),
+            ascii.substring(0, 512) + "\u30CF" + ascii,
+            ascii.substring(0, 1023) + "\uD83D\uDCA9",
+        };
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (final String text : texts)
+        {
+            assertEquals(WriteBuffer.utf8Length(text), buf.writeUTF8(text));
+            expected.write(text.getBytes("UTF-8"));
+        }
+        assertBuffer(expected.toByteArray());
+    }
+
     @Test
     public void testUTF8TwoByte() throws IOException
     {
@@ -915,4 +950,63 @@ public class WriteBufferTest
         buf.writeBytes("DOO".getBytes("UTF-8"));
         assertBuffer("ARGLEFOOBARGLEDOO".getBytes("UTF-8"));
     }
+
+    @Test
+    public void testWriteToChannel() throws IOException
+    {
+        buf.writeBytes("ARGLEFOOBARGLEDOO".getBytes("UTF-8"));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buf.writeTo(new GatheringByteChannelAdapter(Channels.newChannel(out)));
+        assertArrayEquals("ARGLEFOOBARGLEDOO".getBytes("UTF-8"), out.toByteArray());
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteToStalledChannel() throws IOException
+    {
+        buf.writeBytes("ARGLEFOOBARGLEDOO".getBytes("UTF-8"));
+        // XXX like a non-blocking socket whose send buffer is full
+        buf.writeTo(new GatheringByteChannelAdapter(new WritableByteChannel()
+        {
+            public int write(final ByteBuffer src)
+            {
+                return 0;
+            }
+
+            public boolean isOpen()
+            {
+                return true;
+            }
+
+            public void close() {}
+        }));
+    }
+
+    @Test
+    public void testWriteSegmentTo() throws IOException
+    {
+        buf.writeBytes("ARGLEFOOBARGLEDOO".getBytes("UTF-8"));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // XXX straddles the block boundary
+        buf.writeTo(out, 5, 9);
+        assertArrayEquals("FOOBARGLE".getBytes("UTF-8"), out.toByteArray());
+    }
+
+    @Test
+    public void testLengths()
+    {
+        final long[] values = {
+            0, 1, 0x3F, 0x40, 0x7F, 0x80, 0x1FFF, 0x2000, 0x3FFF, 0x4000, 0xFFFFFF0L, 0x7FFFFFFF0L,
+            Integer.MAX_VALUE, Long.MAX_VALUE >> 1, Long.MAX_VALUE
+        };
+        for (final long value : values)
+        {
+            assertEquals(buf.writeVarUInt(value), WriteBuffer.varUIntLength(value));
+            assertEquals(buf.writeVarInt(value), WriteBuffer.varIntLength(value));
+            assertEquals(buf.writeVarInt(-value), WriteBuffer.varIntLength(-value));
+        }
+        for (final String text : new String[] {"", "ARGLE", "\u00E9t\u00E9", "\u2603 snow", "\uD834\uDD1E clef"})
+        {
+            assertEquals(buf.writeUTF8(text), WriteBuffer.utf8Length(text));
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonIncrementalReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.system.IonReaderBuilder;
+
+public class IncrementalReaderTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "$ion_symbol_table::{symbols:[\"a\", \"b\"]} a::{b:[1, \"two\", 3e0]}"
+        + " $ion_1_0 c::\"" + repeat("long ", 100) + "\""
+        + " $ion_symbol_table::{symbols:[\"d\"]} d null.struct true";
+
+    private final IonIncrementalReader in =
+        IonReaderBuilder.standard().buildIncremental();
+
+    private static String repeat(String text, int count)
+    {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < count; i++)
+        {
+            buf.append(text);
+        }
+        return buf.toString();
+    }
+
+    @After @Override
+    public void tearDown() throws Exception
+    {
+        in.close();
+        super.tearDown();
+    }
+
+    /**
+     * Feeds the encoding of {@link #DATA} in chunks of the given size,
+     * loading each value as soon as it's available.
+     */
+    private IonDatagram readInChunks(int chunkSize)
+    {
+        byte[] data = encode(DATA);
+        IonDatagram values = system().newDatagram();
+        int offset = 0;
+        while (true)
+        {
+            while (in.next() != null)
+            {
+                values.add(system().newValue(in));
+            }
+            if (! in.needsData())
+            {
+                return values;
+            }
+            if (offset == data.length)
+            {
+                in.endOfInput();
+                continue;
+            }
+            int length = Math.min(chunkSize, data.length - offset);
+            in.feed(ByteBuffer.wrap(data, offset, length));
+            offset += length;
+        }
+    }
+
+    @Test
+    public void testSingleBytes()
+    {
+        assertEquals(loader().load(DATA), readInChunks(1));
+    }
+
+    @Test
+    public void testChunks()
+    {
+        assertEquals(loader().load(DATA), readInChunks(7));
+    }
+
+    @Test
+    public void testNeedsData()
+    {
+        byte[] data = encode("[1, 2] 3");
+
+        assertNull(in.next());
+        assertTrue(in.needsData());
+
+        // everything but the last byte of the list
+        in.feed(data, 0, data.length - 3);
+        assertNull(in.next());
+        assertTrue(in.needsData());
+
+        in.feed(data, data.length - 3, 1);
+        assertEquals(IonType.LIST, in.next());
+        in.stepIn();
+        assertEquals(IonType.INT, in.next());
+        assertEquals(1, in.intValue());
+        in.stepOut();
+        assertNull(in.next());
+        assertTrue(in.needsData());
+
+        in.feed(data, data.length - 2, 2);
+        assertEquals(IonType.INT, in.next());
+        assertEquals(3, in.intValue());
+        assertNull(in.next());
+        assertTrue(in.needsData());
+
+        in.endOfInput();
+        assertNull(in.next());
+        assertFalse(in.needsData());
+    }
+
+    @Test(expected = IonException.class)
+    public void testIncompleteValueAtEndOfInput()
+    {
+        byte[] data = encode("\"incomplete\"");
+        in.feed(data, 0, data.length - 1);
+        in.endOfInput();
+        in.next();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFeedAfterEndOfInput()
+    {
+        in.endOfInput();
+        in.feed(encode("1"), 0, 1);
+    }
+
+    @Test(expected = IonException.class)
+    public void testText()
+    {
+        byte[] data = utf8("{a:1}");
+        in.feed(data, 0, data.length);
+    }
+}
@@ -16,8 +16,10 @@ package software.amazon.ion.streaming;
 
 import static software.amazon.ion.impl.PrivateUtils.utf8;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
 import org.junit.Assert;
 import org.junit.Test;
@@ -183,6 +185,45 @@ public class MiscStreamingTest
         assertTrue(ann.length == 1 && ann[0].equals("item_view"));
     }
 
+    @Test
+    public void testBinaryAnnotationsOfSkippedValues()
+    throws Exception
+    {
+        String s = "a::1 {x:b::c::[d::2, e::\"e\"], y:f::3} g::h::i::j::k::l::m::n::o::p::q::4";
+        byte[] bytes = system().getLoader().load(s).getBytes();
+        byte[] padded = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+
+        IonReader[] readers = {
+            system().newReader(bytes),
+            system().newReader(padded, 2, bytes.length),
+            system().newReader(new ByteArrayInputStream(bytes)),
+        };
+        for (IonReader it : readers)
+        {
+            // the annotations are asked for after the value is read
+            assertSame(IonType.INT, it.next());
+            assertEquals(1, it.intValue());
+            assertEquals("[a]", Arrays.toString(it.getTypeAnnotations()));
+
+            // those of the list are never asked for
+            assertSame(IonType.STRUCT, it.next());
+            it.stepIn();
+            assertSame(IonType.LIST, it.next());
+            assertSame(IonType.INT, it.next());
+            assertEquals("y", it.getFieldName());
+            assertEquals("[f]", Arrays.toString(it.getTypeAnnotations()));
+            it.stepOut();
+
+            assertSame(IonType.INT, it.next());
+            assertEquals("[g, h, i, j, k, l, m, n, o, p, q]",
+                         Arrays.toString(it.getTypeAnnotations()));
+            assertEquals(4, it.intValue());
+            assertEquals(11, it.getTypeAnnotations().length);
+            assertNull(it.next());
+        }
+    }
+
 
     @Test
     public void testTextNullStringValue()
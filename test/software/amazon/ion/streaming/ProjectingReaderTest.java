@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayInputStream;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.system.IonReaderBuilder;
+
+public class ProjectingReaderTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "{order:{customer:{id:1, name:\"x\"}, total:2.5,"
+        + " lines:[{sku:a, qty:1}, {sku:b}, 7]}, other:{total:9}}"
+        + " 5 [{order:1, total:2}]"
+        + " $ion_symbol_table::{symbols:[\"qty\", \"total\"]}"
+        + " a::{order:{qty:3, customer:null, total:4}, zzz:1}"
+        + " $ion_1_0 {order:{customer:{id:{deep:[1, 2]}}}} {order:null}";
+
+    private static final String PROJECTED =
+        "{order:{customer:{id:1}, total:2.5, lines:[{qty:1}, {}, 7]}}"
+        + " 5 [{order:1}]"
+        + " a::{order:{customer:null, total:4}}"
+        + " {order:{customer:{id:{deep:[1, 2]}}}} {order:null}";
+
+    private final IonReaderBuilder builder = IonReaderBuilder.standard()
+        .withFieldProjection("order.customer.id", "order.total", "order.lines.qty")
+        .immutable();
+
+    private void checkProjection(IonReader reader)
+        throws Exception
+    {
+        IonDatagram expected = loader().load(PROJECTED);
+        assertEquals(expected, loader().load(writeBinaryBytes(reader)));
+        reader.close();
+    }
+
+    @Test
+    public void testBinaryProjection()
+        throws Exception
+    {
+        byte[] data = encode(DATA);
+        checkProjection(builder.build(data));
+        checkProjection(builder.build(new ByteArrayInputStream(data)));
+        checkProjection(builder.buildPooled(data, 0, data.length));
+    }
+
+    @Test
+    public void testTextProjection()
+        throws Exception
+    {
+        checkProjection(builder.build(DATA));
+        checkProjection(builder.build(utf8(DATA)));
+    }
+
+    @Test
+    public void testTreeProjection()
+        throws Exception
+    {
+        checkProjection(builder.build(loader().load(DATA)));
+    }
+
+    @Test
+    public void testShorterPathReadsValueInFull()
+        throws Exception
+    {
+        IonReader reader = IonReaderBuilder.standard()
+            .withFieldProjection("order.customer.id", "order")
+            .build(encode("{order:{customer:{id:1, name:\"x\"}}, other:2}"));
+        assertEquals(loader().load("{order:{customer:{id:1, name:\"x\"}}}"),
+                     loader().load(writeBinaryBytes(reader)));
+    }
+
+    @Test
+    public void testContainersNotSteppedInto()
+        throws Exception
+    {
+        IonReader reader = builder.build(encode(DATA));
+        assertSame(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertSame(IonType.STRUCT, reader.next());
+        assertEquals("order", reader.getFieldName());
+        reader.stepIn();
+        assertSame(IonType.STRUCT, reader.next());
+        assertEquals("customer", reader.getFieldName());
+        assertSame(IonType.DECIMAL, reader.next());
+        assertEquals("total", reader.getFieldName());
+        assertSame(IonType.LIST, reader.next());
+        assertNull(reader.next());
+        reader.stepOut();
+        assertNull(reader.next());
+        reader.stepOut();
+        assertSame(IonType.INT, reader.next());
+        assertEquals(5, reader.intValue());
+        reader.close();
+    }
+
+    @Test
+    public void testFieldProjectionOption()
+    {
+        IonReaderBuilder b = IonReaderBuilder.standard();
+        assertNull(b.getFieldProjection());
+
+        String[] paths = { "a.b", "c" };
+        b.setFieldProjection(paths);
+        paths[0] = "d";
+        assertEquals("a.b", b.getFieldProjection()[0]);
+
+        assertNull(b.withFieldProjection((String[]) null).getFieldProjection());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyFieldName()
+    {
+        IonReaderBuilder.standard().withFieldProjection("a..b");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIncrementalReaderNotProjected()
+    {
+        builder.buildIncremental();
+    }
+}
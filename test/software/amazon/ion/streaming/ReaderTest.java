@@ -131,6 +131,35 @@ public class ReaderTest
         checkNullSymbol(in);
     }
 
+    @Test
+    public void testStringValueEncodings()
+        throws Exception
+    {
+        // long enough to cross the pages of the readers over streams
+        StringBuilder mixed = new StringBuilder();
+        for (int i = 0; i < 20000; i++)
+        {
+            mixed.append("a\u00e9\u2603\ud834\udd1e");
+        }
+        String[] values = {
+            "", "ascii", "caf\u00e9", "\u2603 snow", "\ud834\udd1e", mixed.toString()
+        };
+
+        StringBuilder text = new StringBuilder();
+        for (String value : values)
+        {
+            text.append('"').append(value).append("\" ");
+        }
+        read(text.toString());
+
+        for (String value : values)
+        {
+            assertEquals(IonType.STRING, in.next());
+            expectString(value);
+        }
+        expectEof();
+    }
+
     @Test
     public void testStringValueOnNonText()
         throws Exception
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayInputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.ResettableReader;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.system.IonReaderBuilder;
+
+public class ResettableReaderTest
+    extends IonTestCase
+{
+    private static final String[] MESSAGES =
+    {
+        "$ion_symbol_table::{symbols:[\"a\", \"b\"]} {a:b, c:[1, \"two\", 3e0]}",
+        "$ion_symbol_table::{symbols:[\"a\", \"b\"]} a::b",
+        "{d:1} e::f",
+        "",
+    };
+
+    private final IonReaderBuilder builder = IonReaderBuilder.standard();
+
+    private void checkResets(IonReader reader, boolean binary)
+        throws Exception
+    {
+        ResettableReader resettable = reader.asFacet(ResettableReader.class);
+        assertNotNull(resettable);
+
+        for (String message : MESSAGES)
+        {
+            byte[] data = binary ? encode(message) : utf8(message);
+
+            // leave the reader part way through a value
+            resettable.reset(data, 0, data.length);
+            if (reader.next() == IonType.STRUCT)
+            {
+                reader.stepIn();
+                reader.next();
+            }
+
+            byte[] padded = new byte[data.length + 4];
+            System.arraycopy(data, 0, padded, 2, data.length);
+            resettable.reset(padded, 2, data.length);
+            assertEquals(loader().load(message), loader().load(writeBinaryBytes(reader)));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+            direct.put(data);
+            ((Buffer) direct).flip();
+            resettable.reset(direct);
+            assertEquals(0, direct.position());
+            assertEquals(loader().load(message), loader().load(writeBinaryBytes(reader)));
+        }
+    }
+
+    @Test
+    public void testBinaryReset()
+        throws Exception
+    {
+        IonReader reader = builder.build(encode("1"));
+        checkResets(reader, true);
+        reader.close();
+    }
+
+    @Test
+    public void testTextReset()
+        throws Exception
+    {
+        IonReader reader = builder.build(utf8("1"));
+        checkResets(reader, false);
+        reader.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBinaryReaderResetToText()
+    {
+        byte[] data = utf8("{a:1}");
+        builder.build(encode("1")).asFacet(ResettableReader.class).reset(data, 0, data.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTextReaderResetToBinary()
+    {
+        byte[] data = encode("{a:1}");
+        builder.build(utf8("1")).asFacet(ResettableReader.class).reset(data, 0, data.length);
+    }
+
+    @Test
+    public void testStreamReaderIsNotResettable()
+    {
+        IonReader reader = builder.build(new ByteArrayInputStream(encode("1")));
+        assertNull(reader.asFacet(ResettableReader.class));
+    }
+
+    @Test
+    public void testRepeatedLocalSymbolTableIsReused()
+    {
+        byte[] data = encode(MESSAGES[0]);
+        IonReader reader = builder.build(data);
+        ResettableReader resettable = reader.asFacet(ResettableReader.class);
+
+        assertEquals(IonType.STRUCT, reader.next());
+        SymbolTable symbols = reader.getSymbolTable();
+
+        resettable.reset(data, 0, data.length);
+        assertEquals(IonType.STRUCT, reader.next());
+        assertSame(symbols, reader.getSymbolTable());
+
+        byte[] other = encode("$ion_symbol_table::{symbols:[\"x\"]} x");
+        resettable.reset(other, 0, other.length);
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertNotSame(symbols, reader.getSymbolTable());
+        assertEquals("x", reader.stringValue());
+    }
+
+    @Test
+    public void testPooledReadersAreReused()
+        throws Exception
+    {
+        byte[] data = encode(MESSAGES[0]);
+        IonReader first = builder.buildPooled(data, 0, data.length);
+        first.close();
+
+        IonReader second = builder.buildPooled(data, 0, data.length);
+        assertSame(first, second);
+
+        // the first is in use, so a new reader is needed
+        IonReader third = builder.buildPooled(data, 0, data.length);
+        assertNotSame(second, third);
+        assertEquals(loader().load(MESSAGES[0]), loader().load(writeBinaryBytes(second)));
+        assertEquals(loader().load(MESSAGES[0]), loader().load(writeBinaryBytes(third)));
+        second.close();
+        third.close();
+
+        // text data needs a text reader
+        byte[] text = utf8(MESSAGES[2]);
+        IonReader textReader = builder.buildPooled(text, 0, text.length);
+        assertNotSame(second, textReader);
+        assertNotSame(third, textReader);
+        assertEquals(loader().load(MESSAGES[2]), loader().load(writeBinaryBytes(textReader)));
+        textReader.close();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.util.Spans.currentSpan;
+
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonType;
+import software.amazon.ion.ReaderMaker;
+import software.amazon.ion.TextSpan;
+import software.amazon.ion.junit.Injected.Inject;
+
+/**
+ * Skips text containers holding everything that could be mistaken for the
+ * end of one, which readers over bytes pass over a page at a time.
+ */
+public class TextContainerSkippingTest
+    extends ReaderTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS =
+        ReaderMaker.valuesWith(ReaderMaker.Feature.TEXT);
+
+    /** A struct whose strings, symbols, comments and lobs hold brackets. */
+    private static final String TRICKY =
+        "{ a: \"}]) \\\" }\", 'b}': '\\'}', c: '''}'''\n'''])''',\n"
+        + "  // } line comment ]\n"
+        + "  d: /* } block\n comment ) */ [1, (+ - / * x), {}],\n"
+        + "  e: {{ aGVsbG8/+w== }}, f: {{ \"}}\" }}, g: {{ '''}}''' }},\n"
+        + "  h: \"\u00e9\u4e2d}\" }";
+
+
+    @Test
+    public void testSkipTrickyContainers()
+    {
+        read(TRICKY + " after [" + TRICKY + "] (" + TRICKY + ") end");
+
+        assertEquals(IonType.STRUCT, in.next());
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals("after", in.stringValue());
+        assertEquals(IonType.LIST, in.next());
+        assertEquals(IonType.SEXP, in.next());
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals("end", in.stringValue());
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testStepOutEarly()
+    {
+        read("[" + TRICKY + ", {x:1, y:[2, \"]\"]}, 3] 4");
+
+        assertEquals(IonType.LIST, in.next());
+        in.stepIn();
+        assertEquals(IonType.STRUCT, in.next());
+        in.stepIn();
+        assertEquals(IonType.STRING, in.next());
+        assertEquals("a", in.getFieldName());
+        in.stepOut();
+        assertEquals(IonType.STRUCT, in.next());
+        in.stepIn();
+        assertEquals(IonType.INT, in.next());
+        in.stepOut();
+        in.stepOut();
+        assertEquals(IonType.INT, in.next());
+        assertEquals(4, in.intValue());
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testLinesCountedWhileSkipping()
+    {
+        read("{\n  a: [\n    1,\n    2\n  ],\n  b: '''x\ny'''\n}\n\n  next");
+
+        assertEquals(IonType.STRUCT, in.next());
+        assertEquals(IonType.SYMBOL, in.next());
+        TextSpan span = currentSpan(TextSpan.class, in);
+        if (span != null)
+        {
+            assertEquals(10, span.getStartLine());
+            assertEquals(3, span.getStartColumn());
+        }
+    }
+
+    @Test(expected = IonException.class)
+    public void testUnterminatedContainer()
+    {
+        read("{ a: [1, 2, \"]}\" }");
+        in.next();
+        in.next();
+    }
+}
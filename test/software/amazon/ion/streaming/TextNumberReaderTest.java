@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Test;
+import software.amazon.ion.Decimal;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonType;
+import software.amazon.ion.ReaderMaker;
+import software.amazon.ion.Timestamp;
+import software.amazon.ion.junit.Injected.Inject;
+
+/**
+ * Reads text numbers both small enough to be computed from their digits and
+ * too large, which take the general path, and timestamps, which are scanned
+ * like numbers.
+ */
+public class TextNumberReaderTest
+    extends ReaderTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS =
+        ReaderMaker.valuesWith(ReaderMaker.Feature.TEXT);
+
+
+    private void checkInt(String image, IntegerSize size, BigInteger expected)
+    {
+        assertEquals(image, IonType.INT, in.next());
+        assertEquals(image, size, in.getIntegerSize());
+        assertEquals(image, expected, in.bigIntegerValue());
+    }
+
+    @Test
+    public void testInts()
+    {
+        read("0 -0 7 -7 1_000 2147483647 -2147483648 2147483648 -2147483649 "
+             + "999999999999999999 -999999999999999999 "
+             + "9223372036854775807 -9223372036854775808 9223372036854775808");
+
+        checkInt("0", IntegerSize.INT, BigInteger.ZERO);
+        checkInt("-0", IntegerSize.INT, BigInteger.ZERO);
+        checkInt("7", IntegerSize.INT, BigInteger.valueOf(7));
+        checkInt("-7", IntegerSize.INT, BigInteger.valueOf(-7));
+        checkInt("1_000", IntegerSize.INT, BigInteger.valueOf(1000));
+        checkInt("int max", IntegerSize.INT, BigInteger.valueOf(Integer.MAX_VALUE));
+        checkInt("int min", IntegerSize.INT, BigInteger.valueOf(Integer.MIN_VALUE));
+        checkInt("int max + 1", IntegerSize.LONG, BigInteger.valueOf(Integer.MAX_VALUE + 1L));
+        checkInt("int min - 1", IntegerSize.LONG, BigInteger.valueOf(Integer.MIN_VALUE - 1L));
+        checkInt("18 nines", IntegerSize.LONG, BigInteger.valueOf(999999999999999999L));
+        checkInt("-18 nines", IntegerSize.LONG, BigInteger.valueOf(-999999999999999999L));
+        checkInt("long max", IntegerSize.LONG, BigInteger.valueOf(Long.MAX_VALUE));
+        checkInt("long min", IntegerSize.LONG, BigInteger.valueOf(Long.MIN_VALUE));
+        checkInt("long max + 1", IntegerSize.BIG_INTEGER,
+                 BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE));
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testDecimals()
+    {
+        String[] images = {
+            "0.", "0.00", "1.5", "-1.5", "123.456", "0.000001", "1d5", "1D-5",
+            "12.34d+2", "1_2.3_4", "999999999999999999.", "9999999999999999999.9",
+            "0.0000000000000000000000000001", "1d2147483647"
+        };
+        StringBuilder text = new StringBuilder();
+        for (String image : images)
+        {
+            text.append(image).append(' ');
+        }
+        read(text.toString());
+
+        for (String image : images)
+        {
+            String expected = image.replace("_", "").replace('d', 'e').replace('D', 'e');
+            assertEquals(image, IonType.DECIMAL, in.next());
+            BigDecimal actual = in.bigDecimalValue();
+            assertEquals(image, new BigDecimal(expected), actual);
+            assertEquals(image, new BigDecimal(expected).scale(), actual.scale());
+        }
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testNegativeZeroes()
+    {
+        read("-0. -0.00 -0d3 -0e0 -0.0e-5");
+
+        assertEquals(IonType.DECIMAL, in.next());
+        assertTrue(Decimal.isNegativeZero(in.decimalValue()));
+        assertEquals(0, in.decimalValue().scale());
+        assertEquals(IonType.DECIMAL, in.next());
+        assertTrue(Decimal.isNegativeZero(in.decimalValue()));
+        assertEquals(2, in.decimalValue().scale());
+        assertEquals(IonType.DECIMAL, in.next());
+        assertTrue(Decimal.isNegativeZero(in.decimalValue()));
+        assertEquals(-3, in.decimalValue().scale());
+
+        assertEquals(IonType.FLOAT, in.next());
+        assertEquals(Double.doubleToRawLongBits(-0.0),
+                     Double.doubleToRawLongBits(in.doubleValue()));
+        assertEquals(IonType.FLOAT, in.next());
+        assertEquals(Double.doubleToRawLongBits(-0.0),
+                     Double.doubleToRawLongBits(in.doubleValue()));
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testFloats()
+    {
+        String[] images = {
+            "0e0", "1e0", "-1.5e0", "1e22", "1e23", "1e-22", "1e-23",
+            "9007199254740992e0", "9007199254740993e0", "0.1e1", "123.456e-7",
+            "1.7976931348623157e308", "4.9e-324", "2.2250738585072014E-308",
+            "1e400", "-1e-400"
+        };
+        StringBuilder text = new StringBuilder();
+        for (String image : images)
+        {
+            text.append(image).append(' ');
+        }
+        read(text.toString());
+
+        for (String image : images)
+        {
+            assertEquals(image, IonType.FLOAT, in.next());
+            assertEquals(image, Double.doubleToRawLongBits(Double.parseDouble(image)),
+                         Double.doubleToRawLongBits(in.doubleValue()));
+        }
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testRandomFloatsRoundTrip()
+    {
+        Random random = new Random(42);
+        double[] values = new double[2000];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < values.length; i++)
+        {
+            // short mantissas and small exponents, as most text has
+            long mantissa = random.nextInt(1000000) - 500000;
+            int exponent = random.nextInt(31) - 15;
+            String image = mantissa + "e" + exponent;
+            values[i] = Double.parseDouble(image);
+            text.append(image).append(' ');
+        }
+        read(text.toString());
+
+        for (double value : values)
+        {
+            assertEquals(IonType.FLOAT, in.next());
+            assertEquals(Double.doubleToRawLongBits(value),
+                         Double.doubleToRawLongBits(in.doubleValue()));
+        }
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testNumbersInContainers()
+    {
+        read("{a:12,b:-3.25,c:6.02e23}[1,2.,3e0]");
+
+        assertEquals(IonType.STRUCT, in.next());
+        in.stepIn();
+        assertEquals(IonType.INT, in.next());
+        assertEquals(12, in.intValue());
+        assertEquals(IonType.DECIMAL, in.next());
+        assertEquals(new BigDecimal("-3.25"), in.bigDecimalValue());
+        assertEquals(IonType.FLOAT, in.next());
+        assertEquals(6.02e23, in.doubleValue(), 0);
+        in.stepOut();
+        assertEquals(IonType.LIST, in.next());
+        in.stepIn();
+        assertEquals(IonType.INT, in.next());
+        assertEquals(1L, in.longValue());
+        assertEquals(IonType.DECIMAL, in.next());
+        assertEquals(2.0, in.doubleValue(), 0);
+        assertEquals(IonType.FLOAT, in.next());
+        assertEquals(3, in.intValue());
+        in.stepOut();
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testTimestamps()
+    {
+        String[] images = {
+            "2007T", "2007-02T", "2007-02-23", "2007-02-23T12:14Z",
+            "2007-02-23T12:14:33Z", "2007-02-23T12:14:33.079Z",
+            "2007-02-23T12:14:33.079-08:00", "2007-02-23T20:14:33.079+05:30",
+            "2007-02-23T12:14:33.0000000000000000000001-00:00"
+        };
+        StringBuilder text = new StringBuilder();
+        for (String image : images)
+        {
+            text.append(image).append(' ');
+        }
+        read(text.toString() + "[2007-01-01T00:00Z,2007-12-31]");
+
+        for (String image : images)
+        {
+            assertEquals(image, IonType.TIMESTAMP, in.next());
+            assertEquals(image, Timestamp.valueOf(image), in.timestampValue());
+            assertEquals(image, in.timestampValue().toString());
+        }
+        assertEquals(IonType.LIST, in.next());
+        in.stepIn();
+        assertEquals(IonType.TIMESTAMP, in.next());
+        assertEquals(Timestamp.forMinute(2007, 1, 1, 0, 0, 0), in.timestampValue());
+        assertEquals(IonType.TIMESTAMP, in.next());
+        assertEquals(Timestamp.forDay(2007, 12, 31), in.timestampValue());
+        in.stepOut();
+        assertNull(in.next());
+    }
+
+    @Test(expected = IonException.class)
+    public void testBadTimestamp()
+    {
+        read("2007-02-30T");
+        in.next();
+        in.timestampValue();
+    }
+
+    @Test(expected = IonException.class)
+    public void testBadExponent()
+    {
+        read("1.0d1.5");
+        in.next();
+        in.decimalValue();
+    }
+}
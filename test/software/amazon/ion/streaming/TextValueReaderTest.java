@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import software.amazon.ion.IonType;
+import software.amazon.ion.ReaderMaker;
+import software.amazon.ion.TextValueReader;
+import software.amazon.ion.junit.Injected.Inject;
+
+public class TextValueReaderTest
+    extends ReaderTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS =
+        ReaderMaker.valuesWith(ReaderMaker.Feature.BINARY);
+
+
+    private TextValueReader tv;
+
+    @Override
+    void read(String ionText)
+    {
+        super.read(ionText);
+        tv = in.asFacet(TextValueReader.class);
+        assertNotNull("TextValueReader not available", tv);
+    }
+
+    private void expectText(String text)
+    {
+        ByteBuffer buffer = tv.utf8TextValue();
+        assertTrue(buffer.isReadOnly());
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertEquals(text, utf8(bytes));
+
+        CharSequence chars = tv.charSequenceValue();
+        assertEquals(text.length(), chars.length());
+        assertEquals(text, chars.toString());
+    }
+
+
+    @Test
+    public void testStrings()
+    {
+        read("\"\" \"ascii\" \"caf\\u00e9\" \"\\u2603\" \"\\U0001d11e\"");
+
+        for (String text : new String[] { "", "ascii", "caf\u00e9", "\u2603", "\ud834\udd1e" })
+        {
+            assertEquals(IonType.STRING, in.next());
+            expectText(text);
+            expectString(text);
+            // still available once the value has been read
+            expectText(text);
+        }
+        expectEof();
+    }
+
+    @Test
+    public void testSymbolsAndContainers()
+    {
+        read("sym a::{f:\"x\", g:[s, \"y\"]}");
+
+        in.next();
+        expectText("sym");
+
+        in.next();
+        in.stepIn();
+        expectNextField("f");
+        expectText("x");
+        in.next();
+        in.stepIn();
+        in.next();
+        expectText("s");
+        in.next();
+        expectText("y");
+        in.stepOut();
+        in.stepOut();
+        expectEof();
+    }
+
+    @Test
+    public void testNulls()
+    {
+        read("null.string null.symbol");
+
+        in.next();
+        assertNull(tv.utf8TextValue());
+        assertNull(tv.charSequenceValue());
+        in.next();
+        assertNull(tv.utf8TextValue());
+        assertNull(tv.charSequenceValue());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNonText()
+    {
+        read("1");
+
+        in.next();
+        tv.charSequenceValue();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.system.IonReaderBuilder;
+
+/**
+ * Reads text whose whitespace and comments, and the slashes that aren't
+ * comments, fall on every position within and across the reader's input
+ * pages, both for readers over bytes and readers over chars.
+ */
+public class TextWhitespaceReaderTest
+    extends IonTestCase
+{
+    private static final String TEXT =
+        "a/*c*/b // line\n c/**/ /* x */[1/*y*/,2]//z\n"
+        + "{a:/**/1, /* k */ b : 2 // l\n}\t(x / y // z\n/ /*/ */ '/')\r\n"
+        + "\"\u00e9/*\" /*\u4e2d*/ '''/''' /**//**/[]\n"
+        + "{{ aGVsbG8/+w== }} // end";
+
+    /** Hands over at most a few bytes at a time, each read ending a page. */
+    private static final class TrickleInputStream
+        extends FilterInputStream
+    {
+        private final int myChunk;
+
+        TrickleInputStream(InputStream in, int chunk)
+        {
+            super(in);
+            myChunk = chunk;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+            throws IOException
+        {
+            return super.read(b, off, Math.min(len, myChunk));
+        }
+
+        @Override
+        public int available()
+        {
+            return 0;
+        }
+    }
+
+    /** Hands over at most a few chars at a time, each read ending a page. */
+    private static final class TrickleReader
+        extends FilterReader
+    {
+        private final int myChunk;
+
+        TrickleReader(Reader in, int chunk)
+        {
+            super(in);
+            myChunk = chunk;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len)
+            throws IOException
+        {
+            return super.read(cbuf, off, Math.min(len, myChunk));
+        }
+    }
+
+
+    private IonDatagram load(IonReader reader)
+        throws Exception
+    {
+        IonDatagram values = loader().load(writeBinaryBytes(reader));
+        reader.close();
+        return values;
+    }
+
+    private int countTopLevel(IonReader reader)
+        throws Exception
+    {
+        int count = 0;
+        while (reader.next() != null)
+        {
+            count++;
+        }
+        reader.close();
+        return count;
+    }
+
+    @Test
+    public void testCommentsAcrossPages()
+        throws Exception
+    {
+        IonReaderBuilder builder = IonReaderBuilder.standard();
+        IonDatagram expected = load(builder.build(TEXT));
+        assertEquals(10, expected.size());
+        assertEquals(IonType.SEXP, expected.get(5).getType());
+        assertEquals(load(builder.build(utf8(TEXT))), expected);
+
+        for (int chunk = 1; chunk <= 4; chunk++)
+        {
+            InputStream bytes =
+                new TrickleInputStream(new ByteArrayInputStream(utf8(TEXT)), chunk);
+            assertEquals("bytes by " + chunk, expected, load(builder.build(bytes)));
+
+            Reader chars = new TrickleReader(new StringReader(TEXT), chunk);
+            assertEquals("chars by " + chunk, expected, load(builder.build(chars)));
+        }
+    }
+
+    @Test
+    public void testSkipCommentsAcrossPages()
+        throws Exception
+    {
+        IonReaderBuilder builder = IonReaderBuilder.standard();
+        assertEquals(10, countTopLevel(builder.build(TEXT)));
+        assertEquals(10, countTopLevel(builder.build(utf8(TEXT))));
+
+        for (int chunk = 1; chunk <= 4; chunk++)
+        {
+            InputStream bytes =
+                new TrickleInputStream(new ByteArrayInputStream(utf8(TEXT)), chunk);
+            assertEquals("bytes by " + chunk, 10, countTopLevel(builder.build(bytes)));
+
+            Reader chars = new TrickleReader(new StringReader(TEXT), chunk);
+            assertEquals("chars by " + chunk, 10, countTopLevel(builder.build(chars)));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import org.junit.Test;
+import software.amazon.ion.IonType;
+import software.amazon.ion.ReaderMaker;
+import software.amazon.ion.SymbolToken;
+import software.amazon.ion.TypeAnnotationReader;
+import software.amazon.ion.junit.Injected.Inject;
+
+public class TypeAnnotationReaderTest
+    extends ReaderTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS =
+        ReaderMaker.valuesWith(ReaderMaker.Feature.BINARY);
+
+
+    private TypeAnnotationReader ta;
+
+    @Override
+    void read(String ionText)
+    {
+        super.read(ionText);
+        ta = in.asFacet(TypeAnnotationReader.class);
+        assertNotNull("TypeAnnotationReader not available", ta);
+    }
+
+    private void expectAnnotations(String... texts)
+    {
+        SymbolToken[] symbols = in.getTypeAnnotationSymbols();
+        assertEquals(texts.length, ta.getTypeAnnotationCount());
+        assertEquals(texts.length, symbols.length);
+        for (int i = 0; i < texts.length; i++)
+        {
+            SymbolToken token = ta.getTypeAnnotationSymbol(i);
+            assertEquals(texts[i], token.getText());
+            assertEquals(symbols[i].getSid(), token.getSid());
+            assertEquals(token.getSid(), ta.getTypeAnnotationSid(i));
+        }
+    }
+
+
+    @Test
+    public void testAnnotations()
+    {
+        read("a::1 2 a::b::[c::3] a::{f:d::e::4} a::b::5");
+
+        assertEquals(IonType.INT, in.next());
+        expectAnnotations("a");
+        SymbolToken a = ta.getTypeAnnotationSymbol(0);
+
+        in.next();
+        expectAnnotations();
+
+        in.next();
+        expectAnnotations("a", "b");
+        // the same symbol gives the same token
+        assertSame(a, ta.getTypeAnnotationSymbol(0));
+        in.stepIn();
+        in.next();
+        expectAnnotations("c");
+        in.stepOut();
+
+        in.next();
+        in.stepIn();
+        in.next();
+        expectAnnotations("d", "e");
+        assertSame(ta.getTypeAnnotationSymbol(0), in.getTypeAnnotationSymbols()[0]);
+        in.stepOut();
+
+        in.next();
+        expectAnnotations("a", "b");
+        assertEquals(5, in.intValue());
+        expectAnnotations("a", "b");
+        expectEof();
+    }
+
+    @Test
+    public void testAnnotationsAcrossSymbolTables()
+    {
+        read("$ion_symbol_table::{symbols:[\"x\", \"y\"]} x::y::1"
+             + " $ion_symbol_table::{symbols:[\"y\", \"x\"]} x::y::2"
+             + " $ion_1_0 y::3");
+
+        in.next();
+        expectAnnotations("x", "y");
+        int x = ta.getTypeAnnotationSid(0);
+        int y = ta.getTypeAnnotationSid(1);
+
+        in.next();
+        expectAnnotations("x", "y");
+        assertEquals(y, ta.getTypeAnnotationSid(0));
+        assertEquals(x, ta.getTypeAnnotationSid(1));
+
+        in.next();
+        expectAnnotations("y");
+        expectEof();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds()
+    {
+        read("a::1");
+        in.next();
+        ta.getTypeAnnotationSid(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNoCurrentValue()
+    {
+        read("a::1");
+        ta.getTypeAnnotationCount();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonType;
+import software.amazon.ion.ReaderMaker;
+import software.amazon.ion.junit.Injected.Inject;
+
+/**
+ * Reads text holding all the lengths of UTF-8 sequences, which readers over
+ * bytes scan a page at a time.
+ */
+public class Utf8TextReaderTest
+    extends ReaderTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS =
+        ReaderMaker.valuesWith(ReaderMaker.Feature.TEXT);
+
+    /** One, two, three and four byte UTF-8 sequences. */
+    private static final String MIXED = "a\u00e9\u4e2d\ud83d\ude00z";
+
+    /** Text of {@code length} characters that needs no escaping. */
+    private static String longText(int length)
+    {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length)
+        {
+            sb.append(MIXED).append(' ').append(sb.length() % 97);
+        }
+        return sb.toString();
+    }
+
+
+    @Test
+    public void testMixedStringsAndSymbols()
+    {
+        read("\"" + MIXED + "\" '" + MIXED + "' '''" + MIXED + "''' "
+             + "{'" + MIXED + "':" + MIXED.substring(0, 1) + "}");
+
+        assertEquals(IonType.STRING, in.next());
+        assertEquals(MIXED, in.stringValue());
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals(MIXED, in.stringValue());
+        assertEquals(IonType.STRING, in.next());
+        assertEquals(MIXED, in.stringValue());
+        assertEquals(IonType.STRUCT, in.next());
+        in.stepIn();
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals(MIXED, in.getFieldName());
+        assertEquals("a", in.stringValue());
+        in.stepOut();
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testEscapesBetweenRuns()
+    {
+        read("\"\u00e9\\n\u4e2d\\\"\\u00e9x\\\n\ud83d\ude00\" "
+             + "'\u00e9\\'\u4e2d' "
+             + "'''\u00e9\n\\'''x''' '''\u4e2d'''");
+
+        assertEquals(IonType.STRING, in.next());
+        assertEquals("\u00e9\n\u4e2d\"\u00e9x\ud83d\ude00", in.stringValue());
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals("\u00e9'\u4e2d", in.stringValue());
+        assertEquals(IonType.STRING, in.next());
+        assertEquals("\u00e9\n'''x\u4e2d", in.stringValue());
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testSkippingStringsAndSymbols()
+    {
+        read("\"\u00e9\\\"" + MIXED + "\" '\u4e2d\\'" + MIXED + "' "
+             + "'''a''b\\'''" + MIXED + "''' '''c''' "
+             + MIXED.substring(0, 1) + "_$9 " + "[\"" + MIXED + "\"] 5");
+
+        assertEquals(IonType.STRING, in.next());
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals(IonType.STRING, in.next());
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals("a_$9", in.stringValue());
+        assertEquals(IonType.LIST, in.next());
+        assertEquals(IonType.INT, in.next());
+        assertEquals(5, in.intValue());
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testLongValuesAcrossPages()
+    {
+        String text = longText(100000);
+        StringBuilder symbol = new StringBuilder();
+        while (symbol.length() < 100000)
+        {
+            symbol.append("abc_$123");
+        }
+        read("\"" + text + "\" ['" + text + "'] " + symbol + " (\"" + text + "\") "
+             + "'''" + text + "''' \t\t\"" + longText(10) + "\"  ");
+
+        assertEquals(IonType.STRING, in.next());
+        assertEquals(text, in.stringValue());
+        assertEquals(IonType.LIST, in.next());
+        in.stepIn();
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals(text, in.stringValue());
+        in.stepOut();
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals(symbol.toString(), in.stringValue());
+        assertEquals(IonType.SEXP, in.next());
+        in.stepIn();
+        assertEquals(IonType.STRING, in.next());
+        assertEquals(text, in.stringValue());
+        in.stepOut();
+        assertEquals(IonType.STRING, in.next());
+        assertEquals(text, in.stringValue());
+        assertEquals(IonType.STRING, in.next());
+        assertEquals(longText(10), in.stringValue());
+        assertNull(in.next());
+    }
+
+    @Test
+    public void testControlCharacterInString()
+    {
+        read("\"" + MIXED + "\u0001\"");
+        assertEquals(IonType.STRING, in.next());
+        try
+        {
+            in.stringValue();
+            fail("expected an exception");
+        }
+        catch (IonException e)
+        {
+            // expected
+        }
+    }
+}
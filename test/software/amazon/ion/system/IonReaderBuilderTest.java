@@ -16,13 +16,23 @@ package software.amazon.ion.system;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.ion.InputStreamStatistics;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonType;
@@ -39,6 +49,9 @@ public class IonReaderBuilderTest
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testMutable()
     {
@@ -97,6 +110,34 @@ public class IonReaderBuilderTest
         assertSame(mutableCopy, mutableSame);
     }
 
+    @Test
+    public void testInputBufferSizes()
+    {
+        IonReaderBuilder builder = IonReaderBuilder.standard();
+        assertEquals(32 * 1024, builder.getInputBufferSize());
+        assertEquals(256 * 1024, builder.getMaximumInputBufferSize());
+        IonReaderBuilder immutable = builder.withInputBufferSize(100)
+                                            .withMaximumInputBufferSize(1000)
+                                            .immutable();
+        assertEquals(100, immutable.getInputBufferSize());
+        assertEquals(1000, immutable.getMaximumInputBufferSize());
+        assertEquals(1000, immutable.copy().getMaximumInputBufferSize());
+    }
+
+    @Test
+    public void testInvalidInputBufferSize()
+    {
+        thrown.expect(IllegalArgumentException.class);
+        IonReaderBuilder.standard().setInputBufferSize(0);
+    }
+
+    @Test
+    public void testInvalidMaximumInputBufferSize()
+    {
+        thrown.expect(IllegalArgumentException.class);
+        IonReaderBuilder.standard().setMaximumInputBufferSize(-1);
+    }
+
     @Test
     public void testSystemFreeRoundtrip() throws IOException
     {
@@ -110,4 +151,222 @@ public class IonReaderBuilderTest
         assertEquals(42, reader.intValue());
     }
 
+    private static byte[] binaryData() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = PrivateIonBinaryWriterBuilder.standard().build(out);
+        writer.stepIn(IonType.LIST);
+        for (int i = 0; i < 10000; i++)
+        {
+            writer.writeInt(i);
+        }
+        writer.stepOut();
+        writer.writeString("done");
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static void assertBinaryData(IonReader reader) throws IOException
+    {
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        for (int i = 0; i < 10000; i++)
+        {
+            assertEquals(IonType.INT, reader.next());
+            assertEquals(i, reader.intValue());
+        }
+        assertNull(reader.next());
+        reader.stepOut();
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("done", reader.stringValue());
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    /**
+     * A stream that returns no more than 100 bytes at a time, and fails
+     * reads that would block because none are available.
+     */
+    private static class TrickleInputStream
+        extends ByteArrayInputStream
+    {
+        private int available;
+
+        TrickleInputStream(byte[] data, int available)
+        {
+            super(data);
+            this.available = available;
+        }
+
+        @Override
+        public synchronized int read()
+        {
+            checkAvailable();
+            int b = super.read();
+            if (b >= 0)
+            {
+                available--;
+            }
+            return b;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len)
+        {
+            checkAvailable();
+            int read = super.read(b, off, Math.min(len, Math.min(available, 100)));
+            if (read > 0)
+            {
+                available -= read;
+            }
+            return read;
+        }
+
+        private void checkAvailable()
+        {
+            if (available == 0)
+            {
+                throw new AssertionError("read would block");
+            }
+        }
+
+        @Override
+        public synchronized int available()
+        {
+            return Math.min(available, super.available());
+        }
+    }
+
+    @Test
+    public void testBuildFromStreamGrowsInputBuffer() throws IOException
+    {
+        byte[] data = binaryData();
+        IonReader reader = IonReaderBuilder.standard()
+                                           .withInputBufferSize(64)
+                                           .withMaximumInputBufferSize(1024)
+                                           .build(new TrickleInputStream(data, data.length + 1));
+        InputStreamStatistics statistics = reader.asFacet(InputStreamStatistics.class);
+        assertBinaryData(reader);
+        assertEquals(1024, statistics.getPageSize());
+        assertEquals(data.length, statistics.getBytesRead());
+        assertTrue(statistics.getReadCount() > data.length / 100);
+    }
+
+    @Test
+    public void testBuildFromStreamWithFixedInputBuffer() throws IOException
+    {
+        byte[] data = binaryData();
+        IonReader reader = IonReaderBuilder.standard()
+                                           .withInputBufferSize(1000)
+                                           .withMaximumInputBufferSize(500)
+                                           .build(new TrickleInputStream(data, data.length + 1));
+        InputStreamStatistics statistics = reader.asFacet(InputStreamStatistics.class);
+        assertBinaryData(reader);
+        assertEquals(1000, statistics.getPageSize());
+        assertEquals(data.length, statistics.getBytesRead());
+    }
+
+    @Test
+    public void testBuildFromTextStreamStatistics() throws IOException
+    {
+        byte[] data = "{a:1} [2, 3] \"four\"".getBytes("UTF-8");
+        IonReader reader = IonReaderBuilder.standard().build(new ByteArrayInputStream(data));
+        InputStreamStatistics statistics = reader.asFacet(InputStreamStatistics.class);
+        assertEquals(IonType.STRUCT, reader.next());
+        assertEquals(IonType.LIST, reader.next());
+        assertEquals(IonType.STRING, reader.next());
+        assertNull(reader.next());
+        assertEquals(data.length, statistics.getBytesRead());
+        reader.close();
+    }
+
+    @Test
+    public void testBuildFromStreamReadsOnlyAvailableData() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = PrivateIonBinaryWriterBuilder.standard().build(out);
+        writer.writeInt(42);
+        writer.finish();
+        int available = out.size();
+        writer.writeInt(43);
+        writer.close();
+
+        IonReader reader = IonReaderBuilder.standard()
+                                           .build(new TrickleInputStream(out.toByteArray(), available));
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(42, reader.intValue());
+    }
+
+    @Test
+    public void testBuildFromGzippedStreamReadsOnlyAvailableData() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream gzip = new GZIPOutputStream(bytes, true);
+        IonWriter writer = PrivateIonBinaryWriterBuilder.standard().build(gzip);
+        writer.writeInt(42);
+        writer.finish();
+        gzip.flush();
+        int available = bytes.size();
+        writer.writeInt(43);
+        writer.close();
+
+        IonReader reader = IonReaderBuilder.standard()
+                                           .build(new TrickleInputStream(bytes.toByteArray(), available));
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(42, reader.intValue());
+    }
+
+    @Test
+    public void testBuildFromHeapByteBuffer() throws IOException
+    {
+        byte[] data = binaryData();
+        ByteBuffer buffer = ByteBuffer.allocate(data.length + 20);
+        buffer.position(10);
+        buffer.put(data);
+        buffer.position(10);
+        buffer.limit(10 + data.length);
+        assertBinaryData(IonReaderBuilder.standard().build(buffer.slice()));
+        assertBinaryData(IonReaderBuilder.standard().build(buffer));
+        assertEquals(10, buffer.position());
+    }
+
+    @Test
+    public void testBuildFromDirectByteBuffer() throws IOException
+    {
+        byte[] data = binaryData();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data);
+        buffer.flip();
+        assertBinaryData(IonReaderBuilder.standard().build(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testBuildFromFile() throws IOException
+    {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        out.write(binaryData());
+        out.close();
+        assertBinaryData(IonReaderBuilder.standard().build(file.toPath()));
+    }
+
+    @Test
+    public void testBuildFromGzippedFile() throws IOException
+    {
+        File file = folder.newFile();
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(file));
+        out.write(binaryData());
+        out.close();
+        assertBinaryData(IonReaderBuilder.standard().build(file.toPath()));
+    }
+
+    @Test
+    public void testBuildFromEmptyFile() throws IOException
+    {
+        IonReader reader = IonReaderBuilder.standard().build(folder.newFile().toPath());
+        assertNull(reader.next());
+        reader.close();
+    }
+
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonInt;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonString;
+import software.amazon.ion.IonStruct;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+
+public class IndexingOutputStreamTest
+    extends IonTestCase
+{
+    private static final int RECORDS = 300;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private IonValue record(int i)
+    {
+        if (i % 10 == 3)
+        {
+            // not keyed
+            return system().newInt(i);
+        }
+        return system().singleValue("r" + i % 3 + "::{id:\"k" + i + "\", f" + i % 7 + ":s" + i + "}");
+    }
+
+    @Test
+    public void testLoad() throws Exception
+    {
+        File data = folder.newFile();
+        File index = folder.newFile();
+        IndexingOutputStream out = new IndexingOutputStream(new FileOutputStream(data),
+                                                            new FileOutputStream(index),
+                                                            catalog(),
+                                                            "id");
+        IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        for (int i = 0; i < RECORDS; i++)
+        {
+            record(i).writeTo(writer);
+            if (i % 50 == 0)
+            {
+                // starts a new stream, with a new local symbol table
+                writer.finish();
+            }
+        }
+        writer.close();
+
+        TopLevelValueIndex loaded =
+            TopLevelValueIndex.load(catalog(), data.toPath(), index.toPath());
+        TopLevelValueIndex scanned =
+            TopLevelValueIndex.build(catalog(), data.toPath());
+        assertEquals(RECORDS, loaded.size());
+        for (int i = 0; i < RECORDS; i++)
+        {
+            assertEquals(scanned.getOffset(i), loaded.getOffset(i));
+            assertEquals(scanned.getLength(i), loaded.getLength(i));
+            assertEquals(i % 10 == 3 ? -1 : i, loaded.indexOf("k" + i));
+        }
+
+        int i = loaded.indexOf("k124");
+        IonReader reader = loaded.newReader(i);
+        IonDatagram rest = loader().load(writeBinaryBytes(reader));
+        reader.close();
+        assertEquals(RECORDS - i, rest.size());
+        assertEquals(record(i), rest.get(0));
+        assertEquals(record(RECORDS - 1), rest.get(rest.size() - 1));
+    }
+
+    @Test
+    public void testSingleBytes() throws Exception
+    {
+        byte[] data = encode("$ion_symbol_table::{symbols:[\"id\"]} {id:\"z\"} a::1 null");
+        ByteArrayOutputStream dataOut = new ByteArrayOutputStream();
+        ByteArrayOutputStream indexOut = new ByteArrayOutputStream();
+        IndexingOutputStream out =
+            new IndexingOutputStream(dataOut, indexOut, catalog(), "id");
+        for (byte b : data)
+        {
+            out.write(b);
+        }
+        out.close();
+
+        assertArrayEquals(data, dataOut.toByteArray());
+        IonDatagram index = loader().load(indexOut.toByteArray());
+        assertEquals(4, index.size());
+        assertEquals("symbol_table", index.get(0).getTypeAnnotations()[0]);
+        TopLevelValueIndex scanned =
+            TopLevelValueIndex.build(catalog(), data, 0, data.length);
+        IonStruct record = (IonStruct) index.get(1);
+        assertEquals(scanned.getOffset(0), ((IonInt) record.get("offset")).longValue());
+        assertEquals(scanned.getLength(0), ((IonInt) record.get("length")).intValue());
+        assertEquals(0, ((IonInt) record.get("symbol_table")).intValue());
+        assertEquals("z", ((IonString) record.get("key")).stringValue());
+    }
+
+    private String bigBlob()
+    {
+        byte[] bytes = new byte[100000];
+        for (int i = 0; i < bytes.length; i++)
+        {
+            bytes[i] = (byte) i;
+        }
+        return system().newBlob(bytes).toString();
+    }
+
+    private void checkKeys(int chunk) throws IOException
+    {
+        byte[] data = encode("$ion_symbol_table::{symbols:[\"id\", \"big\", \"name\"]} "
+                             + "{big:" + bigBlob() + ", id:\"k0\"} "
+                             + "{id:k1} "
+                             + "a::b::{x:{id:\"nested\"}, big:" + bigBlob() + ", id:\"k2\"} "
+                             + "{id:3} "
+                             + "{name:\"no key\"} "
+                             + "$ion_symbol_table::{symbols:[\"more\", \"id\"]} "
+                             + "{more:1, id:\"k6\"} "
+                             + "x::$ion_symbol_table::{id:\"k7\"} "
+                             + "$ion_symbol_table::null.struct "
+                             + "[{id:\"list\"}]");
+        File dataFile = folder.newFile();
+        File indexFile = folder.newFile();
+        IndexingOutputStream out = new IndexingOutputStream(new FileOutputStream(dataFile),
+                                                            new FileOutputStream(indexFile),
+                                                            catalog(),
+                                                            "id");
+        for (int off = 0; off < data.length; off += chunk)
+        {
+            out.write(data, off, Math.min(chunk, data.length - off));
+        }
+        out.close();
+
+        TopLevelValueIndex loaded =
+            TopLevelValueIndex.load(catalog(), dataFile.toPath(), indexFile.toPath());
+        TopLevelValueIndex scanned =
+            TopLevelValueIndex.build(catalog(), data, 0, data.length);
+        assertEquals(scanned.size(), loaded.size());
+        for (int i = 0; i < scanned.size(); i++)
+        {
+            assertEquals(scanned.getOffset(i), loaded.getOffset(i));
+            assertEquals(scanned.getLength(i), loaded.getLength(i));
+        }
+        assertEquals(0, loaded.indexOf("k0"));
+        assertEquals(1, loaded.indexOf("k1"));
+        assertEquals(2, loaded.indexOf("k2"));
+        assertEquals(-1, loaded.indexOf("nested"));
+        assertEquals(5, loaded.indexOf("k6"));
+        assertEquals(6, loaded.indexOf("k7"));
+        assertEquals(-1, loaded.indexOf("list"));
+    }
+
+    @Test
+    public void testKeysFoundByScanning() throws Exception
+    {
+        checkKeys(Integer.MAX_VALUE);
+        checkKeys(1);
+        checkKeys(7);
+    }
+
+    @Test(expected = IonException.class)
+    public void testText() throws IOException
+    {
+        IndexingOutputStream out = new IndexingOutputStream(new ByteArrayOutputStream(),
+                                                            new ByteArrayOutputStream(),
+                                                            catalog(),
+                                                            null);
+        out.write(utf8("{a:1}"));
+    }
+
+    @Test(expected = IonException.class)
+    public void testIncompleteValue() throws IOException
+    {
+        byte[] data = encode("\"incomplete\"");
+        IndexingOutputStream out = new IndexingOutputStream(new ByteArrayOutputStream(),
+                                                            new ByteArrayOutputStream(),
+                                                            catalog(),
+                                                            null);
+        out.write(data, 0, data.length - 1);
+        out.close();
+    }
+}
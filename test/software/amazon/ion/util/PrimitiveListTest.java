@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static software.amazon.ion.util.IonStreamUtils.readFloatList;
+import static software.amazon.ion.util.IonStreamUtils.readIntList;
+import static software.amazon.ion.util.IonStreamUtils.writeFloatList;
+import static software.amazon.ion.util.IonStreamUtils.writeIntList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+import software.amazon.ion.system.IonReaderBuilder;
+
+public class PrimitiveListTest
+    extends IonTestCase
+{
+    private static final long[] LONGS = {
+        0, 1, -1, 127, 128, -255, 256, 65535, -65536,
+        Integer.MAX_VALUE, Integer.MIN_VALUE,
+        Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1
+    };
+
+    private static final double[] DOUBLES = {
+        0.0, -0.0, 1.5, -2.25, 1e300, Double.MIN_VALUE,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    private final IonBinaryWriterBuilder writerBuilder =
+        IonBinaryWriterBuilder.standard();
+
+    private byte[] writeLongs(IonBinaryWriterBuilder builder, long[] values, boolean packed)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = builder.build(out);
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("values");
+        writer.addTypeAnnotation("longs");
+        if (packed) {
+            writeIntList(writer, values);
+        }
+        else {
+            writer.stepIn(IonType.LIST);
+            for (long value : values) {
+                writer.writeInt(value);
+            }
+            writer.stepOut();
+        }
+        writer.stepOut();
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private byte[] writeDoubles(IonBinaryWriterBuilder builder, double[] values, boolean packed)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = builder.build(out);
+        if (packed) {
+            writeFloatList(writer, values);
+        }
+        else {
+            writer.stepIn(IonType.LIST);
+            for (double value : values) {
+                writer.writeFloat(value);
+            }
+            writer.stepOut();
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    /** Moves the reader onto the list written by {@link #writeLongs}. */
+    private static void nextList(IonReader reader)
+    {
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.LIST, reader.next());
+    }
+
+    @Test
+    public void testPackedListsEqualGenericLists()
+        throws Exception
+    {
+        assertArrayEquals(writeLongs(writerBuilder, LONGS, false),
+                          writeLongs(writerBuilder, LONGS, true));
+        assertArrayEquals(writeDoubles(writerBuilder, DOUBLES, false),
+                          writeDoubles(writerBuilder, DOUBLES, true));
+
+        IonBinaryWriterBuilder binary32 =
+            writerBuilder.copy().withFloatBinary32Enabled();
+        assertArrayEquals(writeDoubles(binary32, DOUBLES, false),
+                          writeDoubles(binary32, DOUBLES, true));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = binary32.build(out);
+        writeFloatList(writer, new float[] { 1.5f, Float.NaN, -0.0f });
+        writeIntList(writer, new short[] { 1, -300 });
+        writeIntList(writer, new byte[0]);
+        IonStreamUtils.writeBoolList(writer, new boolean[] { true, false });
+        writer.close();
+        assertEquals(loader().load("[1.5e0, nan, -0e0] [1, -300] [] [true, false]"),
+                     loader().load(out.toByteArray()));
+    }
+
+    @Test
+    public void testReadLongs()
+        throws Exception
+    {
+        byte[] data = writeLongs(writerBuilder, LONGS, true);
+        IonReader reader = system().newReader(data);
+        nextList(reader);
+        assertArrayEquals(LONGS, readIntList(reader));
+        assertEquals(null, reader.next());
+        reader.stepOut();
+        assertEquals(null, reader.next());
+    }
+
+    @Test
+    public void testReadLongsFromText()
+        throws Exception
+    {
+        byte[] data = writeLongs(writerBuilder, LONGS, true);
+        IonReader reader = system().newReader(loader().load(data).toString());
+        nextList(reader);
+        assertArrayEquals(LONGS, readIntList(reader));
+    }
+
+    @Test
+    public void testReadDoubles()
+        throws Exception
+    {
+        byte[] data = writeDoubles(writerBuilder.copy().withFloatBinary32Enabled(), DOUBLES, true);
+        IonReader reader = system().newReader(data);
+        assertEquals(IonType.LIST, reader.next());
+        assertArrayEquals(DOUBLES, readFloatList(reader), 0);
+    }
+
+    @Test
+    public void testReadAcrossPages()
+        throws Exception
+    {
+        long[] values = new long[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) i * i * (i % 2 == 0 ? 1 : -1);
+        }
+        byte[] data = writeLongs(writerBuilder, values, true);
+        IonReader reader = IonReaderBuilder.standard().build(new ByteArrayInputStream(data));
+        nextList(reader);
+        assertArrayEquals(values, readIntList(reader));
+    }
+
+    @Test
+    public void testReadInChunks()
+        throws Exception
+    {
+        IonReader reader = system().newReader(encode("[1, 2, a::3, 4, 0x7fffffff, 6, 7] (8 9)"));
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(1, reader.intValue());
+
+        int[] values = new int[8];
+        assertEquals(3, readIntList(reader, values, 1, 3));
+        assertEquals(2, readIntList(reader, values, 4, 2));
+        assertEquals(1, readIntList(reader, values, 6, 2));
+        assertEquals(0, readIntList(reader, values, 7, 1));
+        assertArrayEquals(new int[] { 0, 2, 3, 4, 0x7fffffff, 6, 7, 0 }, values);
+        reader.stepOut();
+
+        assertEquals(IonType.SEXP, reader.next());
+        assertArrayEquals(new long[] { 8, 9 }, readIntList(reader));
+        assertEquals(null, reader.next());
+    }
+
+    @Test
+    public void testReadNullList()
+        throws Exception
+    {
+        IonReader reader = system().newReader(encode("null.list"));
+        assertEquals(IonType.LIST, reader.next());
+        assertEquals(null, readIntList(reader));
+    }
+
+    @Test(expected = IonException.class)
+    public void testReadNullElement()
+        throws Exception
+    {
+        IonReader reader = system().newReader(encode("[1, 2, null.int, 4]"));
+        reader.next();
+        readIntList(reader);
+    }
+
+    @Test(expected = IonException.class)
+    public void testReadWrongType()
+        throws Exception
+    {
+        IonReader reader = system().newReader(encode("[1.5e0, 2]"));
+        reader.next();
+        readFloatList(reader);
+    }
+
+    @Test(expected = IonException.class)
+    public void testReadIntOverflow()
+        throws Exception
+    {
+        IonReader reader = system().newReader(encode("[1, 0x80000000]"));
+        reader.next();
+        reader.stepIn();
+        readIntList(reader, new int[2], 0, 2);
+    }
+
+    @Test(expected = IonException.class)
+    public void testReadLongOverflow()
+        throws Exception
+    {
+        IonReader reader = system().newReader(encode("[1, 0x8000000000000000]"));
+        reader.next();
+        readIntList(reader);
+    }
+}
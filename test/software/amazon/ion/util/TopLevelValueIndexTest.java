@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonValue;
+
+public class TopLevelValueIndexTest
+    extends IonTestCase
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Encodes several streams, each with its own local symbol table,
+     * separated by NOP padding.
+     */
+    private byte[] encodeStreams() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int stream = 0; stream < 5; stream++)
+        {
+            IonDatagram values = system().newDatagram();
+            for (int i = 0; i < 20; i++)
+            {
+                values.add(system().singleValue("a" + i % 3 + "::{s" + stream + ":x" + i + "}"));
+            }
+            out.write(values.getBytes());
+            out.write(new byte[] { 0x02, 0, 0 });
+        }
+        return out.toByteArray();
+    }
+
+    private IonDatagram readAll(IonReader reader) throws IOException
+    {
+        IonDatagram values = loader().load(writeBinaryBytes(reader));
+        reader.close();
+        return values;
+    }
+
+    @Test
+    public void testIndex() throws Exception
+    {
+        byte[] data = encodeStreams();
+        IonDatagram expected = loader().load(data);
+        TopLevelValueIndex index = TopLevelValueIndex.build(catalog(), data, 0, data.length);
+
+        assertEquals(expected.size(), index.size());
+        for (int i = 0; i < index.size(); i++)
+        {
+            IonReader reader = index.newReader(i, i + 1);
+            assertEquals(IonType.STRUCT, reader.next());
+            assertEquals(expected.get(i), system().newValue(reader));
+            assertNull(reader.next());
+            reader.close();
+        }
+        assertEquals(expected, readAll(index.newReader(0, index.size())));
+        assertSame(index.getSymbolTable(0), index.getSymbolTable(19));
+        assertNotSame(index.getSymbolTable(19), index.getSymbolTable(20));
+    }
+
+    @Test
+    public void testSystemValues() throws Exception
+    {
+        byte[] local = encode("$ion_symbol_table::{symbols:[\"x\"]} x");
+        byte[] data = new byte[local.length + 4];
+        System.arraycopy(local, 0, data, 0, local.length);
+        // the symbol $ion_1_0, which resets the symbol table, and $4
+        data[local.length]     = 0x71;
+        data[local.length + 1] = 0x02;
+        data[local.length + 2] = 0x71;
+        data[local.length + 3] = 0x04;
+
+        TopLevelValueIndex index = TopLevelValueIndex.build(catalog(), data, 0, data.length);
+        assertEquals(2, index.size());
+        assertTrue(index.getSymbolTable(0).isLocalTable());
+        assertTrue(index.getSymbolTable(1).isSystemTable());
+        assertEquals(loader().load("x name"), readAll(index.newReader(0, 2)));
+    }
+
+    @Test
+    public void testParallelScan() throws Exception
+    {
+        byte[] data = encodeStreams();
+        IonDatagram expected = loader().load(data);
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        out.write(data);
+        out.close();
+
+        TopLevelValueIndex index = TopLevelValueIndex.build(catalog(), file.toPath());
+        List<List<IonValue>> ranges = index.parallelScan(
+            new ForkJoinPool(4),
+            100,
+            new TopLevelValueIndex.RangeHandler<List<IonValue>>()
+            {
+                public List<IonValue> handle(IonReader reader)
+                {
+                    List<IonValue> values = new ArrayList<IonValue>();
+                    while (reader.next() != null)
+                    {
+                        values.add(system().newValue(reader));
+                    }
+                    return values;
+                }
+            });
+
+        assertTrue(ranges.size() > 1);
+        IonDatagram actual = system().newDatagram();
+        for (List<IonValue> range : ranges)
+        {
+            actual.addAll(range);
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = IonException.class)
+    public void testText()
+    {
+        byte[] data = utf8("{a:1}");
+        TopLevelValueIndex.build(catalog(), data, 0, data.length);
+    }
+
+    @Test(expected = IonException.class)
+    public void testTruncated()
+    {
+        byte[] data = encode("\"truncated\"");
+        TopLevelValueIndex.build(catalog(), data, 0, data.length - 1);
+    }
+}